@@ -0,0 +1,186 @@
+package com.example.account.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Closed-loop traffic: each thread picks an operation from the configured mix, waits for its
+ * response and goes again. Accounts are drawn with Zipfian skew.
+ */
+class LoadGenerator {
+
+    private static final int RECENT_CAPACITY = 10_000;
+
+    private final AccountClient client;
+    private final LoadTestConfig config;
+    private final List<SeededAccount> accounts;
+    private final ZipfianGenerator zipfian;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final BlockingQueue<UsedBalance> cancellable =
+        new ArrayBlockingQueue<>(RECENT_CAPACITY);
+    private final AtomicReferenceArray<String> recentTransactionIds =
+        new AtomicReferenceArray<>(RECENT_CAPACITY);
+    private final AtomicLong recentCount = new AtomicLong();
+
+    LoadGenerator(AccountClient client, LoadTestConfig config, List<SeededAccount> accounts) {
+        this.client = client;
+        this.config = config;
+        this.accounts = accounts;
+        this.zipfian = new ZipfianGenerator(accounts.size(), config.zipfTheta);
+
+        List<Operation> weighted = new ArrayList<>(config.mix.keySet());
+        this.operations = weighted.toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    LoadTestReport run(int seconds) throws InterruptedException {
+        LoadTestReport report = new LoadTestReport();
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(config.threads);
+        for (int i = 0; i < config.threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        execute(pickOperation(), report);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        report.setElapsedNanos(System.nanoTime() - started);
+        return report;
+    }
+
+    private Operation pickOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[operations.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void execute(Operation operation, LoadTestReport report) {
+        UsedBalance toCancel = null;
+        String transactionId = null;
+        if (operation == Operation.CANCEL) {
+            toCancel = cancellable.poll();
+            if (toCancel == null) {
+                operation = Operation.USE;
+            }
+        } else if (operation == Operation.QUERY_TRANSACTION) {
+            transactionId = recentTransactionId();
+            if (transactionId == null) {
+                operation = Operation.QUERY_ACCOUNTS;
+            }
+        }
+
+        long started = System.nanoTime();
+        boolean success;
+        try {
+            success = send(operation, toCancel, transactionId);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            success = false;
+        }
+        report.record(operation, System.nanoTime() - started, success);
+    }
+
+    private boolean send(Operation operation, UsedBalance toCancel, String transactionId)
+        throws Exception {
+        SeededAccount account = accounts.get((int) zipfian.next());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> body = new HashMap<>();
+        switch (operation) {
+            case CREATE:
+                body.put("userId", account.userId);
+                body.put("initialBalance", config.initialBalance);
+                return client.post("/account", body).isSuccess();
+            case USE:
+                long amount = random.nextLong(10, 1_000);
+                body.put("userId", account.userId);
+                body.put("accountNumber", account.accountNumber);
+                body.put("amount", amount);
+                AccountClient.Response used = client.post("/transaction/use", body);
+                if (used.isSuccess()) {
+                    remember(new UsedBalance(used.text("transactionId"), account.accountNumber,
+                        amount));
+                }
+                return used.isSuccess();
+            case CANCEL:
+                body.put("transactionId", toCancel.transactionId);
+                body.put("accountNumber", toCancel.accountNumber);
+                body.put("amount", toCancel.amount);
+                return client.post("/transaction/cancel", body).isSuccess();
+            case QUERY_TRANSACTION:
+                return client.get("/transaction/" + transactionId).isSuccess();
+            case QUERY_ACCOUNTS:
+                return client.get("/account?user_id=" + account.userId).isSuccess();
+            default:
+                throw new IllegalStateException("Unhandled operation " + operation);
+        }
+    }
+
+    private void remember(UsedBalance used) {
+        if (!cancellable.offer(used)) {
+            cancellable.poll();
+            cancellable.offer(used);
+        }
+        long index = recentCount.getAndIncrement();
+        recentTransactionIds.set((int) (index % RECENT_CAPACITY), used.transactionId);
+    }
+
+    private String recentTransactionId() {
+        long count = Math.min(recentCount.get(), RECENT_CAPACITY);
+        if (count == 0) {
+            return null;
+        }
+        return recentTransactionIds.get(ThreadLocalRandom.current().nextInt((int) count));
+    }
+
+    static class SeededAccount {
+        final long userId;
+        final String accountNumber;
+
+        SeededAccount(long userId, String accountNumber) {
+            this.userId = userId;
+            this.accountNumber = accountNumber;
+        }
+    }
+
+    private static class UsedBalance {
+        final String transactionId;
+        final String accountNumber;
+        final long amount;
+
+        UsedBalance(String transactionId, String accountNumber, long amount) {
+            this.transactionId = transactionId;
+            this.accountNumber = accountNumber;
+            this.amount = amount;
+        }
+    }
+}
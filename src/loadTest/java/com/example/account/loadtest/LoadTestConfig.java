@@ -0,0 +1,97 @@
+package com.example.account.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of the load test. Options it does not know are passed on to the
+ * application when it is booted in-process, e.g. {@code --account.mailbox.enabled=true}.
+ */
+class LoadTestConfig {
+
+    private static final String PREFIX = "--loadtest.";
+
+    int users = 100;
+    int accountsPerUser = 3;
+    long initialBalance = 100_000_000L;
+    int threads = 32;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    double zipfTheta = 0.99;
+    Map<Operation, Integer> mix = parseMix("use=50,cancel=10,query-transaction=15,"
+        + "query-accounts=20,create=5");
+    String target;
+    Path baseline;
+    Path saveBaseline;
+    double maxRegression = 0.10;
+    final List<String> applicationArgs = new ArrayList<>();
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (!arg.startsWith(PREFIX) || !arg.contains("=")) {
+                config.applicationArgs.add(arg);
+                continue;
+            }
+            String key = arg.substring(PREFIX.length(), arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "users":
+                    config.users = Integer.parseInt(value);
+                    break;
+                case "accounts-per-user":
+                    config.accountsPerUser = Integer.parseInt(value);
+                    break;
+                case "initial-balance":
+                    config.initialBalance = Long.parseLong(value);
+                    break;
+                case "threads":
+                    config.threads = Integer.parseInt(value);
+                    break;
+                case "warmup-seconds":
+                    config.warmupSeconds = Integer.parseInt(value);
+                    break;
+                case "duration-seconds":
+                    config.durationSeconds = Integer.parseInt(value);
+                    break;
+                case "zipf-theta":
+                    config.zipfTheta = Double.parseDouble(value);
+                    break;
+                case "mix":
+                    config.mix = parseMix(value);
+                    break;
+                case "target":
+                    config.target = value;
+                    break;
+                case "baseline":
+                    config.baseline = Paths.get(value);
+                    break;
+                case "save-baseline":
+                    config.saveBaseline = Paths.get(value);
+                    break;
+                case "max-regression":
+                    config.maxRegression = Double.parseDouble(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown load test option: " + arg);
+            }
+        }
+        if (config.accountsPerUser < 1 || config.accountsPerUser > 10) {
+            throw new IllegalArgumentException("accounts-per-user must be between 1 and 10");
+        }
+        return config;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            mix.put(Operation.fromKey(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+}
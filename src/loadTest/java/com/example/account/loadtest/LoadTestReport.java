@@ -0,0 +1,128 @@
+package com.example.account.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-endpoint throughput and latency percentiles of one measurement window, and the baseline
+ * file format used to compare two runs.
+ */
+class LoadTestReport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+    private long elapsedNanos;
+
+    LoadTestReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_MICROS, 3));
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long nanos, boolean success) {
+        latencies.get(operation).recordValue(
+            Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        if (!success) {
+            failures.get(operation).increment();
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-26s %9s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "count", "req/s",
+            "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf("%-26s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation.getEndpoint(), histogram.getTotalCount(), throughput(operation),
+                failures.get(operation).sum(), millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+    }
+
+    void writeBaseline(Path path) throws IOException {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            root.putObject(operation.getKey())
+                .put("throughput", throughput(operation))
+                .put("errorRate", (double) failures.get(operation).sum()
+                    / histogram.getTotalCount())
+                .put("p50Micros", histogram.getValueAtPercentile(50))
+                .put("p99Micros", histogram.getValueAtPercentile(99))
+                .put("p999Micros", histogram.getValueAtPercentile(99.9));
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), root);
+    }
+
+    /**
+     * Prints the change against a saved baseline and returns false when any endpoint lost more
+     * than {@code maxRegression} of its throughput or grew its p99 by more than that.
+     */
+    boolean compareTo(Path baselinePath, double maxRegression, PrintStream out)
+        throws IOException {
+        JsonNode baseline = OBJECT_MAPPER.readTree(baselinePath.toFile());
+        boolean passed = true;
+        out.printf("%-26s %12s %12s %12s %12s%n", "endpoint", "req/s base", "req/s diff",
+            "p99 base ms", "p99 diff");
+        for (Operation operation : Operation.values()) {
+            JsonNode base = baseline.get(operation.getKey());
+            Histogram histogram = latencies.get(operation);
+            if (base == null || histogram.getTotalCount() == 0) {
+                continue;
+            }
+            double throughputChange = change(base.get("throughput").asDouble(),
+                throughput(operation));
+            double p99Change = change(base.get("p99Micros").asDouble(),
+                histogram.getValueAtPercentile(99));
+            boolean regressed = throughputChange < -maxRegression || p99Change > maxRegression;
+            passed &= !regressed;
+            out.printf("%-26s %12.1f %+11.1f%% %12.2f %+11.1f%%%s%n", operation.getEndpoint(),
+                base.get("throughput").asDouble(), throughputChange * 100,
+                millis(base.get("p99Micros").asLong()), p99Change * 100,
+                regressed ? "  REGRESSED" : "");
+        }
+        return passed;
+    }
+
+    private double throughput(Operation operation) {
+        return latencies.get(operation).getTotalCount() * 1e9 / Math.max(1, elapsedNanos);
+    }
+
+    private static double change(double base, double current) {
+        return base == 0 ? 0 : (current - base) / base;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
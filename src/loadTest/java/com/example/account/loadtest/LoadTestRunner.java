@@ -0,0 +1,120 @@
+package com.example.account.loadtest;
+
+import com.example.account.AccountApplication;
+import com.example.account.loadtest.LoadGenerator.SeededAccount;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Boots the application with H2 and embedded Redis (or targets a running instance with
+ * {@code --loadtest.target=http://host:port}), seeds users and accounts, replays the configured
+ * traffic mix and reports per-endpoint throughput and latency percentiles.
+ *
+ * <p>Run with {@code ./gradlew loadTest -PloadTestArgs="--loadtest.duration-seconds=30"}. Pass
+ * {@code --loadtest.save-baseline=<file>} to record a run and {@code --loadtest.baseline=<file>}
+ * to compare against one; the process exits with 1 when an endpoint regressed.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(run(LoadTestConfig.parse(args)) ? 0 : 1);
+    }
+
+    /**
+     * Runs one load test and returns false when it regressed against the baseline.
+     */
+    static boolean run(LoadTestConfig config) throws Exception {
+        ConfigurableApplicationContext context = null;
+        String baseUrl = config.target;
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(AccountApplication.class)
+                .profiles("local")
+                .properties("server.port=0")
+                .run(config.applicationArgs.toArray(new String[0]));
+            baseUrl = "http://127.0.0.1:"
+                + context.getEnvironment().getRequiredProperty("local.server.port");
+        }
+
+        boolean passed = true;
+        try {
+            AccountClient client = new AccountClient(baseUrl, config.threads);
+            List<Long> userIds = context != null
+                ? seedUsers(context.getBean(JdbcTemplate.class), config.users)
+                : existingUsers(config.users);
+            List<SeededAccount> accounts = seedAccounts(client, userIds, config);
+            Collections.shuffle(accounts);
+            System.out.printf("Seeded %d users and %d accounts against %s%n", userIds.size(),
+                accounts.size(), baseUrl);
+
+            LoadGenerator generator = new LoadGenerator(client, config, accounts);
+            generator.run(config.warmupSeconds);
+            LoadTestReport report = generator.run(config.durationSeconds);
+            report.print(System.out);
+
+            if (config.baseline != null) {
+                passed = report.compareTo(config.baseline, config.maxRegression, System.out);
+            }
+            if (config.saveBaseline != null) {
+                report.writeBaseline(config.saveBaseline);
+                System.out.println("Baseline saved to " + config.saveBaseline);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        return passed;
+    }
+
+    private static List<Long> seedUsers(JdbcTemplate jdbcTemplate, int users) {
+        Long maxId = jdbcTemplate.queryForObject(
+            "select coalesce(max(id), 0) from account_user", Long.class);
+        List<Object[]> rows = new ArrayList<>(users);
+        List<Long> userIds = new ArrayList<>(users);
+        for (int i = 1; i <= users; i++) {
+            long userId = maxId + i;
+            rows.add(new Object[]{userId, "load-user-" + userId});
+            userIds.add(userId);
+        }
+        jdbcTemplate.batchUpdate(
+            "insert into account_user (id, name, version, created_at, updated_at)"
+                + " values (?, ?, 0, current_timestamp, current_timestamp)", rows);
+        return userIds;
+    }
+
+    private static List<Long> existingUsers(int users) {
+        List<Long> userIds = new ArrayList<>(users);
+        for (long userId = 1; userId <= users; userId++) {
+            userIds.add(userId);
+        }
+        return userIds;
+    }
+
+    private static List<SeededAccount> seedAccounts(AccountClient client, List<Long> userIds,
+        LoadTestConfig config) throws Exception {
+        List<SeededAccount> accounts = new ArrayList<>();
+        for (Long userId : userIds) {
+            for (int i = 0; i < config.accountsPerUser; i++) {
+                Map<String, Object> body = new HashMap<>();
+                body.put("userId", userId);
+                body.put("initialBalance", config.initialBalance);
+                AccountClient.Response response = client.post("/account", body);
+                if (!response.isSuccess()) {
+                    throw new IllegalStateException("Failed to seed an account for user "
+                        + userId + ": " + response.body);
+                }
+                accounts.add(new SeededAccount(userId, response.text("accountNumber")));
+            }
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.account.loadtest;
+
+enum Operation {
+    CREATE("create", "POST /account"),
+    USE("use", "POST /transaction/use"),
+    CANCEL("cancel", "POST /transaction/cancel"),
+    QUERY_TRANSACTION("query-transaction", "GET /transaction/{id}"),
+    QUERY_ACCOUNTS("query-accounts", "GET /account");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in mix: " + key);
+    }
+}
@@ -2,4 +2,8 @@ package com.example.account.aop;
 
 public interface AccountLockIdInterface {
     String getAccountNumber();
+
+    default Long getUserId() {
+        return null;
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.account.config;
+
+import java.time.Duration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+@EnableConfigurationProperties(AccountAffinityProperties.class)
+public class AccountAffinityConfiguration {
+
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    public RestTemplate affinityRestTemplate(RestTemplateBuilder builder,
+        AccountAffinityProperties properties) {
+        return builder
+            .setConnectTimeout(Duration.ofMillis(properties.getForwardConnectTimeoutMs()))
+            .setReadTimeout(Duration.ofMillis(properties.getForwardReadTimeoutMs()))
+            .errorHandler(new DefaultResponseErrorHandler() {
+                @Override
+                public boolean hasError(ClientHttpResponse response) {
+                    return false;
+                }
+            })
+            .build();
+    }
+}
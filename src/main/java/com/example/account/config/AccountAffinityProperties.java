@@ -0,0 +1,31 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.affinity")
+public class AccountAffinityProperties {
+
+    private boolean enabled = false;
+    private String nodeId;
+    private String baseUrl;
+
+    private int partitions = 256;
+    private int virtualNodes = 64;
+    private long leaseMs = 10000;
+    private long renewMs = 3000;
+    private long exclusiveAfterMs = 20000;
+
+    private Mode mode = Mode.FORWARD;
+    private int forwardConnectTimeoutMs = 1000;
+    private int forwardReadTimeoutMs = 10000;
+    private int cacheSize = 100000;
+
+    public enum Mode {
+        FORWARD,
+        REDIRECT
+    }
+}
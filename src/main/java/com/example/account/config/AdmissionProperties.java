@@ -0,0 +1,34 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = false;
+
+    private double accountRate = 1;
+    private int accountBurst = 2;
+    private double userRate = 20;
+    private int userBurst = 40;
+    private int maxBuckets = 100000;
+    private long sweepMs = 10000;
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        private boolean enabled = false;
+        private int initialLimit = 64;
+        private int minLimit = 8;
+        private int maxLimit = 512;
+        private long windowMs = 1000;
+        private double tolerance = 2.0;
+        private double backoffRatio = 0.9;
+    }
+}
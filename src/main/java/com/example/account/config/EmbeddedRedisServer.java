@@ -0,0 +1,57 @@
+package com.example.account.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import redis.embedded.RedisServer;
+
+/**
+ * Starts embedded Redis on a background thread as soon as bean definitions are loaded, so the
+ * process launch overlaps with JPA bootstrap. Beans that talk to Redis call {@link #awaitStarted()}.
+ */
+@Slf4j
+public class EmbeddedRedisServer implements BeanFactoryPostProcessor, EnvironmentAware,
+    DisposableBean {
+
+    private int redisPort;
+    private RedisServer redisServer;
+    private CompletableFuture<Void> started = CompletableFuture.completedFuture(null);
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.redisPort = environment.getRequiredProperty("spring.redis.port", Integer.class);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        redisServer = new RedisServer(redisPort);
+        started = CompletableFuture.runAsync(() -> {
+            long begin = System.nanoTime();
+            redisServer.start();
+            log.info("Embedded Redis started on port {} in {} ms", redisPort,
+                (System.nanoTime() - begin) / 1_000_000);
+        });
+    }
+
+    public void awaitStarted() {
+        try {
+            started.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Embedded Redis failed to start on port " + redisPort,
+                e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (redisServer != null && !started.isCompletedExceptionally()) {
+            started.join();
+            redisServer.stop();
+        }
+    }
+}
@@ -1,28 +1,15 @@
 package com.example.account.config;
 
-import javax.annotation.PostConstruct;
-import javax.annotation.PreDestroy;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import redis.embedded.RedisServer;
+import org.springframework.context.annotation.Profile;
 
 @Configuration
+@Profile("local")
 public class LocalRedisConfig {
-    @Value("${spring.redis.port}")
-    private int redisPort;
 
-    private RedisServer redisServer;
-
-    @PostConstruct
-    public void startRedis() {
-        redisServer = new RedisServer(redisPort);
-        redisServer.start();
-    }
-
-    @PreDestroy
-    public void stopRedis() {
-        if(redisServer != null) {
-            redisServer.stop();
-        }
+    @Bean
+    public static EmbeddedRedisServer embeddedRedisServer() {
+        return new EmbeddedRedisServer();
     }
 }
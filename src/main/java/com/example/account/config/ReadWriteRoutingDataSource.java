@@ -0,0 +1,20 @@
+package com.example.account.config;
+
+import com.example.account.service.ReplicaLagGuard;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && !ReplicaLagGuard.isPrimaryPinned()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.account.config;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.internal.NaturalIdCacheKey;
+import org.hibernate.cache.internal.SimpleCacheKeysFactory;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+import org.redisson.codec.SerializationCodec;
+
+/**
+ * Hibernate second-level cache regions kept in Redis through the application's Redisson client,
+ * so every node sees the same entries and an entity written on one node is evicted for all.
+ *
+ * <p>Each region is a map cache keyed by the entity id, or by the natural id values for natural
+ * id regions. Entries expire after the configured TTL.
+ */
+public class RedisCacheRegionFactory extends RegionFactoryTemplate {
+
+    private static final String KEY_PREFIX = "hibernate:";
+
+    private final RedissonClient redissonClient;
+    private final long ttlMillis;
+    private final Codec codec;
+
+    public RedisCacheRegionFactory(RedissonClient redissonClient, long ttlMillis) {
+        this.redissonClient = redissonClient;
+        this.ttlMillis = ttlMillis;
+        this.codec = new CompositeCodec(StringCodec.INSTANCE,
+            new SerializationCodec(getClass().getClassLoader()));
+    }
+
+    public static String getMapName(String regionName) {
+        return KEY_PREFIX + regionName;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+    }
+
+    @Override
+    protected CacheKeysFactory getImplicitCacheKeysFactory() {
+        return SimpleCacheKeysFactory.INSTANCE;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+        DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+        return new RedisStorageAccess(getMap(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+        SessionFactoryImplementor sessionFactory) {
+        return new RedisStorageAccess(getMap(qualify(regionName)));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+        SessionFactoryImplementor sessionFactory) {
+        return new RedisStorageAccess(getMap(qualify(regionName)));
+    }
+
+    private RMapCache<String, Object> getMap(String regionName) {
+        return redissonClient.getMapCache(getMapName(regionName), codec);
+    }
+
+    private class RedisStorageAccess implements DomainDataStorageAccess {
+
+        private final RMapCache<String, Object> map;
+
+        private RedisStorageAccess(RMapCache<String, Object> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return map.get(toMapKey(key));
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value,
+            SharedSessionContractImplementor session) {
+            if (ttlMillis > 0) {
+                map.fastPut(toMapKey(key), value, ttlMillis, TimeUnit.MILLISECONDS);
+            } else {
+                map.fastPut(toMapKey(key), value);
+            }
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return map.containsKey(toMapKey(key));
+        }
+
+        @Override
+        public void evictData() {
+            map.delete();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            map.fastRemove(toMapKey(key));
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+
+    private static String toMapKey(Object key) {
+        if (key instanceof NaturalIdCacheKey) {
+            return Arrays.stream(((NaturalIdCacheKey) key).getNaturalIdValues())
+                .map(String::valueOf)
+                .collect(Collectors.joining(":"));
+        }
+        return String.valueOf(key);
+    }
+}
@@ -2,12 +2,25 @@ package com.example.account.config;
 
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.JsonJacksonCodec;
+import org.redisson.codec.MarshallingCodec;
+import org.redisson.config.BaseConfig;
+import org.redisson.config.BaseMasterSlaveServersConfig;
+import org.redisson.config.ClusterServersConfig;
 import org.redisson.config.Config;
+import org.redisson.config.SentinelServersConfig;
+import org.redisson.config.SingleServerConfig;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(RedissonProperties.class)
 public class RedisRepositoryConfig {
     @Value("${spring.redis.host}")
     private String redisHost;
@@ -15,12 +28,78 @@ public class RedisRepositoryConfig {
     @Value("${spring.redis.port}")
     private int redisPort;
 
-    @Bean
-    public RedissonClient redissonClient() {
+    @Bean(destroyMethod = "shutdown")
+    public RedissonClient redissonClient(RedissonProperties properties,
+        ObjectProvider<EmbeddedRedisServer> embeddedRedisServer) {
+        embeddedRedisServer.ifAvailable(EmbeddedRedisServer::awaitStarted);
+        return Redisson.create(createConfig(properties, redisHost, redisPort));
+    }
+
+    public static Config createConfig(RedissonProperties properties, String host, int port) {
         Config config = new Config();
-        config.useSingleServer().setAddress("redis://" + redisHost + ":" + redisPort);
+        config.setThreads(properties.getThreads());
+        config.setNettyThreads(properties.getNettyThreads());
+        config.setCodec(createCodec(properties.getCodec()));
+        config.setLockWatchdogTimeout(properties.getLockWatchdogTimeoutMs());
 
-        return Redisson.create(config);
+        switch (properties.getMode()) {
+            case SENTINEL:
+                SentinelServersConfig sentinel = config.useSentinelServers()
+                    .setMasterName(properties.getMasterName());
+                properties.getNodes().forEach(node -> sentinel.addSentinelAddress(toAddress(node)));
+                applyMasterSlave(sentinel, properties);
+                break;
+            case CLUSTER:
+                ClusterServersConfig cluster = config.useClusterServers();
+                properties.getNodes().forEach(node -> cluster.addNodeAddress(toAddress(node)));
+                applyMasterSlave(cluster, properties);
+                break;
+            default:
+                SingleServerConfig single = config.useSingleServer()
+                    .setAddress("redis://" + host + ":" + port)
+                    .setConnectionPoolSize(properties.getConnectionPoolSize())
+                    .setConnectionMinimumIdleSize(properties.getConnectionMinimumIdleSize())
+                    .setSubscriptionConnectionPoolSize(
+                        properties.getSubscriptionConnectionPoolSize());
+                applyCommon(single, properties);
+                break;
+        }
+        return config;
     }
 
+    private static void applyMasterSlave(BaseMasterSlaveServersConfig<?> servers,
+        RedissonProperties properties) {
+        servers.setMasterConnectionPoolSize(properties.getConnectionPoolSize())
+            .setMasterConnectionMinimumIdleSize(properties.getConnectionMinimumIdleSize())
+            .setSlaveConnectionPoolSize(properties.getConnectionPoolSize())
+            .setSlaveConnectionMinimumIdleSize(properties.getConnectionMinimumIdleSize())
+            .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize());
+        applyCommon(servers, properties);
+    }
+
+    private static void applyCommon(BaseConfig<?> servers, RedissonProperties properties) {
+        servers.setConnectTimeout(properties.getConnectTimeoutMs())
+            .setTimeout(properties.getTimeoutMs())
+            .setIdleConnectionTimeout(properties.getIdleConnectionTimeoutMs())
+            .setRetryAttempts(properties.getRetryAttempts())
+            .setRetryInterval(properties.getRetryIntervalMs())
+            .setPassword(properties.getPassword());
+    }
+
+    private static Codec createCodec(RedissonProperties.CodecType codec) {
+        switch (codec) {
+            case LONG:
+                return LongCodec.INSTANCE;
+            case JSON:
+                return new JsonJacksonCodec();
+            case MARSHALLING:
+                return new MarshallingCodec();
+            default:
+                return StringCodec.INSTANCE;
+        }
+    }
+
+    private static String toAddress(String node) {
+        return node.startsWith("redis://") || node.startsWith("rediss://") ? node : "redis://" + node;
+    }
 }
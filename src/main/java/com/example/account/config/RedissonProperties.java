@@ -0,0 +1,47 @@
+package com.example.account.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.redis")
+public class RedissonProperties {
+
+    private Mode mode = Mode.SINGLE;
+    private List<String> nodes = new ArrayList<>();
+    private String masterName;
+    private String password;
+
+    private int connectionPoolSize = 64;
+    private int connectionMinimumIdleSize = 24;
+    private int subscriptionConnectionPoolSize = 50;
+
+    private int connectTimeoutMs = 10000;
+    private int timeoutMs = 3000;
+    private int idleConnectionTimeoutMs = 10000;
+    private int retryAttempts = 3;
+    private int retryIntervalMs = 1500;
+
+    private long lockWatchdogTimeoutMs = 10000;
+
+    private int threads = 16;
+    private int nettyThreads = 32;
+    private CodecType codec = CodecType.STRING;
+
+    public enum Mode {
+        SINGLE,
+        SENTINEL,
+        CLUSTER
+    }
+
+    public enum CodecType {
+        STRING,
+        LONG,
+        JSON,
+        MARSHALLING
+    }
+}
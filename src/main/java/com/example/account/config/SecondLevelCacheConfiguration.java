@@ -0,0 +1,94 @@
+package com.example.account.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on the Hibernate second-level cache for the entities that carry {@code @Cache}, backed by
+ * {@link RedisCacheRegionFactory}, and reports per region its entry count and Redis memory use,
+ * plus its hit ratio when {@code account.cache.statistics} turns on Hibernate statistics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+        RedissonClient redissonClient,
+        @Value("${account.cache.ttl-ms}") long ttlMillis,
+        @Value("${account.cache.statistics}") boolean statistics
+    ) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY,
+                new RedisCacheRegionFactory(redissonClient, ttlMillis));
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+
+    /**
+     * Registered once all singletons exist: with deferred repository bootstrap the entity manager
+     * factory is still being built in the background, and that build needs the meter registry.
+     */
+    @Bean
+    public SmartInitializingSingleton secondLevelCacheMetrics(
+        MeterRegistry meterRegistry,
+        EntityManagerFactory entityManagerFactory,
+        RedissonClient redissonClient
+    ) {
+        return () -> {
+            SessionFactoryImplementor sessionFactory =
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            Statistics statistics = sessionFactory.getStatistics();
+            Set<String> regionNames =
+                new TreeSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+            sessionFactory.getMetamodel().entityPersisters().values().stream()
+                .filter(EntityPersister::hasNaturalIdCache)
+                .map(persister -> persister.getNaturalIdCacheAccessStrategy().getRegion().getName())
+                .forEach(regionNames::add);
+            for (String regionName : regionNames) {
+                String mapName = RedisCacheRegionFactory.getMapName(regionName);
+                if (statistics.isStatisticsEnabled()) {
+                    Gauge.builder("account.cache.hit.ratio", statistics,
+                            stats -> hitRatio(stats.getCacheRegionStatistics(regionName)))
+                        .tag("region", regionName)
+                        .register(meterRegistry);
+                }
+                Gauge.builder("account.cache.entries", redissonClient,
+                        redisson -> redisson.getMapCache(mapName).size())
+                    .tag("region", regionName)
+                    .register(meterRegistry);
+                Gauge.builder("account.cache.bytes", redissonClient,
+                        redisson -> redisson.getMapCache(mapName).sizeInMemory())
+                    .tag("region", regionName)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            }
+        };
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        long hits = region.getHitCount();
+        long requests = hits + region.getMissCount();
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+}
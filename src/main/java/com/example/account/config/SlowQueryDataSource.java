@@ -0,0 +1,146 @@
+package com.example.account.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every JDBC statement execution, logs statements above the slow threshold plus a random
+ * sample of the rest, and records a latency histogram per statement type.
+ */
+@Slf4j
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private static final String TIMER_NAME = "account.sql.statement";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SlowQueryDataSource(DataSource target, Supplier<MeterRegistry> meterRegistry,
+        long slowThresholdMillis, double sampleRate) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                switch (method.getName()) {
+                    case "createStatement":
+                        return wrapStatement(Statement.class, (Statement) result, null);
+                    case "prepareStatement":
+                        return wrapStatement(PreparedStatement.class, (Statement) result,
+                            (String) args[0]);
+                    case "prepareCall":
+                        return wrapStatement(CallableStatement.class, (Statement) result,
+                            (String) args[0]);
+                    default:
+                        return result;
+                }
+            });
+    }
+
+    private Object wrapStatement(Class<? extends Statement> type, Statement statement,
+        String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String
+                ? (String) args[0] : preparedSql;
+            long started = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                record(sql, method.getName(), System.nanoTime() - started);
+            }
+        };
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private void record(String sql, String operation, long elapsedNanos) {
+        String type = "executeBatch".equals(operation) ? "batch" : statementType(sql);
+        timers.computeIfAbsent(type, this::createTimer)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("Slow {} statement took {} ms: {}", type,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled {} statement took {} us: {}", type,
+                TimeUnit.NANOSECONDS.toMicros(elapsedNanos), sql);
+        }
+    }
+
+    private Timer createTimer(String type) {
+        return Timer.builder(TIMER_NAME)
+            .description("JDBC statement execution time")
+            .tag("type", type)
+            .publishPercentileHistogram()
+            .register(meterRegistry.get());
+    }
+
+    static String statementType(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        String trimmed = sql.trim();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "select":
+            case "insert":
+            case "update":
+            case "delete":
+            case "merge":
+                return keyword;
+            case "with":
+                return "select";
+            default:
+                return "other";
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.account.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "account.sql.enabled", havingValue = "true")
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowThresholdMillis;
+    private final double sampleRate;
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+        Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdMillis = environment.getRequiredProperty(
+            "account.sql.slow-threshold-ms", Long.class);
+        this.sampleRate = environment.getRequiredProperty("account.sql.sample-rate", Double.class);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof SlowQueryDataSource)) {
+            return new SlowQueryDataSource((DataSource) bean, meterRegistry::getObject,
+                slowThresholdMillis, sampleRate);
+        }
+        return bean;
+    }
+}
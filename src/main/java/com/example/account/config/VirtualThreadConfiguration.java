@@ -0,0 +1,77 @@
+package com.example.account.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Runs Tomcat request processing and the application task executor (Spring MVC async requests,
+ * {@code @Async}) on virtual threads. Requires a JDK with virtual threads (21+); the source level
+ * stays at 11, so the JDK API is looked up reflectively and startup fails on an older runtime.
+ *
+ * <p>Before JDK 24 a virtual thread that blocks inside {@code synchronized} pins its carrier, so
+ * code on the request path locks with {@link java.util.concurrent.locks.ReentrantLock}. The
+ * monitors left in this codebase are off that path: {@code TransactionArchiveRepository}
+ * (archive scheduler), and {@code FileOutboxEventSink} and {@code MemoryOutboxEventSink}
+ * (outbox relay).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "account.threads.virtual", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcatCustomizer() {
+        ExecutorService executor = newVirtualThreadExecutor("http-vt-");
+        log.info("Serving requests on virtual threads ({})", Runtime.version());
+        return factory -> factory.addProtocolHandlerCustomizers(
+            protocolHandler -> protocolHandler.setExecutor(executor));
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadExecutor("task-vt-"));
+    }
+
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())}.
+     */
+    public static ExecutorService newVirtualThreadExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException(
+                "account.threads.virtual requires a JDK with virtual threads, running on "
+                    + Runtime.version());
+        }
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class)
+                .invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory")
+                .invoke(builder);
+            return (ExecutorService) Executors.class
+                .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create a virtual thread executor", e);
+        }
+    }
+}
@@ -1,14 +1,27 @@
 package com.example.account.controller;
 
+import com.example.account.aop.AccountLock;
 import com.example.account.domain.Account;
+import com.example.account.dto.AccountDto;
 import com.example.account.dto.AccountInfo;
+import com.example.account.dto.AccountSummary;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
+import com.example.account.dto.ShardAccount;
+import com.example.account.service.AccountBulkService;
 import com.example.account.service.AccountService;
+import com.example.account.service.AccountSummaryProjection;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,10 +31,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequiredArgsConstructor
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountBulkService accountBulkService;
+    private final AccountSummaryProjection accountSummaryProjection;
 
     @PostMapping("/account")
     public CreateAccount.Response createAccount(@RequestBody @Valid CreateAccount.Request request) {
@@ -29,24 +45,57 @@ public class AccountController {
             .from(accountService.createAccount(request.getUserId(), request.getInitialBalance()));
     }
 
+    @PostMapping(value = "/account/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void createAccounts(InputStream input, HttpServletResponse response)
+        throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        accountBulkService.createAccounts(input, response.getOutputStream());
+    }
+
     @DeleteMapping("/account")
     public DeleteAccount.Response deleteAccount(@RequestBody @Valid DeleteAccount.Request request) {
         return DeleteAccount.Response
             .from(accountService.deleteAccount(request.getUserId(), request.getAccountNumber()));
     }
 
+    @PostMapping("/account/shard")
+    @AccountLock
+    public ShardAccount.Response shardAccount(@RequestBody @Valid ShardAccount.Request request) {
+        AccountDto accountDto = accountService.shardAccount(request.getUserId(),
+            request.getAccountNumber(), request.getShardCount());
+        return ShardAccount.Response.builder()
+            .accountNumber(accountDto.getAccountNumber())
+            .shardCount(request.getShardCount())
+            .balance(accountDto.getBalance())
+            .build();
+    }
+
     @GetMapping("/account")
     public List<AccountInfo> getAccountsByUserId(
         @RequestParam("user_id") Long userId
     ) {
-        accountService.getAccountsByUserId(userId);
-
-        return accountService.getAccountsByUserId(userId)
-            .stream().map(accountDto -> AccountInfo.builder()
-                .accountNumber(accountDto.getAccountNumber())
-                .balance(accountDto.getBalance())
-                .build())
-            .collect(Collectors.toList());
+        return accountSummaryProjection.getSummary(userId)
+            .map(summary -> summary.getAccounts().stream()
+                .map(item -> AccountInfo.builder()
+                    .accountNumber(item.getAccountNumber())
+                    .balance(item.getBalance())
+                    .build())
+                .collect(Collectors.toList()))
+            .orElseGet(() -> accountService.getAccountsByUserId(userId)
+                .stream().map(accountDto -> AccountInfo.builder()
+                    .accountNumber(accountDto.getAccountNumber())
+                    .balance(accountDto.getBalance())
+                    .build())
+                .collect(Collectors.toList()));
+    }
+
+    @GetMapping("/account/summary")
+    public AccountSummary getAccountSummary(
+        @RequestParam("user_id") Long userId
+    ) {
+        return accountSummaryProjection.getSummary(userId)
+            .orElseGet(() -> accountSummaryProjection.rebuildUser(userId));
     }
 
     @GetMapping("/account/{id}")
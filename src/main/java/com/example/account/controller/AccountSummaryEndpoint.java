@@ -0,0 +1,35 @@
+package com.example.account.controller;
+
+import com.example.account.service.AccountSummaryProjection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "accountsummary")
+public class AccountSummaryEndpoint {
+
+    private final AccountSummaryProjection accountSummaryProjection;
+
+    @ReadOperation
+    public Map<String, Object> check() {
+        List<String> mismatches = accountSummaryProjection.check();
+        Map<String, Object> result = new HashMap<>();
+        result.put("consistent", mismatches.isEmpty());
+        result.put("mismatches", mismatches);
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("rebuilt", accountSummaryProjection.rebuild());
+        return result;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.account.controller;
+
+import com.example.account.service.OutboxEventStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@RequiredArgsConstructor
+public class EventController {
+
+    @Lazy
+    private final OutboxEventStream outboxEventStream;
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+        @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+        @RequestParam(value = "offset", required = false) Long offset
+    ) {
+        return outboxEventStream.subscribe(lastEventId != null ? lastEventId : offset);
+    }
+}
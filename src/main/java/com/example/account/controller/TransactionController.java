@@ -6,21 +6,32 @@ import com.example.account.dto.QueryTransactionResponse;
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.service.TransactionService;
+import com.example.account.service.UseBalanceBatcher;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequiredArgsConstructor
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final UseBalanceBatcher useBalanceBatcher;
 
     @PostMapping("/transaction/use")
     @AccountLock
@@ -29,6 +40,10 @@ public class TransactionController {
     ) throws InterruptedException {
         try {
             Thread.sleep(3000L);
+            if (useBalanceBatcher.isEnabled()) {
+                return UseBalance.Response.from(useBalanceBatcher.useBalance(
+                    request.getUserId(), request.getAccountNumber(), request.getAmount()));
+            }
             return UseBalance.Response.from(transactionService.useBalance(request.getUserId(),
                 request.getAccountNumber(), request.getAmount()));
         } catch (AccountException e) {
@@ -39,6 +54,15 @@ public class TransactionController {
                 request.getAmount()
             );
             throw e;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.error("Failed to use balance on a stale account.");
+
+            AccountException exception = transactionService.staleEntity(e);
+            transactionService.saveFailedUseTransaction(
+                request.getAccountNumber(),
+                request.getAmount()
+            );
+            throw exception;
         }
     }
 
@@ -59,6 +83,15 @@ public class TransactionController {
                 request.getAmount()
             );
             throw e;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.error("Failed to cancel balance on a stale account.");
+
+            AccountException exception = transactionService.staleEntity(e);
+            transactionService.saveFailedCancelTransaction(
+                request.getAccountNumber(),
+                request.getAmount()
+            );
+            throw exception;
         }
     }
 
@@ -66,4 +99,15 @@ public class TransactionController {
     public QueryTransactionResponse queryTransaction(@PathVariable String transactionId) {
         return QueryTransactionResponse.from(transactionService.queryTransaction(transactionId));
     }
+
+    @GetMapping("/transaction")
+    public List<QueryTransactionResponse> queryTransactions(
+        @RequestParam("account_number") String accountNumber,
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return transactionService.queryTransactions(accountNumber, from, to)
+            .stream().map(QueryTransactionResponse::from)
+            .collect(Collectors.toList());
+    }
 }
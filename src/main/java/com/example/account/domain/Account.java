@@ -11,12 +11,21 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -27,10 +36,17 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @AllArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@NaturalIdCache
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_account_account_number", columnList = "accountNumber",
+    unique = true))
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq",
+        allocationSize = 50)
     Long id;
 
     @ManyToOne
@@ -38,8 +54,15 @@ public class Account {
 
     @Enumerated(EnumType.STRING)
     private AccountStatus accountStatus;
+    @NaturalId
     private String accountNumber;
-    private Long balance;
+    private long balance;
+    private long journalSeq;
+    private int shardCount;
+    private long fencingToken;
+
+    @Version
+    private long version;
 
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
@@ -50,14 +73,14 @@ public class Account {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
-    public void useBalance(Long amount) {
+    public void useBalance(long amount) {
         if(amount > balance) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
         }
         balance -= amount;
     }
 
-    public void cancelBalance(Long amount) {
+    public void cancelBalance(long amount) {
         if(amount < 0) {
             throw new AccountException(ErrorCode.INVALID_REQUEST);
         }
@@ -0,0 +1,48 @@
+package com.example.account.domain;
+
+import java.time.LocalDateTime;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_account_shard_index",
+    columnNames = {"account_id", "shardIndex"}))
+public class AccountShard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_shard_seq")
+    @SequenceGenerator(name = "account_shard_seq", sequenceName = "account_shard_seq",
+        allocationSize = 50)
+    private Long id;
+
+    @ManyToOne
+    private Account account;
+    private int shardIndex;
+    private long balance;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
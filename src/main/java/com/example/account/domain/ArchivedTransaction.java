@@ -0,0 +1,35 @@
+package com.example.account.domain;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class ArchivedTransaction {
+    private final long id;
+    private final String transactionId;
+    private final String accountNumber;
+    private final TransactionType transactionType;
+    private final TransactionResultType transactionResultType;
+    private final long amount;
+    private final long balanceSnapshot;
+    private final LocalDateTime transactedAt;
+
+    public static ArchivedTransaction fromEntity(Transaction transaction) {
+        return ArchivedTransaction.builder()
+            .id(transaction.getId())
+            .transactionId(transaction.getTransactionId())
+            .accountNumber(transaction.getAccount().getAccountNumber())
+            .transactionType(transaction.getTransactionType())
+            .transactionResultType(transaction.getTransactionResultType())
+            .amount(transaction.getAmount())
+            .balanceSnapshot(transaction.getBalanceSnapshot())
+            .transactedAt(transaction.getTransactedAt())
+            .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.account.domain;
+
+import com.example.account.type.TransactionType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEvent {
+    private long seq;
+    private TransactionType transactionType;
+    private String accountNumber;
+    private long amount;
+    private long balanceSnapshot;
+    private String transactionId;
+    private LocalDateTime transactedAt;
+
+    public long getDelta() {
+        return transactionType == TransactionType.USE ? -amount : amount;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.account.domain;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import java.time.LocalDateTime;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+    @Index(name = "idx_outbox_event_publish_seq", columnList = "publishSeq"),
+    @Index(name = "idx_outbox_event_published_at", columnList = "publishedAt")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq",
+        allocationSize = 50)
+    private Long id;
+
+    private String transactionId;
+    private String accountNumber;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+    @Enumerated(EnumType.STRING)
+    private TransactionResultType transactionResultType;
+
+    private long amount;
+    private long balanceSnapshot;
+    private LocalDateTime transactedAt;
+
+    private Long publishSeq;
+    private LocalDateTime publishedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    public static OutboxEvent fromTransaction(Transaction transaction) {
+        return OutboxEvent.builder()
+            .transactionId(transaction.getTransactionId())
+            .accountNumber(transaction.getAccount().getAccountNumber())
+            .transactionType(transaction.getTransactionType())
+            .transactionResultType(transaction.getTransactionResultType())
+            .amount(transaction.getAmount())
+            .balanceSnapshot(transaction.getBalanceSnapshot())
+            .transactedAt(transaction.getTransactedAt())
+            .build();
+    }
+}
@@ -11,6 +11,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -30,7 +31,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq",
+        allocationSize = 50)
     Long id;
 
     @Enumerated(EnumType.STRING)
@@ -40,8 +43,8 @@ public class Transaction {
 
     @ManyToOne
     private Account account;
-    private Long amount;
-    private Long balanceSnapshot;
+    private long amount;
+    private long balanceSnapshot;
 
     private String transactionId;
     private LocalDateTime transactedAt;
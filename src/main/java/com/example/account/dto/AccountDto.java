@@ -16,7 +16,7 @@ import lombok.Setter;
 public class AccountDto {
     private Long userId;
     private String accountNumber;
-    private Long balance;
+    private long balance;
 
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
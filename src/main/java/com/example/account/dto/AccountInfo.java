@@ -13,7 +13,7 @@ import lombok.Setter;
 @Builder
 public class AccountInfo {
     private String accountNumber;
-    private Long balance;
+    private long balance;
 
 
 }
@@ -0,0 +1,68 @@
+package com.example.account.dto;
+
+import com.example.account.type.AccountStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountSummary {
+    private Long userId;
+    private List<Item> accounts;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder(toBuilder = true)
+    @EqualsAndHashCode
+    public static class Item {
+        private static final String SEPARATOR = "|";
+
+        private Long userId;
+        private String accountNumber;
+        private AccountStatus accountStatus;
+        private Long balance;
+        private LocalDateTime lastTransactedAt;
+        private YearMonth spendMonth;
+        private Long monthlySpend;
+
+        public Item forMonth(YearMonth month) {
+            if (month.equals(spendMonth)) {
+                return this;
+            }
+            return toBuilder().spendMonth(month).monthlySpend(0L).build();
+        }
+
+        @JsonIgnore
+        public String encode() {
+            return userId + SEPARATOR + accountNumber + SEPARATOR + accountStatus + SEPARATOR
+                + balance + SEPARATOR + (lastTransactedAt == null ? "" : lastTransactedAt)
+                + SEPARATOR + spendMonth + SEPARATOR + monthlySpend;
+        }
+
+        public static Item decode(String encoded) {
+            String[] fields = encoded.split("\\|", -1);
+            return Item.builder()
+                .userId(Long.parseLong(fields[0]))
+                .accountNumber(fields[1])
+                .accountStatus(AccountStatus.valueOf(fields[2]))
+                .balance(Long.parseLong(fields[3]))
+                .lastTransactedAt(fields[4].isEmpty() ? null : LocalDateTime.parse(fields[4]))
+                .spendMonth(YearMonth.parse(fields[5]))
+                .monthlySpend(Long.parseLong(fields[6]))
+                .build();
+        }
+    }
+}
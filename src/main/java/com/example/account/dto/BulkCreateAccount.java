@@ -0,0 +1,42 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+public class BulkCreateAccount {
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+        private long line;
+        private Long userId;
+        private String accountNumber;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Result success(long line, Long userId, String accountNumber) {
+            return Result.builder()
+                .line(line)
+                .userId(userId)
+                .accountNumber(accountNumber)
+                .build();
+        }
+
+        public static Result failure(long line, Long userId, ErrorCode errorCode) {
+            return Result.builder()
+                .line(line)
+                .userId(userId)
+                .errorCode(errorCode)
+                .errorMessage(errorCode.getDescription())
+                .build();
+        }
+    }
+}
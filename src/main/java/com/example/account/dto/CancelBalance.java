@@ -20,7 +20,7 @@ public class CancelBalance {
     @Setter
     @NoArgsConstructor
     @AllArgsConstructor
-    public static class Request {
+    public static class Request implements AccountLockIdInterface {
 
         @NotBlank
         private String transactionId;
@@ -40,7 +40,7 @@ public class CancelBalance {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
-    public static class Response implements AccountLockIdInterface {
+    public static class Response {
 
         private String accountNumber;
         private TransactionResultType transactionResult;
@@ -0,0 +1,40 @@
+package com.example.account.dto;
+
+import com.example.account.domain.OutboxEvent;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEventDto {
+    private Long offset;
+    private String transactionId;
+    private String accountNumber;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+
+    public static OutboxEventDto fromEntity(OutboxEvent event) {
+        return OutboxEventDto.builder()
+            .offset(event.getPublishSeq())
+            .transactionId(event.getTransactionId())
+            .accountNumber(event.getAccountNumber())
+            .transactionType(event.getTransactionType())
+            .transactionResultType(event.getTransactionResultType())
+            .amount(event.getAmount())
+            .balanceSnapshot(event.getBalanceSnapshot())
+            .transactedAt(event.getTransactedAt())
+            .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.account.dto;
 
+import com.example.account.domain.ArchivedTransaction;
+import com.example.account.domain.LedgerEvent;
 import com.example.account.domain.Transaction;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
@@ -19,8 +21,8 @@ public class TransactionDto {
     private String accountNumber;
     private TransactionType transactionType;
     private TransactionResultType transactionResultType;
-    private Long amount;
-    private Long balanceSnapshot;
+    private long amount;
+    private long balanceSnapshot;
     private String transactionId;
     private LocalDateTime transactedAt;
 
@@ -35,4 +37,28 @@ public class TransactionDto {
             .transactedAt(transaction.getTransactedAt())
             .build();
     }
+
+    public static TransactionDto fromArchive(ArchivedTransaction transaction) {
+        return TransactionDto.builder()
+            .accountNumber(transaction.getAccountNumber())
+            .transactionType(transaction.getTransactionType())
+            .transactionResultType(transaction.getTransactionResultType())
+            .amount(transaction.getAmount())
+            .balanceSnapshot(transaction.getBalanceSnapshot())
+            .transactionId(transaction.getTransactionId())
+            .transactedAt(transaction.getTransactedAt())
+            .build();
+    }
+
+    public static TransactionDto fromLedgerEvent(LedgerEvent event) {
+        return TransactionDto.builder()
+            .accountNumber(event.getAccountNumber())
+            .transactionType(event.getTransactionType())
+            .transactionResultType(TransactionResultType.S)
+            .amount(event.getAmount())
+            .balanceSnapshot(event.getBalanceSnapshot())
+            .transactionId(event.getTransactionId())
+            .transactedAt(event.getTransactedAt())
+            .build();
+    }
 }
@@ -0,0 +1,24 @@
+package com.example.account.dto;
+
+import com.example.account.exception.AccountException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UseBalanceResult {
+    private final TransactionDto transaction;
+    private final AccountException exception;
+
+    public static UseBalanceResult success(TransactionDto transaction) {
+        return new UseBalanceResult(transaction, null);
+    }
+
+    public static UseBalanceResult failure(AccountException exception) {
+        return new UseBalanceResult(null, exception);
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.account.exception;
 
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
 import static com.example.account.type.ErrorCode.INTERNAL_SERVER_ERROR;
 import static com.example.account.type.ErrorCode.INVALID_REQUEST;
 
@@ -7,9 +8,11 @@ import com.example.account.dto.ErrorResponse;
 import com.example.account.type.ErrorCode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 @Slf4j
 @RestControllerAdvice
@@ -29,6 +32,13 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(ErrorCode.INVALID_REQUEST, INVALID_REQUEST.getDescription());
     }
 
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ErrorResponse handleWebExchangeBindException(WebExchangeBindException e) {
+        log.error("WebExchangeBindException is occurred.", e);
+
+        return new ErrorResponse(ErrorCode.INVALID_REQUEST, INVALID_REQUEST.getDescription());
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ErrorResponse handleDataIntegrityViolationException(DataIntegrityViolationException e) {
         log.error("DataIntegrityViolationException is occurred.", e);
@@ -36,6 +46,15 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(ErrorCode.INVALID_REQUEST, INVALID_REQUEST.getDescription());
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ErrorResponse handleObjectOptimisticLockingFailureException(
+        ObjectOptimisticLockingFailureException e) {
+        log.error("ObjectOptimisticLockingFailureException is occurred.", e);
+
+        return new ErrorResponse(ACCOUNT_TRANSACTION_LOCK,
+            ACCOUNT_TRANSACTION_LOCK.getDescription());
+    }
+
     @ExceptionHandler(Exception.class)
     public ErrorResponse handleException(Exception e) {
         log.error("exception is occurred.", e);
@@ -2,18 +2,56 @@ package com.example.account.repository;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.type.AccountStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
-    Optional<Account> findFirstByOrderByIdDesc();
+public interface AccountRepository extends JpaRepository<Account, Long>,
+    AccountRepositoryCustom {
+    Optional<Account> findFirstByOrderByAccountNumberDesc();
 
     Integer countByAccountUser(AccountUser accountUser);
 
-    Optional<Account> findByAccountNumber(String accountNumber);
+    @Query("select a.accountUser.id as userId, count(a) as accountCount from Account a "
+        + "where a.accountUser.id in :userIds group by a.accountUser.id")
+    List<UserAccountCount> countByAccountUserIds(@Param("userIds") Collection<Long> userIds);
 
     List<Account> findByAccountUser(AccountUser accountUser);
+
+    @Query("select a.fencingToken from Account a where a.accountNumber = :accountNumber")
+    Optional<Long> findFencingToken(@Param("accountNumber") String accountNumber);
+
+    @Query("select a.id as id, a.accountNumber as accountNumber, a.accountUser.id as userId, "
+        + "a.accountStatus as accountStatus from Account a where a.id > :afterId order by a.id")
+    List<IndexedAccount> findIndexedAccounts(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select a.id as id, a.accountNumber as accountNumber, a.accountUser.id as userId, "
+        + "a.accountStatus as accountStatus from Account a "
+        + "where a.id > :afterId and a.updatedAt >= :since order by a.id")
+    List<IndexedAccount> findIndexedAccountsUpdatedSince(@Param("afterId") long afterId,
+        @Param("since") LocalDateTime since, Pageable pageable);
+
+    interface UserAccountCount {
+        Long getUserId();
+
+        Long getAccountCount();
+    }
+
+    interface IndexedAccount {
+        Long getId();
+
+        String getAccountNumber();
+
+        Long getUserId();
+
+        AccountStatus getAccountStatus();
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import java.util.Optional;
+
+public interface AccountRepositoryCustom {
+
+    Optional<Account> findByAccountNumber(String accountNumber);
+
+    int advanceFencingToken(String accountNumber, long token);
+
+    void evictFromCache(Class<?> entityClass, Object id);
+}
@@ -0,0 +1,69 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Account lookups that cooperate with the second-level cache.
+ *
+ * <p>With the cache on, an account number resolves through the natural id cache and the account
+ * through the entity cache. The lookup runs in a read-only transaction of its own when called
+ * outside one, since the session behind the natural id loader must stay open. The fencing token is advanced with a native update synchronized on no
+ * entity, since a bulk update on {@code Account} would evict the whole account region on every
+ * locked write; the entity never writes the token back, as updates only carry dirty columns.
+ *
+ * <p>Cached entries are only evicted after commit, so a node may still load a stale copy for a
+ * moment; its update then fails the version check, and the caller evicts the entry.
+ */
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+
+    private final boolean cacheEnabled;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AccountRepositoryCustomImpl(@Value("${account.cache.enabled}") boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Account> findByAccountNumber(String accountNumber) {
+        if (cacheEnabled) {
+            return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Account.class)
+                .loadOptional(accountNumber);
+        }
+        return entityManager.createQuery(
+                "select a from Account a where a.accountNumber = :accountNumber", Account.class)
+            .setParameter("accountNumber", accountNumber)
+            .setFlushMode(FlushModeType.COMMIT)
+            .getResultStream()
+            .findFirst();
+    }
+
+    @Override
+    public int advanceFencingToken(String accountNumber, long token) {
+        return entityManager.createNativeQuery("update account set fencing_token = :token "
+                + "where account_number = :accountNumber and fencing_token < :token")
+            .setParameter("token", token)
+            .setParameter("accountNumber", accountNumber)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace("")
+            .executeUpdate();
+    }
+
+    @Override
+    public void evictFromCache(Class<?> entityClass, Object id) {
+        if (cacheEnabled) {
+            entityManager.getEntityManagerFactory().getCache().evict(entityClass, id);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountShard;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountShardRepository extends JpaRepository<AccountShard, Long> {
+    Optional<AccountShard> findByAccountAndShardIndex(Account account, int shardIndex);
+
+    @Query("select s.balance from AccountShard s"
+        + " where s.account = :account and s.shardIndex = :shardIndex")
+    Optional<Long> findBalanceByAccountAndShardIndex(@Param("account") Account account,
+        @Param("shardIndex") int shardIndex);
+
+    @Query("select coalesce(sum(s.balance), 0) from AccountShard s where s.account = :account")
+    long sumBalanceByAccount(@Param("account") Account account);
+
+    @Query("select s.account.accountNumber, sum(s.balance) from AccountShard s"
+        + " group by s.account.accountNumber")
+    List<Object[]> sumBalanceGroupByAccountNumber();
+}
@@ -0,0 +1,28 @@
+package com.example.account.repository;
+
+import com.example.account.domain.OutboxEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    List<OutboxEvent> findByPublishSeqGreaterThanOrderByPublishSeqAsc(Long publishSeq,
+        Pageable pageable);
+
+    @Query("select coalesce(max(e.publishSeq), 0) from OutboxEvent e")
+    long findMaxPublishSeq();
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :cutoff"
+        + " and e.publishSeq < :maxPublishSeq")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff,
+        @Param("maxPublishSeq") long maxPublishSeq);
+}
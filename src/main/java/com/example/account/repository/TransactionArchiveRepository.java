@@ -0,0 +1,738 @@
+package com.example.account.repository;
+
+import com.example.account.domain.ArchivedTransaction;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Append-only cold storage for transactions that can no longer be cancelled.
+ *
+ * <p>Every archive batch is written as one sorted run of compressed, column-oriented blocks.
+ * Block headers (id range, time range, position) stay in memory as a sparse index, so an id
+ * lookup decompresses at most one block per run and a time-range scan skips whole runs.
+ *
+ * <p>Once there are more than {@code max-runs} runs, {@link #compact()} merges all of them into
+ * one run in fresh segments, dropping duplicate ids. The old segments are deleted by the next
+ * compaction rather than at once, so lookups still reading them are not cut off; if the node
+ * restarts before that, their rows are loaded twice and the next compaction drops them.
+ *
+ * <p>The highest id appended so far is kept in a small file next to the segments, so a batch
+ * retried after its delete rolled back can tell which of its rows are already archived.
+ */
+@Slf4j
+@Lazy
+@Repository
+public class TransactionArchiveRepository {
+    private static final int BLOCK_MAGIC = 0x54584142;
+    private static final String SEGMENT_PREFIX = "txarchive-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String ARCHIVED_UP_TO_FILE = "archived-up-to";
+
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+    private static final TransactionResultType[] RESULT_TYPES = TransactionResultType.values();
+
+    private final Path directory;
+    private final int blockRows;
+    private final long segmentBytes;
+    private final int maxRuns;
+
+    private final List<ArchiveRun> runs = new CopyOnWriteArrayList<>();
+    private final Map<Path, FileChannel> readChannels = new ConcurrentHashMap<>();
+    private final List<Path> retiredSegments = new ArrayList<>();
+
+    private Path activeSegment;
+    private int activeSegmentNumber;
+    private long nextRunId = 1;
+    private volatile long archivedUpToId;
+
+    public TransactionArchiveRepository(
+        @Value("${account.archive.dir}") String directory,
+        @Value("${account.archive.block-rows}") int blockRows,
+        @Value("${account.archive.segment-bytes}") long segmentBytes,
+        @Value("${account.archive.max-runs}") int maxRuns
+    ) {
+        this.directory = Paths.get(directory);
+        this.blockRows = blockRows;
+        this.segmentBytes = segmentBytes;
+        this.maxRuns = maxRuns;
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        archivedUpToId = readArchivedUpToId();
+        List<Path> segments = listSegments();
+        Map<Long, ArchiveRun> loaded = new TreeMap<>();
+        for (int i = 0; i < segments.size(); i++) {
+            boolean last = i == segments.size() - 1;
+            scanSegment(segments.get(i), last, loaded);
+        }
+        runs.addAll(loaded.values());
+        loaded.keySet().stream().mapToLong(Long::longValue).max()
+            .ifPresent(maxRunId -> nextRunId = maxRunId + 1);
+
+        if (!segments.isEmpty()) {
+            activeSegment = segments.get(segments.size() - 1);
+            activeSegmentNumber = segmentNumber(activeSegment);
+        }
+        log.info("Loaded {} archive runs from {}", runs.size(), directory);
+    }
+
+    @PreDestroy
+    public void close() {
+        for (FileChannel channel : readChannels.values()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close archive segment", e);
+            }
+        }
+        readChannels.clear();
+    }
+
+    public synchronized void append(List<ArchivedTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        List<ArchivedTransaction> sorted = new ArrayList<>(transactions);
+        sorted.sort(Comparator.comparing(ArchivedTransaction::getTransactionId));
+
+        try {
+            Files.createDirectories(directory);
+            Path segment = segmentForAppend();
+            long runId = nextRunId;
+            List<BlockRef> blocks = new ArrayList<>();
+
+            try (FileChannel channel = FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+                for (int from = 0; from < sorted.size(); from += blockRows) {
+                    List<ArchivedTransaction> rows =
+                        sorted.subList(from, Math.min(from + blockRows, sorted.size()));
+                    blocks.add(writeBlock(channel, segment, runId, rows));
+                }
+                channel.force(true);
+            }
+
+            nextRunId++;
+            runs.add(new ArchiveRun(blocks));
+            writeArchivedUpToId(sorted.stream()
+                .mapToLong(ArchivedTransaction::getId)
+                .max()
+                .getAsLong());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append transaction archive", e);
+        }
+    }
+
+    /**
+     * Highest transaction id appended so far. Rows above it are not archived yet; rows below it
+     * may be, if the delete that followed their append rolled back.
+     */
+    public long getArchivedUpToId() {
+        return archivedUpToId;
+    }
+
+    public synchronized int compact() {
+        deleteRetiredSegments();
+        if (runs.size() <= Math.max(maxRuns, 1)) {
+            return 0;
+        }
+        List<ArchiveRun> merging = new ArrayList<>(runs);
+        List<Path> oldSegments = listSegments();
+
+        try {
+            long runId = nextRunId;
+            List<BlockRef> blocks = new ArrayList<>();
+            activeSegment = null;
+            Path segment = segmentForAppend();
+            FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            try {
+                PriorityQueue<RunCursor> cursors = new PriorityQueue<>(
+                    Comparator.comparing(RunCursor::transactionId));
+                for (ArchiveRun run : merging) {
+                    RunCursor cursor = new RunCursor(run);
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    }
+                }
+                List<ArchivedTransaction> rows = new ArrayList<>(blockRows);
+                String lastId = null;
+                while (!cursors.isEmpty()) {
+                    RunCursor cursor = cursors.poll();
+                    if (!cursor.transactionId().equals(lastId)) {
+                        lastId = cursor.transactionId();
+                        rows.add(cursor.row());
+                    }
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    }
+                    if (rows.size() == blockRows || (cursors.isEmpty() && !rows.isEmpty())) {
+                        if (channel.size() >= segmentBytes) {
+                            channel.force(true);
+                            channel.close();
+                            segment = segmentForAppend();
+                            channel = FileChannel.open(segment, StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                        }
+                        blocks.add(writeBlock(channel, segment, runId, rows));
+                        rows.clear();
+                    }
+                }
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+
+            nextRunId++;
+            runs.add(new ArchiveRun(blocks));
+            runs.removeAll(merging);
+            retiredSegments.addAll(oldSegments);
+            log.info("Compacted {} archive runs into {} blocks", merging.size(), blocks.size());
+            return merging.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact transaction archive", e);
+        }
+    }
+
+    public Optional<ArchivedTransaction> findByTransactionId(String transactionId) {
+        for (ArchiveRun run : runs) {
+            BlockRef block = run.findBlock(transactionId);
+            if (block == null) {
+                continue;
+            }
+            ArchiveBlock decoded = readBlock(block);
+            int row = Arrays.binarySearch(decoded.transactionIds, transactionId);
+            if (row >= 0) {
+                return Optional.of(decoded.row(row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<ArchivedTransaction> findByAccountNumber(
+        String accountNumber, LocalDateTime from, LocalDateTime to
+    ) {
+        long fromMicros = toMicros(from);
+        long toMicros = toMicros(to);
+        Map<String, ArchivedTransaction> found = new TreeMap<>();
+
+        for (ArchiveRun run : runs) {
+            if (!run.overlaps(fromMicros, toMicros)) {
+                continue;
+            }
+            for (BlockRef block : run.blocks) {
+                if (!block.overlaps(fromMicros, toMicros)) {
+                    continue;
+                }
+                ArchiveBlock decoded = readBlock(block);
+                for (int i = 0; i < decoded.rowCount; i++) {
+                    if (accountNumber.equals(decoded.accountNumbers[i])
+                        && decoded.transactedAt[i] >= fromMicros
+                        && decoded.transactedAt[i] <= toMicros) {
+                        found.putIfAbsent(decoded.transactionIds[i], decoded.row(i));
+                    }
+                }
+            }
+        }
+
+        return found.values().stream()
+            .sorted(Comparator.comparing(ArchivedTransaction::getTransactedAt))
+            .collect(Collectors.toList());
+    }
+
+    public void forEachTransactionId(Consumer<String> consumer) {
+        for (ArchiveRun run : runs) {
+            for (BlockRef block : run.blocks) {
+                for (String transactionId : readBlock(block).transactionIds) {
+                    consumer.accept(transactionId);
+                }
+            }
+        }
+    }
+
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    private void deleteRetiredSegments() {
+        for (Path segment : retiredSegments) {
+            try {
+                FileChannel channel = readChannels.remove(segment);
+                if (channel != null) {
+                    channel.close();
+                }
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("Failed to delete archive segment {}", segment, e);
+            }
+        }
+        retiredSegments.clear();
+    }
+
+    private long readArchivedUpToId() {
+        Path file = directory.resolve(ARCHIVED_UP_TO_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+
+    private void writeArchivedUpToId(long id) throws IOException {
+        if (id <= archivedUpToId) {
+            return;
+        }
+        Path file = directory.resolve(ARCHIVED_UP_TO_FILE);
+        Path temp = directory.resolve(ARCHIVED_UP_TO_FILE + ".tmp");
+        Files.write(temp, Long.toString(id).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        archivedUpToId = id;
+    }
+
+    private Path segmentForAppend() throws IOException {
+        if (activeSegment == null
+            || (Files.exists(activeSegment) && Files.size(activeSegment) >= segmentBytes)) {
+            activeSegmentNumber++;
+            activeSegment = directory.resolve(
+                String.format("%s%010d%s", SEGMENT_PREFIX, activeSegmentNumber, SEGMENT_SUFFIX));
+        }
+        return activeSegment;
+    }
+
+    private BlockRef writeBlock(FileChannel channel, Path segment, long runId,
+        List<ArchivedTransaction> rows) throws IOException {
+        byte[] raw = encodeColumns(rows);
+        byte[] compressed = compress(raw);
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        for (ArchivedTransaction row : rows) {
+            long micros = toMicros(row.getTransactedAt());
+            minTime = Math.min(minTime, micros);
+            maxTime = Math.max(maxTime, micros);
+        }
+        String firstId = rows.get(0).getTransactionId();
+        String lastId = rows.get(rows.size() - 1).getTransactionId();
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(128);
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(BLOCK_MAGIC);
+        header.writeLong(runId);
+        header.writeInt(rows.size());
+        header.writeLong(minTime);
+        header.writeLong(maxTime);
+        header.writeUTF(firstId);
+        header.writeUTF(lastId);
+        header.writeInt(raw.length);
+        header.writeInt(compressed.length);
+        header.writeInt((int) crc.getValue());
+        header.flush();
+
+        long blockStart = channel.size();
+        writeFully(channel, ByteBuffer.wrap(headerBytes.toByteArray()));
+        writeFully(channel, ByteBuffer.wrap(compressed));
+
+        return new BlockRef(segment, blockStart + headerBytes.size(), compressed.length,
+            raw.length, (int) crc.getValue(), rows.size(), minTime, maxTime, firstId, lastId);
+    }
+
+    private void scanSegment(Path segment, boolean verify, Map<Long, ArchiveRun> loaded) {
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (true) {
+                BlockRef block;
+                long runId;
+                try {
+                    if (in.readInt() != BLOCK_MAGIC) {
+                        break;
+                    }
+                    runId = in.readLong();
+                    int rowCount = in.readInt();
+                    long minTime = in.readLong();
+                    long maxTime = in.readLong();
+                    String firstId = in.readUTF();
+                    String lastId = in.readUTF();
+                    int rawLength = in.readInt();
+                    int compressedLength = in.readInt();
+                    int crc = in.readInt();
+
+                    long headerLength = 4 + 8 + 4 + 8 + 8 + utfLength(firstId)
+                        + utfLength(lastId) + 4 + 4 + 4;
+                    block = new BlockRef(segment, position + headerLength, compressedLength,
+                        rawLength, crc, rowCount, minTime, maxTime, firstId, lastId);
+
+                    if (verify) {
+                        byte[] compressed = new byte[compressedLength];
+                        in.readFully(compressed);
+                        CRC32 actual = new CRC32();
+                        actual.update(compressed);
+                        if ((int) actual.getValue() != crc) {
+                            break;
+                        }
+                    } else {
+                        skipFully(in, compressedLength);
+                    }
+                    position = block.offset + compressedLength;
+                } catch (EOFException e) {
+                    break;
+                }
+                loaded.computeIfAbsent(runId, id -> new ArchiveRun(new ArrayList<>()))
+                    .blocks.add(block);
+            }
+            if (verify && position < Files.size(segment)) {
+                log.warn("Truncating partial archive block in {} at {}", segment, position);
+                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    channel.truncate(position);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load transaction archive " + segment, e);
+        }
+    }
+
+    private ArchiveBlock readBlock(BlockRef block) {
+        try {
+            FileChannel channel = readChannels.computeIfAbsent(block.segment, this::openForRead);
+            ByteBuffer buffer = ByteBuffer.allocate(block.compressedLength);
+            long position = block.offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Archive block truncated in " + block.segment);
+                }
+                position += read;
+            }
+            return decodeColumns(decompress(buffer.array(), block.rawLength));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read transaction archive", e);
+        }
+    }
+
+    private FileChannel openForRead(Path segment) {
+        try {
+            return FileChannel.open(segment, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open archive segment " + segment, e);
+        }
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list archive segments", e);
+        }
+    }
+
+    private static int segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(
+            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] encodeColumns(List<ArchivedTransaction> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(rows.size());
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(row.getId());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeUTF(row.getTransactionId());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeUTF(row.getAccountNumber());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeByte(row.getTransactionType().ordinal());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeByte(row.getTransactionResultType().ordinal());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(row.getAmount());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(row.getBalanceSnapshot());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(toMicros(row.getTransactedAt()));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static ArchiveBlock decodeColumns(byte[] raw) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        int rowCount = in.readInt();
+        ArchiveBlock block = new ArchiveBlock(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            block.ids[i] = in.readLong();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            block.transactionIds[i] = in.readUTF();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            block.accountNumbers[i] = in.readUTF();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            block.transactionTypes[i] = in.readByte();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            block.resultTypes[i] = in.readByte();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            block.amounts[i] = in.readLong();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            block.balanceSnapshots[i] = in.readLong();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            block.transactedAt[i] = in.readLong();
+        }
+        return block;
+    }
+
+    private static byte[] compress(byte[] raw) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 2);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(raw);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressed, int rawLength) throws IOException {
+        byte[] raw = new byte[rawLength];
+        try (DataInputStream in = new DataInputStream(
+            new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+            in.readFully(raw);
+        }
+        return raw;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void skipFully(InputStream in, long length) throws IOException {
+        while (length > 0) {
+            long skipped = in.skip(length);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            length -= skipped;
+        }
+    }
+
+    private static int utfLength(String value) {
+        return 2 + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static class ArchiveRun {
+        private final List<BlockRef> blocks;
+
+        private ArchiveRun(List<BlockRef> blocks) {
+            this.blocks = blocks;
+        }
+
+        private BlockRef findBlock(String transactionId) {
+            int low = 0;
+            int high = blocks.size() - 1;
+            BlockRef candidate = null;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                BlockRef block = blocks.get(mid);
+                if (block.firstId.compareTo(transactionId) <= 0) {
+                    candidate = block;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (candidate == null || candidate.lastId.compareTo(transactionId) < 0) {
+                return null;
+            }
+            return candidate;
+        }
+
+        private boolean overlaps(long fromMicros, long toMicros) {
+            for (BlockRef block : blocks) {
+                if (block.overlaps(fromMicros, toMicros)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private class RunCursor {
+        private final ArchiveRun run;
+        private int blockIndex = -1;
+        private ArchiveBlock block;
+        private int row;
+
+        private RunCursor(ArchiveRun run) {
+            this.run = run;
+        }
+
+        private boolean advance() {
+            row++;
+            while (block == null || row >= block.rowCount) {
+                if (++blockIndex >= run.blocks.size()) {
+                    return false;
+                }
+                block = readBlock(run.blocks.get(blockIndex));
+                row = 0;
+            }
+            return true;
+        }
+
+        private String transactionId() {
+            return block.transactionIds[row];
+        }
+
+        private ArchivedTransaction row() {
+            return block.row(row);
+        }
+    }
+
+    private static class BlockRef {
+        private final Path segment;
+        private final long offset;
+        private final int compressedLength;
+        private final int rawLength;
+        private final int crc;
+        private final int rowCount;
+        private final long minTime;
+        private final long maxTime;
+        private final String firstId;
+        private final String lastId;
+
+        private BlockRef(Path segment, long offset, int compressedLength, int rawLength, int crc,
+            int rowCount, long minTime, long maxTime, String firstId, String lastId) {
+            this.segment = segment;
+            this.offset = offset;
+            this.compressedLength = compressedLength;
+            this.rawLength = rawLength;
+            this.crc = crc;
+            this.rowCount = rowCount;
+            this.minTime = minTime;
+            this.maxTime = maxTime;
+            this.firstId = firstId;
+            this.lastId = lastId;
+        }
+
+        private boolean overlaps(long fromMicros, long toMicros) {
+            return minTime <= toMicros && maxTime >= fromMicros;
+        }
+    }
+
+    private static class ArchiveBlock {
+        private final int rowCount;
+        private final long[] ids;
+        private final String[] transactionIds;
+        private final String[] accountNumbers;
+        private final byte[] transactionTypes;
+        private final byte[] resultTypes;
+        private final long[] amounts;
+        private final long[] balanceSnapshots;
+        private final long[] transactedAt;
+
+        private ArchiveBlock(int rowCount) {
+            this.rowCount = rowCount;
+            this.ids = new long[rowCount];
+            this.transactionIds = new String[rowCount];
+            this.accountNumbers = new String[rowCount];
+            this.transactionTypes = new byte[rowCount];
+            this.resultTypes = new byte[rowCount];
+            this.amounts = new long[rowCount];
+            this.balanceSnapshots = new long[rowCount];
+            this.transactedAt = new long[rowCount];
+        }
+
+        private ArchivedTransaction row(int i) {
+            return ArchivedTransaction.builder()
+                .id(ids[i])
+                .transactionId(transactionIds[i])
+                .accountNumber(accountNumbers[i])
+                .transactionType(TRANSACTION_TYPES[transactionTypes[i]])
+                .transactionResultType(RESULT_TYPES[resultTypes[i]])
+                .amount(amounts[i])
+                .balanceSnapshot(balanceSnapshots[i])
+                .transactedAt(fromMicros(transactedAt[i]))
+                .build();
+        }
+    }
+}
@@ -3,12 +3,50 @@ package com.example.account.repository;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.type.TransactionResultType;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    @Query("select t from Transaction t join fetch t.account"
+        + " where t.transactedAt < :cutoff order by t.id")
+    List<Transaction> findByTransactedAtBeforeOrderByIdAsc(
+        @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    List<Transaction> findByAccountAndTransactedAtBetweenOrderByTransactedAtAsc(
+        Account account, LocalDateTime from, LocalDateTime to);
+
+    Optional<Transaction> findFirstByAccountAndTransactionResultTypeOrderByTransactedAtDesc(
+        Account account, TransactionResultType resultType);
+
+    @Query("select t.account.accountNumber, max(t.transactedAt) from Transaction t"
+        + " where t.transactionResultType = :resultType group by t.account.accountNumber")
+    List<Object[]> findLastTransactedAtByAccount(
+        @Param("resultType") TransactionResultType resultType);
+
+    @Query("select t.account.accountNumber, t.transactionType, sum(t.amount) from Transaction t"
+        + " where t.transactionResultType = :resultType and t.transactedAt >= :from"
+        + " group by t.account.accountNumber, t.transactionType")
+    List<Object[]> sumAmountByAccountAndType(
+        @Param("resultType") TransactionResultType resultType,
+        @Param("from") LocalDateTime from);
+
+    @Query("select t.id as id, t.transactionId as transactionId from Transaction t"
+        + " where t.id > :afterId order by t.id")
+    List<TransactionIdRow> findTransactionIds(@Param("afterId") long afterId, Pageable pageable);
+
+    interface TransactionIdRow {
+        Long getId();
+
+        String getTransactionId();
+    }
 }
@@ -0,0 +1,122 @@
+package com.example.account.service;
+
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.config.AccountAffinityProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Sends account-locked requests to the node that owns the account's partition, either by
+ * proxying them or by redirecting the client. Runs ahead of {@link LockAopAspect}.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(0)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class AccountAffinityAspect {
+
+    public static final String FORWARDED_HEADER = "X-Account-Forwarded";
+    public static final String OWNER_HEADER = "X-Account-Owner";
+
+    private final AccountOwnership accountOwnership;
+    private final AccountAffinityProperties properties;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AccountAffinityAspect(
+        AccountOwnership accountOwnership,
+        AccountAffinityProperties properties,
+        @Qualifier("affinityRestTemplate") RestTemplate restTemplate,
+        ObjectMapper objectMapper
+    ) {
+        this.accountOwnership = accountOwnership;
+        this.properties = properties;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
+    public Object aroundMethod(
+        ProceedingJoinPoint pjp,
+        AccountLockIdInterface request
+    ) throws Throwable {
+        ServletRequestAttributes attributes =
+            (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (!accountOwnership.isEnabled() || attributes == null
+            || accountOwnership.isOwner(request.getAccountNumber())) {
+            return pjp.proceed();
+        }
+        Optional<String> owner = accountOwnership.findRemoteOwner(request.getAccountNumber());
+        if (owner.isEmpty()) {
+            return pjp.proceed();
+        }
+
+        HttpServletRequest httpRequest = attributes.getRequest();
+        if (httpRequest.getHeader(FORWARDED_HEADER) != null) {
+            throw new AccountException(ErrorCode.ACCOUNT_OWNER_MOVED);
+        }
+        String target = owner.get() + httpRequest.getRequestURI()
+            + (httpRequest.getQueryString() != null ? "?" + httpRequest.getQueryString() : "");
+
+        HttpServletResponse response = attributes.getResponse();
+        response.setHeader(OWNER_HEADER, owner.get());
+        if (properties.getMode() == AccountAffinityProperties.Mode.REDIRECT) {
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target);
+            return null;
+        }
+        forward(httpRequest, response, target, request);
+        return null;
+    }
+
+    private void forward(HttpServletRequest httpRequest, HttpServletResponse response,
+        String target, AccountLockIdInterface request) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(FORWARDED_HEADER, accountOwnership.getNodeId());
+
+        ResponseEntity<byte[]> forwarded;
+        try {
+            forwarded = restTemplate.exchange(target,
+                HttpMethod.valueOf(httpRequest.getMethod()),
+                new HttpEntity<>(objectMapper.writeValueAsBytes(request), headers), byte[].class);
+        } catch (RestClientException e) {
+            log.warn("Failed to forward {} to {}", request.getAccountNumber(), target, e);
+            throw new AccountException(ErrorCode.ACCOUNT_OWNER_UNAVAILABLE);
+        }
+
+        response.setStatus(forwarded.getStatusCodeValue());
+        MediaType contentType = forwarded.getHeaders().getContentType();
+        if (contentType != null) {
+            response.setContentType(contentType.toString());
+        }
+        if (forwarded.getBody() != null) {
+            response.getOutputStream().write(forwarded.getBody());
+        }
+        response.flushBuffer();
+    }
+}
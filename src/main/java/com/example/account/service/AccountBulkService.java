@@ -0,0 +1,254 @@
+package com.example.account.service;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.BulkCreateAccount;
+import com.example.account.dto.CreateAccount;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates accounts from an NDJSON stream of {@link CreateAccount.Request} lines and writes one
+ * {@link BulkCreateAccount.Result} line per input line.
+ *
+ * <p>Lines are handled in chunks of {@code chunk-size}, one transaction each: the chunk's users
+ * and their account counts are loaded with one query apiece, a contiguous range of account
+ * numbers is reserved under the {@link AccountNumberLock}, and the accounts are inserted in JDBC
+ * batches. Only one chunk is held in memory at a time. Single creates take the same lock, so a
+ * number in the reserved range is only taken by a writer whose lease ran out; the chunk is then
+ * rolled back and retried with a fresh range. The existence filters learn the new numbers just
+ * before the chunk commits, and the index, summaries and replica routing right after it.
+ */
+@Slf4j
+@Service
+public class AccountBulkService {
+
+    private static final long FIRST_ACCOUNT_NUMBER = 1000000000L;
+    private static final int MAX_ACCOUNT_PER_USER = 10;
+
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final AccountSummaryProjection accountSummaryProjection;
+    private final AccountIndex accountIndex;
+    private final ExistenceFilters existenceFilters;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final AccountNumberLock accountNumberLock;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxAttempts;
+
+    public AccountBulkService(
+        AccountRepository accountRepository,
+        AccountUserRepository accountUserRepository,
+        AccountSummaryProjection accountSummaryProjection,
+        AccountIndex accountIndex,
+        ExistenceFilters existenceFilters,
+        ReplicaLagGuard replicaLagGuard,
+        AccountNumberLock accountNumberLock,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        @Value("${account.bulk.chunk-size}") int chunkSize,
+        @Value("${account.bulk.max-attempts}") int maxAttempts
+    ) {
+        this.accountRepository = accountRepository;
+        this.accountUserRepository = accountUserRepository;
+        this.accountSummaryProjection = accountSummaryProjection;
+        this.accountIndex = accountIndex;
+        this.existenceFilters = existenceFilters;
+        this.replicaLagGuard = replicaLagGuard;
+        this.accountNumberLock = accountNumberLock;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public void createAccounts(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader =
+            new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer =
+            new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            lineNumber++;
+            if (text.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, text));
+            if (chunk.size() == chunkSize) {
+                createChunk(chunk, writer);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            createChunk(chunk, writer);
+        }
+        writer.flush();
+    }
+
+    private Line parse(long lineNumber, String text) {
+        Line line = new Line(lineNumber);
+        try {
+            line.request = objectMapper.readValue(text, CreateAccount.Request.class);
+        } catch (JsonProcessingException e) {
+            line.result = BulkCreateAccount.Result.failure(lineNumber, null,
+                ErrorCode.INVALID_REQUEST);
+            return line;
+        }
+        Long userId = line.request.getUserId();
+        Long initialBalance = line.request.getInitialBalance();
+        if (userId == null || userId < 1 || initialBalance == null || initialBalance < 0) {
+            line.result = BulkCreateAccount.Result.failure(lineNumber, userId,
+                ErrorCode.INVALID_REQUEST);
+        }
+        return line;
+    }
+
+    private void createChunk(List<Line> chunk, Writer writer) throws IOException {
+        List<Line> pending = chunk.stream()
+            .filter(line -> line.result == null)
+            .collect(Collectors.toList());
+        if (!pending.isEmpty()) {
+            insertWithRetry(pending);
+        }
+        for (Line line : chunk) {
+            writer.write(objectMapper.writeValueAsString(line.result));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void insertWithRetry(List<Line> lines) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                accountNumberLock.runLocked(() -> transactionTemplate.executeWithoutResult(
+                    status -> insert(lines)));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt < maxAttempts) {
+                    log.warn("Account number range collided, retrying chunk at line {}",
+                        lines.get(0).lineNumber);
+                    continue;
+                }
+                log.error("Failed to create account chunk at line {}",
+                    lines.get(0).lineNumber, e);
+                fail(lines, ErrorCode.INTERNAL_SERVER_ERROR);
+            } catch (AccountException e) {
+                fail(lines, e.getErrorCode());
+            } catch (RuntimeException e) {
+                log.error("Failed to create account chunk at line {}",
+                    lines.get(0).lineNumber, e);
+                fail(lines, ErrorCode.INTERNAL_SERVER_ERROR);
+            }
+            return;
+        }
+    }
+
+    private void insert(List<Line> lines) {
+        Set<Long> userIds = lines.stream()
+            .map(line -> line.request.getUserId())
+            .collect(Collectors.toSet());
+        Map<Long, AccountUser> users = accountUserRepository.findAllById(userIds).stream()
+            .collect(Collectors.toMap(AccountUser::getId, Function.identity()));
+        Map<Long, Long> accountCounts = new HashMap<>();
+        accountRepository.countByAccountUserIds(userIds).forEach(count ->
+            accountCounts.put(count.getUserId(), count.getAccountCount()));
+
+        long nextAccountNumber = accountRepository.findFirstByOrderByAccountNumberDesc()
+            .map(account -> Long.parseLong(account.getAccountNumber()) + 1)
+            .orElse(FIRST_ACCOUNT_NUMBER);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Account> accounts = new ArrayList<>(lines.size());
+        List<String> writtenKeys = new ArrayList<>();
+        for (Line line : lines) {
+            Long userId = line.request.getUserId();
+            AccountUser accountUser = users.get(userId);
+            if (accountUser == null) {
+                line.result = BulkCreateAccount.Result.failure(line.lineNumber, userId,
+                    ErrorCode.USER_NOT_FOUND);
+                continue;
+            }
+            long accountCount = accountCounts.getOrDefault(userId, 0L);
+            if (accountCount >= MAX_ACCOUNT_PER_USER) {
+                line.result = BulkCreateAccount.Result.failure(line.lineNumber, userId,
+                    ErrorCode.MAX_ACCOUNT_PER_USER_10);
+                continue;
+            }
+            accountCounts.put(userId, accountCount + 1);
+
+            String accountNumber = String.valueOf(nextAccountNumber++);
+            accounts.add(Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(IN_USE)
+                .accountNumber(accountNumber)
+                .balance(line.request.getInitialBalance())
+                .registeredAt(now)
+                .build());
+            writtenKeys.add(ReplicaLagGuard.userKey(userId));
+            writtenKeys.add(ReplicaLagGuard.accountKey(accountNumber));
+            line.result = BulkCreateAccount.Result.success(line.lineNumber, userId,
+                accountNumber);
+        }
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        accountRepository.saveAll(accounts);
+        accountRepository.flush();
+        existenceFilters.accountsCreated(accounts.stream()
+            .map(Account::getAccountNumber)
+            .collect(Collectors.toList()));
+        accountSummaryProjection.accountsCreated(accounts);
+        accountIndex.accountsSaved(accounts);
+        replicaLagGuard.recordWrite(writtenKeys.toArray(new String[0]));
+    }
+
+    private static void fail(List<Line> lines, ErrorCode errorCode) {
+        lines.forEach(line -> line.result = BulkCreateAccount.Result.failure(line.lineNumber,
+            line.request.getUserId(), errorCode));
+    }
+
+    private static class Line {
+        private final long lineNumber;
+        private CreateAccount.Request request;
+        private BulkCreateAccount.Result result;
+
+        private Line(long lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+    }
+}
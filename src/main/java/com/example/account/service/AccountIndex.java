@@ -0,0 +1,382 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountRepository.IndexedAccount;
+import com.example.account.type.AccountStatus;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Off-heap index from account number to account id, owner and status, used to reject requests
+ * for another user's or an unregistered account before touching the database.
+ *
+ * <p>The index is an open-addressing hash table of 24-byte slots keyed by the account number as a
+ * {@code long}, held in a memory-mapped snapshot file (or a direct buffer when the file is in use
+ * by another instance). Readers are lock-free; a slot's key is published after its values. It is
+ * rebuilt from the database when the snapshot was not closed cleanly or does not match the
+ * account count, and otherwise caught up with the accounts updated since it was last synced.
+ *
+ * <p>Only hits are authoritative: owners never change and unregistering is final, but accounts
+ * created or unregistered on another node are not seen here, so a miss or an in-use entry must
+ * still be checked against the database.
+ */
+@Slf4j
+@Component
+public class AccountIndex implements SmartInitializingSingleton {
+
+    private static final int MAGIC = 0x41434958;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SLOTS_OFFSET = 4;
+    private static final int CLEAN_OFFSET = 8;
+    private static final int SIZE_OFFSET = 16;
+    private static final int SYNCED_AT_OFFSET = 24;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 24;
+    private static final int ID_OFFSET = 8;
+    private static final int OWNER_OFFSET = 16;
+    private static final int STATUS_BITS = 8;
+    private static final int REBUILD_PAGE_SIZE = 10000;
+    private static final int ACCOUNT_NUMBER_DIGITS = 10;
+
+    private static final AccountStatus[] STATUSES = AccountStatus.values();
+    private static final VarHandle LONGS =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final AccountRepository accountRepository;
+    private final boolean enabled;
+    private final Path path;
+    private final int slots;
+    private final int maxEntries;
+    private final int shift;
+    private final int bytes;
+
+    private ByteBuffer table;
+    private FileChannel channel;
+    private FileLock fileLock;
+    private int size;
+    private boolean full;
+    private long syncedAt;
+    private volatile boolean ready;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public AccountIndex(
+        AccountRepository accountRepository,
+        @Value("${account.index.enabled}") boolean enabled,
+        @Value("${account.index.path}") String path,
+        @Value("${account.index.capacity}") int capacity
+    ) {
+        this.accountRepository = accountRepository;
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+        this.slots = Math.max(16, Integer.highestOneBit((int) (capacity * 4L / 3) - 1) << 1);
+        this.maxEntries = slots - slots / 4;
+        this.shift = 64 - Integer.numberOfTrailingZeros(slots);
+        long tableBytes = HEADER_BYTES + (long) slots * SLOT_BYTES;
+        if (tableBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Account index capacity too large: " + capacity);
+        }
+        this.bytes = (int) tableBytes;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            boolean restored = open();
+            if (restored) {
+                load(LocalDateTime.ofInstant(Instant.ofEpochMilli(syncedAt),
+                    ZoneId.systemDefault()));
+                if (size != accountRepository.count()) {
+                    log.info("Account index snapshot {} is out of date, rebuilding", path);
+                    clear();
+                    restored = false;
+                }
+            }
+            if (!restored) {
+                load(null);
+            }
+            syncedAt = started;
+            ready = true;
+            log.info("Account index {} {} accounts in {} ms", restored ? "restored" : "rebuilt",
+                size, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("Account index unavailable, validation falls back to the database", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            boolean synced = ready;
+            ready = false;
+            if (channel == null) {
+                return;
+            }
+            if (synced) {
+                table.putLong(SIZE_OFFSET, size);
+                table.putLong(SYNCED_AT_OFFSET, syncedAt);
+                ((MappedByteBuffer) table).force();
+                table.putInt(CLEAN_OFFSET, 1);
+                ((MappedByteBuffer) table).force();
+            }
+            fileLock.release();
+            channel.close();
+            channel = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Optional<Entry> find(String accountNumber) {
+        long key = toKey(accountNumber);
+        if (!ready || key == 0) {
+            return Optional.empty();
+        }
+        ByteBuffer table = this.table;
+        for (int slot = slotOf(key); ; slot = (slot + 1) & (slots - 1)) {
+            int offset = offsetOf(slot);
+            long stored = (long) LONGS.getAcquire(table, offset);
+            if (stored == 0) {
+                return Optional.empty();
+            }
+            if (stored == key) {
+                long owner = (long) LONGS.getAcquire(table, offset + OWNER_OFFSET);
+                return Optional.of(new Entry((long) LONGS.get(table, offset + ID_OFFSET),
+                    owner >>> STATUS_BITS, STATUSES[(int) (owner & 0xFF)]));
+            }
+        }
+    }
+
+    public void accountSaved(Account account) {
+        if (!enabled) {
+            return;
+        }
+        long key = toKey(account.getAccountNumber());
+        long id = account.getId();
+        long owner = ownerOf(account.getAccountUser().getId(), account.getAccountStatus());
+        afterCommit(() -> put(key, id, owner));
+    }
+
+    public void accountsSaved(List<Account> accounts) {
+        if (!enabled || accounts.isEmpty()) {
+            return;
+        }
+        long[] entries = new long[accounts.size() * 3];
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            entries[i * 3] = toKey(account.getAccountNumber());
+            entries[i * 3 + 1] = account.getId();
+            entries[i * 3 + 2] =
+                ownerOf(account.getAccountUser().getId(), account.getAccountStatus());
+        }
+        afterCommit(() -> {
+            for (int i = 0; i < entries.length; i += 3) {
+                put(entries[i], entries[i + 1], entries[i + 2]);
+            }
+        });
+    }
+
+    private boolean open() {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            fileLock = tryLock(channel);
+            if (fileLock == null) {
+                log.warn("Account index snapshot {} is in use, keeping the index in memory",
+                    path);
+                channel.close();
+                channel = null;
+                table = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+                clear();
+                return false;
+            }
+            table = channel.map(MapMode.READ_WRITE, 0, bytes).order(ByteOrder.nativeOrder());
+        } catch (IOException e) {
+            log.warn("Failed to map account index snapshot {}, keeping the index in memory",
+                path, e);
+            table = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+            clear();
+            return false;
+        }
+
+        boolean restored = table.getInt(MAGIC_OFFSET) == MAGIC
+            && table.getInt(SLOTS_OFFSET) == slots
+            && table.getInt(CLEAN_OFFSET) == 1;
+        if (restored) {
+            size = (int) table.getLong(SIZE_OFFSET);
+            syncedAt = table.getLong(SYNCED_AT_OFFSET);
+            table.putInt(CLEAN_OFFSET, 0);
+            ((MappedByteBuffer) table).force();
+        } else {
+            clear();
+        }
+        return restored;
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private void clear() {
+        writeLock.lock();
+        try {
+            if (table.getInt(MAGIC_OFFSET) != 0) {
+                for (int offset = 0; offset < bytes; offset += Long.BYTES) {
+                    table.putLong(offset, 0L);
+                }
+            }
+            table.putInt(MAGIC_OFFSET, MAGIC);
+            table.putInt(SLOTS_OFFSET, slots);
+            size = 0;
+            full = false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void load(LocalDateTime updatedSince) {
+        long afterId = 0;
+        List<IndexedAccount> page;
+        do {
+            PageRequest pageRequest = PageRequest.of(0, REBUILD_PAGE_SIZE);
+            page = updatedSince == null
+                ? accountRepository.findIndexedAccounts(afterId, pageRequest)
+                : accountRepository.findIndexedAccountsUpdatedSince(afterId, updatedSince,
+                    pageRequest);
+            for (IndexedAccount account : page) {
+                put(toKey(account.getAccountNumber()), account.getId(),
+                    ownerOf(account.getUserId(), account.getAccountStatus()));
+                afterId = account.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+    }
+
+    private void put(long key, long id, long owner) {
+        if (key == 0) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (table != null) {
+                putLocked(key, id, owner);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void putLocked(long key, long id, long owner) {
+        for (int slot = slotOf(key); ; slot = (slot + 1) & (slots - 1)) {
+            int offset = offsetOf(slot);
+            long stored = (long) LONGS.get(table, offset);
+            if (stored == key) {
+                LONGS.set(table, offset + ID_OFFSET, id);
+                LONGS.setRelease(table, offset + OWNER_OFFSET, owner);
+                return;
+            }
+            if (stored == 0) {
+                if (size >= maxEntries) {
+                    if (!full) {
+                        log.warn("Account index is full at {} accounts, new accounts are not "
+                            + "indexed", size);
+                        full = true;
+                    }
+                    return;
+                }
+                LONGS.set(table, offset + ID_OFFSET, id);
+                LONGS.set(table, offset + OWNER_OFFSET, owner);
+                LONGS.setRelease(table, offset, key);
+                size++;
+                return;
+            }
+        }
+    }
+
+    private int slotOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static int offsetOf(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    private static long ownerOf(Long userId, AccountStatus accountStatus) {
+        return userId << STATUS_BITS | accountStatus.ordinal();
+    }
+
+    static long toKey(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != ACCOUNT_NUMBER_DIGITS) {
+            return 0;
+        }
+        long key = 0;
+        for (int i = 0; i < accountNumber.length(); i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            key = key * 10 + (c - '0');
+        }
+        return key;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+        } else {
+            action.run();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final long accountId;
+        private final long userId;
+        private final AccountStatus accountStatus;
+    }
+}
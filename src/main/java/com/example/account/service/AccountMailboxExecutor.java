@@ -0,0 +1,244 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs every operation for an account number through that account's serial mailbox.
+ *
+ * <p>A fixed pool of workers multiplexes the mailboxes: a worker takes a ready mailbox, runs up
+ * to {@code throughput} queued operations back to back and hands the mailbox back if more are
+ * waiting. A mailbox is only ever held by one worker, so operations on one account never overlap
+ * and need no lock on this node. Idle mailboxes are dropped.
+ *
+ * <p>Mailboxes only serialize operations within this node, so callers use them only for
+ * accounts this node exclusively owns. A caller waits at most {@code timeout-ms}; an operation
+ * still queued by then is withdrawn.
+ */
+@Component
+public class AccountMailboxExecutor {
+
+    private final boolean enabled;
+    private final int workerCount;
+    private final int throughput;
+    private final int maxPending;
+    private final long timeoutMillis;
+
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final BlockingQueue<Mailbox> ready = new LinkedBlockingQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final ThreadLocal<String> currentAccount = new ThreadLocal<>();
+    private final Timer waitTimer;
+
+    private volatile boolean running;
+
+    public AccountMailboxExecutor(
+        MeterRegistry meterRegistry,
+        @Value("${account.mailbox.enabled}") boolean enabled,
+        @Value("${account.mailbox.workers}") int workerCount,
+        @Value("${account.mailbox.throughput}") int throughput,
+        @Value("${account.mailbox.max-pending}") int maxPending,
+        @Value("${account.mailbox.timeout-ms}") long timeoutMillis
+    ) {
+        this.enabled = enabled;
+        this.workerCount = workerCount;
+        this.throughput = throughput;
+        this.maxPending = maxPending;
+        this.timeoutMillis = timeoutMillis;
+
+        this.waitTimer = Timer.builder("account.mailbox.wait")
+            .description("Time an account operation waits in its mailbox before running")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "account-mailbox-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        ready.clear();
+        mailboxes.values().forEach(mailbox -> {
+            Envelope<?> envelope;
+            while ((envelope = mailbox.queue.poll()) != null) {
+                envelope.future.completeExceptionally(
+                    new IllegalStateException("Account mailbox executor is stopped"));
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> T call(String accountNumber, Task<T> task) throws Throwable {
+        if (accountNumber.equals(currentAccount.get())) {
+            return task.run();
+        }
+        if (!running) {
+            throw new IllegalStateException("Account mailbox executor is not running");
+        }
+
+        Envelope<T> envelope = new Envelope<>(task);
+        Mailbox scheduled = enqueue(accountNumber, envelope);
+        if (scheduled != null) {
+            ready.add(scheduled);
+        }
+        try {
+            return envelope.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            if (envelope.claim()) {
+                throw new AccountException(ErrorCode.TRANSACTION_TIMEOUT);
+            }
+        }
+        try {
+            return envelope.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            throw new AccountException(ErrorCode.TRANSACTION_TIMEOUT);
+        }
+    }
+
+    private Mailbox enqueue(String accountNumber, Envelope<?> envelope) {
+        Mailbox[] scheduled = new Mailbox[1];
+        mailboxes.compute(accountNumber, (key, mailbox) -> {
+            Mailbox target = mailbox != null ? mailbox : new Mailbox(key);
+            if (target.pending.get() >= maxPending) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            target.pending.incrementAndGet();
+            target.queue.add(envelope);
+            if (!target.scheduled) {
+                target.scheduled = true;
+                scheduled[0] = target;
+            }
+            return target;
+        });
+        return scheduled[0];
+    }
+
+    private void runWorker() {
+        while (running) {
+            Mailbox mailbox;
+            try {
+                mailbox = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            process(mailbox);
+        }
+    }
+
+    private void process(Mailbox mailbox) {
+        currentAccount.set(mailbox.accountNumber);
+        try {
+            for (int i = 0; i < throughput && running; i++) {
+                Envelope<?> envelope = mailbox.queue.poll();
+                if (envelope == null) {
+                    break;
+                }
+                mailbox.pending.decrementAndGet();
+                if (!envelope.claim()) {
+                    continue;
+                }
+                waitTimer.record(System.nanoTime() - envelope.enqueuedAt, TimeUnit.NANOSECONDS);
+                envelope.run();
+            }
+        } finally {
+            currentAccount.remove();
+        }
+
+        boolean[] again = new boolean[1];
+        mailboxes.compute(mailbox.accountNumber, (key, current) -> {
+            if (mailbox.queue.isEmpty()) {
+                mailbox.scheduled = false;
+                return null;
+            }
+            again[0] = true;
+            return mailbox;
+        });
+        if (again[0] && running) {
+            ready.add(mailbox);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task<T> {
+        T run() throws Throwable;
+    }
+
+    private static class Mailbox {
+        private final String accountNumber;
+        private final Queue<Envelope<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private boolean scheduled;
+
+        private Mailbox(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+    }
+
+    private static class Envelope<T> {
+        private final Task<T> task;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Envelope(Task<T> task) {
+            this.task = task;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private void run() {
+            try {
+                future.complete(task.run());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
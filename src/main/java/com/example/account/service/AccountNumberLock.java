@@ -0,0 +1,81 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import java.util.concurrent.TimeUnit;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cluster-wide lock over account number assignment. Single and bulk creates both number new
+ * accounts after the highest existing one, so each holds this lock from reading that number
+ * until its insert has committed or rolled back.
+ */
+@Component
+public class AccountNumberLock {
+
+    private static final String LOCK_KEY = "ACBULK";
+
+    private final RedissonClient redissonClient;
+    private final long waitMillis;
+    private final long leaseMillis;
+
+    public AccountNumberLock(
+        RedissonClient redissonClient,
+        @Value("${account.bulk.lock-wait-ms}") long waitMillis,
+        @Value("${account.bulk.lock-lease-ms}") long leaseMillis
+    ) {
+        this.redissonClient = redissonClient;
+        this.waitMillis = waitMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    public void runLocked(Runnable action) {
+        RLock lock = acquire();
+        try {
+            action.run();
+        } finally {
+            release(lock);
+        }
+    }
+
+    /**
+     * Takes the lock for the current transaction and releases it once the transaction completes.
+     */
+    public void lockUntilCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Account number lock needs an active transaction");
+        }
+        RLock lock = acquire();
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(lock);
+                }
+            });
+    }
+
+    private RLock acquire() {
+        RLock lock = redissonClient.getLock(LOCK_KEY);
+        try {
+            if (!lock.tryLock(waitMillis, leaseMillis, TimeUnit.MILLISECONDS)) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        return lock;
+    }
+
+    private static void release(RLock lock) {
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountAffinityProperties;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Assigns account partitions to nodes with a consistent-hash ring over the live members and
+ * backs each assignment with a Redis lease.
+ *
+ * <p>A node treats itself as owner only while its lease is known to be valid, with one renewal
+ * interval of margin. It becomes the exclusive owner, allowed to serve the account from
+ * {@link OwnedAccountCache} and its mailbox, only {@code exclusive-after-ms} after claiming, so
+ * that writers that started while the partition was unowned have finished by then. Exclusive
+ * owners still take the fenced Redis account lock.
+ */
+@Slf4j
+@Component
+public class AccountOwnership {
+
+    private static final String NODES_KEY = "account-affinity:nodes";
+    private static final String PARTITION_KEY_PREFIX = "account-affinity:partition:";
+    private static final String RENEW_SCRIPT =
+        "if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('pexpire', KEYS[1], ARGV[2]) end return 0";
+    private static final String RELEASE_SCRIPT =
+        "if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('del', KEYS[1]) end return 0";
+
+    private final RedissonClient redissonClient;
+    private final AccountAffinityProperties properties;
+    private final String nodeId;
+    private final String baseUrl;
+    private final String leaseValue;
+    private final int partitions;
+
+    private final AtomicLongArray ownedUntil;
+    private final AtomicLongArray exclusiveFrom;
+    private final AtomicLongArray epochs;
+    private final AtomicReferenceArray<String> remoteOwners;
+    private final AtomicLong epochSequence = new AtomicLong();
+
+    public AccountOwnership(
+        RedissonClient redissonClient,
+        AccountAffinityProperties properties,
+        @Value("${server.port:8080}") int serverPort
+    ) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.nodeId = StringUtils.hasText(properties.getNodeId())
+            ? properties.getNodeId() : UUID.randomUUID().toString();
+        this.baseUrl = StringUtils.hasText(properties.getBaseUrl())
+            ? properties.getBaseUrl() : "http://127.0.0.1:" + serverPort;
+        this.leaseValue = nodeId + "|" + baseUrl;
+        this.partitions = properties.getPartitions();
+
+        this.ownedUntil = new AtomicLongArray(partitions);
+        this.exclusiveFrom = new AtomicLongArray(partitions);
+        this.epochs = new AtomicLongArray(partitions);
+        this.remoteOwners = new AtomicReferenceArray<>(partitions);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int partitionOf(String accountNumber) {
+        return Math.floorMod(mix(accountNumber.hashCode()), partitions);
+    }
+
+    public boolean isOwner(String accountNumber) {
+        return isEnabled()
+            && isValid(ownedUntil.get(partitionOf(accountNumber)), System.nanoTime());
+    }
+
+    /**
+     * Returns the ownership epoch of the account's partition while this node is its exclusive
+     * owner, or 0 otherwise. The epoch changes every time the partition is claimed again.
+     */
+    public long exclusiveEpoch(String accountNumber) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        int partition = partitionOf(accountNumber);
+        long now = System.nanoTime();
+        if (!isValid(ownedUntil.get(partition), now) || exclusiveFrom.get(partition) - now > 0) {
+            return 0;
+        }
+        return epochs.get(partition);
+    }
+
+    public Optional<String> findRemoteOwner(String accountNumber) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(remoteOwners.get(partitionOf(accountNumber)));
+    }
+
+    @Scheduled(fixedDelayString = "${account.affinity.renew-ms}")
+    public void scheduledRefresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh account partition leases", e);
+        }
+    }
+
+    void refresh() {
+        long started = System.nanoTime();
+        long leaseMs = properties.getLeaseMs();
+
+        redissonClient.<String, String>getMapCache(NODES_KEY, StringCodec.INSTANCE)
+            .fastPut(nodeId, baseUrl, leaseMs, TimeUnit.MILLISECONDS);
+        TreeMap<Integer, String> ring = buildRing(
+            redissonClient.<String, String>getMapCache(NODES_KEY, StringCodec.INSTANCE)
+                .readAllKeySet());
+
+        String[] keys = new String[partitions];
+        for (int partition = 0; partition < partitions; partition++) {
+            keys[partition] = PARTITION_KEY_PREFIX + partition;
+        }
+        Map<String, String> leases = redissonClient.getBuckets(StringCodec.INSTANCE).get(keys);
+
+        RBatch batch = redissonClient.createBatch();
+        List<RFuture<?>> claims = new ArrayList<>(Collections.nCopies(partitions, null));
+        for (int partition = 0; partition < partitions; partition++) {
+            String lease = leases.get(keys[partition]);
+            boolean assigned = nodeId.equals(ownerOf(ring, partition));
+            List<Object> key = Collections.singletonList(keys[partition]);
+            if (assigned && lease == null) {
+                claims.set(partition, batch.<String>getBucket(keys[partition],
+                    StringCodec.INSTANCE).trySetAsync(leaseValue, leaseMs, TimeUnit.MILLISECONDS));
+            } else if (assigned && leaseValue.equals(lease)) {
+                claims.set(partition, batch.getScript(StringCodec.INSTANCE).evalAsync(
+                    RScript.Mode.READ_WRITE, RENEW_SCRIPT, RScript.ReturnType.INTEGER, key,
+                    leaseValue, String.valueOf(leaseMs)));
+            } else if (leaseValue.equals(lease)) {
+                batch.getScript(StringCodec.INSTANCE).evalAsync(RScript.Mode.READ_WRITE,
+                    RELEASE_SCRIPT, RScript.ReturnType.INTEGER, key, leaseValue);
+            }
+        }
+        batch.execute();
+
+        long validUntil = started
+            + TimeUnit.MILLISECONDS.toNanos(leaseMs - properties.getRenewMs());
+        long exclusiveAfter = started
+            + TimeUnit.MILLISECONDS.toNanos(properties.getExclusiveAfterMs());
+        int claimed = 0;
+        for (int partition = 0; partition < partitions; partition++) {
+            RFuture<?> claim = claims.get(partition);
+            if (claim != null && isGranted(claim.getNow())) {
+                if (!isValid(ownedUntil.get(partition), started)) {
+                    epochs.set(partition, epochSequence.incrementAndGet());
+                    exclusiveFrom.set(partition, exclusiveAfter);
+                    claimed++;
+                }
+                ownedUntil.set(partition, validUntil);
+                remoteOwners.set(partition, null);
+            } else {
+                ownedUntil.set(partition, 0);
+                String lease = claim == null ? leases.get(keys[partition]) : null;
+                remoteOwners.set(partition, lease == null || leaseValue.equals(lease)
+                    ? null : lease.substring(lease.indexOf('|') + 1));
+            }
+        }
+        if (claimed > 0) {
+            log.info("Claimed {} account partitions as {}", claimed, nodeId);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (!isEnabled()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        for (int partition = 0; partition < partitions; partition++) {
+            if (ownedUntil.getAndSet(partition, 0) != 0) {
+                batch.getScript(StringCodec.INSTANCE).evalAsync(RScript.Mode.READ_WRITE,
+                    RELEASE_SCRIPT, RScript.ReturnType.INTEGER,
+                    Collections.singletonList(PARTITION_KEY_PREFIX + partition), leaseValue);
+            }
+        }
+        batch.<String, String>getMapCache(NODES_KEY, StringCodec.INSTANCE).fastRemoveAsync(nodeId);
+        batch.execute();
+    }
+
+    private TreeMap<Integer, String> buildRing(Iterable<String> nodeIds) {
+        TreeMap<Integer, String> ring = new TreeMap<>();
+        for (String member : nodeIds) {
+            for (int i = 0; i < properties.getVirtualNodes(); i++) {
+                ring.put(mix((member + "#" + i).hashCode()), member);
+            }
+        }
+        return ring;
+    }
+
+    private static String ownerOf(TreeMap<Integer, String> ring, int partition) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Integer, String> entry = ring.ceilingEntry(mix(partition * 0x9E3779B9));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static boolean isValid(long until, long now) {
+        return until != 0 && until - now > 0;
+    }
+
+    private static boolean isGranted(Object result) {
+        return Boolean.TRUE.equals(result)
+            || result instanceof Long && (Long) result == 1L;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -17,7 +17,10 @@ import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.AccountStatus;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -29,19 +32,32 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final AccountSummaryProjection accountSummaryProjection;
+    private final AccountShardService accountShardService;
+    private final OwnedAccountCache ownedAccountCache;
+    private final AccountUserCache accountUserCache;
+    private final AccountIndex accountIndex;
+    private final ExistenceFilters existenceFilters;
+    private final LedgerJournal ledgerJournal;
+    private final AccountNumberLock accountNumberLock;
 
     @Transactional
     public AccountDto createAccount(Long userId, Long initialBalance) {
-        AccountUser accountUser = accountUserRepository.findById(userId).orElseThrow(
-            () -> new AccountException(USER_NOT_FOUND));
+        AccountUser accountUser = findUser(userId);
 
         validateCreateAccount(accountUser);
 
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
+        accountNumberLock.lockUntilCompletion();
+        String newAccountNumber = accountRepository.findFirstByOrderByAccountNumberDesc()
             .map(account -> (Integer.parseInt(account.getAccountNumber())) + 1 + "")
             .orElse("1000000000");
 
-        return AccountDto.fromEntity(accountRepository.save(
+        replicaLagGuard.recordWrite(ReplicaLagGuard.userKey(userId),
+            ReplicaLagGuard.accountKey(newAccountNumber));
+        existenceFilters.accountCreated(newAccountNumber);
+
+        Account account = accountRepository.save(
             Account.builder()
                 .accountUser(accountUser)
                 .accountStatus(IN_USE)
@@ -49,7 +65,11 @@ public class AccountService {
                 .balance(initialBalance)
                 .registeredAt(LocalDateTime.now())
                 .build()
-        ));
+        );
+        accountSummaryProjection.accountCreated(account);
+        accountIndex.accountSaved(account);
+
+        return AccountDto.fromEntity(account);
     }
 
     private void validateCreateAccount(AccountUser accountUser) {
@@ -58,7 +78,7 @@ public class AccountService {
         }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Account getAccount(Long id) {
         if (id < 0) {
             throw new RuntimeException("Minus");
@@ -68,40 +88,102 @@ public class AccountService {
 
     @Transactional
     public AccountDto deleteAccount(Long userId, String accountNumber) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
-            .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+        AccountUser accountUser = findUser(userId);
+        accountIndex.find(accountNumber).ifPresent(indexed ->
+            validateAccountOwner(userId, indexed.getUserId(), indexed.getAccountStatus()));
+        SortedMap<Long, Long> pendingDeltas = ledgerJournal.getPendingDeltas(accountNumber);
         Account account = accountRepository.findByAccountNumber(accountNumber)
             .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
-        validateDeleteAccount(accountUser, account);
+        validateDeleteAccount(accountUser, account, pendingDeltas);
 
         account.setAccountStatus(AccountStatus.UNREGISTERED);
         account.setUnRegisteredAt(LocalDateTime.now());
 
         accountRepository.save(account);
+        ownedAccountCache.evict(accountNumber);
+        accountSummaryProjection.accountStatusChanged(account);
+        accountIndex.accountSaved(account);
+        replicaLagGuard.recordWrite(ReplicaLagGuard.userKey(userId),
+            ReplicaLagGuard.accountKey(accountNumber));
 
         return AccountDto.fromEntity(account);
     }
 
-    private void validateDeleteAccount(AccountUser accountUser, Account account) {
-        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
+    private void validateDeleteAccount(AccountUser accountUser, Account account,
+        SortedMap<Long, Long> pendingDeltas) {
+        validateAccountOwner(accountUser.getId(), account.getAccountUser().getId(),
+            account.getAccountStatus());
+        if (getBalance(account, pendingDeltas) > 0) {
+            throw new AccountException(BALANCE_NOT_EMPTY);
+        }
+    }
+
+    private static void validateAccountOwner(Long userId, Long ownerId,
+        AccountStatus accountStatus) {
+        if (!Objects.equals(userId, ownerId)) {
             throw new AccountException(USER_ACCOUNT_UN_MATCH);
         }
-        if (account.getAccountStatus() == AccountStatus.UNREGISTERED) {
+        if (accountStatus == AccountStatus.UNREGISTERED) {
             throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
         }
-        if (account.getBalance() > 0) {
-            throw new AccountException(BALANCE_NOT_EMPTY);
-        }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByUserId(Long userId) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
-            .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+        replicaLagGuard.routeReads(ReplicaLagGuard.userKey(userId));
+        AccountUser accountUser = findUser(userId);
 
+        Map<String, SortedMap<Long, Long>> pendingDeltas = ledgerJournal.getPendingDeltas();
         List<Account> accounts = accountRepository.findByAccountUser(accountUser);
         return accounts.stream()
-            .map(AccountDto::fromEntity)
+            .map(account -> toAccountDto(account,
+                pendingDeltas.get(account.getAccountNumber())))
             .collect(Collectors.toList());
     }
+
+    @Transactional
+    public AccountDto shardAccount(Long userId, String accountNumber, int shardCount) {
+        AccountUser accountUser = findUser(userId);
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
+            throw new AccountException(USER_ACCOUNT_UN_MATCH);
+        }
+        if (account.getAccountStatus() == AccountStatus.UNREGISTERED) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+
+        long balance = accountShardService.enableSharding(account, shardCount);
+        ownedAccountCache.evict(accountNumber);
+        replicaLagGuard.recordWrite(ReplicaLagGuard.userKey(userId),
+            ReplicaLagGuard.accountKey(accountNumber));
+
+        AccountDto accountDto = AccountDto.fromEntity(account);
+        accountDto.setBalance(balance);
+        return accountDto;
+    }
+
+    private AccountUser findUser(Long userId) {
+        Optional<AccountUser> cached = accountUserCache.attach(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        AccountUser accountUser = accountUserRepository.findById(userId)
+            .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+        accountUserCache.track(accountUser);
+        return accountUser;
+    }
+
+    private AccountDto toAccountDto(Account account, SortedMap<Long, Long> pendingDeltas) {
+        AccountDto accountDto = AccountDto.fromEntity(account);
+        accountDto.setBalance(getBalance(account, pendingDeltas));
+        return accountDto;
+    }
+
+    private long getBalance(Account account, SortedMap<Long, Long> pendingDeltas) {
+        return account.getShardCount() > 0
+            ? accountShardService.getBalance(account)
+            : LedgerJournal.journaledBalance(account.getBalance(), account.getJournalSeq(),
+                pendingDeltas);
+    }
 }
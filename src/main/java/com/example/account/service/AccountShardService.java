@@ -0,0 +1,277 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountShard;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountShardRepository;
+import com.example.account.type.ErrorCode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Splits a hot account's balance over several shard rows, each guarded by its own lock.
+ *
+ * <p>Shard locks taken inside a transaction are held until it completes, so a shard row is only
+ * ever read and written by the lock holder. Debits probe shards without waiting, starting at a
+ * random index, and release a probed shard that cannot cover the amount; if none can, all shards
+ * are locked in index order and the remaining balance is spread evenly again.
+ *
+ * <p>Sharding is not available with the ledger journal, whose pending deltas only apply to the
+ * account row.
+ */
+@Slf4j
+@Service
+public class AccountShardService {
+
+    private static final String SHARD_LOCK_PREFIX = "ACSHL:";
+
+    private final AccountRepository accountRepository;
+    private final AccountShardRepository accountShardRepository;
+    private final RedissonClient redissonClient;
+    private final LedgerJournal ledgerJournal;
+    private final long lockWaitMillis;
+    private final long lockLeaseMillis;
+    private final long unshardedCacheNanos;
+
+    private final Map<String, Long> unshardedUntil = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> sharded = new ConcurrentHashMap<>();
+
+    public AccountShardService(
+        AccountRepository accountRepository,
+        AccountShardRepository accountShardRepository,
+        RedissonClient redissonClient,
+        LedgerJournal ledgerJournal,
+        @Value("${account.shard.lock-wait-ms}") long lockWaitMillis,
+        @Value("${account.shard.lock-lease-ms}") long lockLeaseMillis,
+        @Value("${account.shard.unsharded-cache-ms}") long unshardedCacheMillis
+    ) {
+        this.accountRepository = accountRepository;
+        this.accountShardRepository = accountShardRepository;
+        this.redissonClient = redissonClient;
+        this.ledgerJournal = ledgerJournal;
+        this.lockWaitMillis = lockWaitMillis;
+        this.lockLeaseMillis = lockLeaseMillis;
+        this.unshardedCacheNanos = TimeUnit.MILLISECONDS.toNanos(unshardedCacheMillis);
+    }
+
+    public boolean isSharded(String accountNumber) {
+        if (sharded.containsKey(accountNumber)) {
+            return true;
+        }
+        long now = System.nanoTime();
+        Long until = unshardedUntil.get(accountNumber);
+        if (until != null && until - now > 0) {
+            return false;
+        }
+
+        boolean isSharded = accountRepository.findByAccountNumber(accountNumber)
+            .map(account -> account.getShardCount() > 0)
+            .orElse(false);
+        if (isSharded) {
+            sharded.put(accountNumber, Boolean.TRUE);
+            unshardedUntil.remove(accountNumber);
+        } else {
+            if (unshardedUntil.size() > 100_000) {
+                unshardedUntil.values().removeIf(expiry -> expiry - now <= 0);
+            }
+            unshardedUntil.put(accountNumber, now + unshardedCacheNanos);
+        }
+        return isSharded;
+    }
+
+    @Transactional
+    public long enableSharding(Account account, int shardCount) {
+        if (account.getShardCount() > 0) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_SHARDED);
+        }
+        if (ledgerJournal.isEnabled()) {
+            throw new AccountException(ErrorCode.SHARDING_NOT_AVAILABLE);
+        }
+        long balance = account.getBalance();
+        List<AccountShard> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(AccountShard.builder()
+                .account(account)
+                .shardIndex(i)
+                .balance(share(balance, shardCount, i))
+                .build());
+        }
+        accountShardRepository.saveAll(shards);
+
+        account.setBalance(0L);
+        account.setShardCount(shardCount);
+        accountRepository.save(account);
+
+        unshardedUntil.remove(account.getAccountNumber());
+        sharded.put(account.getAccountNumber(), Boolean.TRUE);
+        return balance;
+    }
+
+    public long getBalance(Account account) {
+        return accountShardRepository.sumBalanceByAccount(account);
+    }
+
+    public long useBalance(Account account, Long amount) {
+        int shardCount = account.getShardCount();
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shardIndex = (start + i) % shardCount;
+            boolean heldBefore = heldLocks().containsKey(shardLockKey(account, shardIndex));
+            if (!tryLockShard(account, shardIndex, 0)) {
+                continue;
+            }
+            long shardBalance = accountShardRepository
+                .findBalanceByAccountAndShardIndex(account, shardIndex)
+                .orElseThrow(() -> missingShard(account, shardIndex));
+            if (shardBalance >= amount) {
+                AccountShard shard = loadShard(account, shardIndex);
+                shard.setBalance(shard.getBalance() - amount);
+                return getBalance(account);
+            }
+            if (!heldBefore) {
+                unlockShard(account, shardIndex);
+            }
+        }
+        return rebalanceAndUse(account, amount);
+    }
+
+    public long cancelBalance(Account account, Long amount) {
+        if (amount < 0) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        int shardCount = account.getShardCount();
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        int shardIndex = start;
+        for (int i = 0; i < shardCount; i++) {
+            int candidate = (start + i) % shardCount;
+            if (tryLockShard(account, candidate, 0)) {
+                shardIndex = candidate;
+                break;
+            }
+        }
+        lockShard(account, shardIndex);
+
+        AccountShard shard = loadShard(account, shardIndex);
+        shard.setBalance(shard.getBalance() + amount);
+        return getBalance(account);
+    }
+
+    private long rebalanceAndUse(Account account, Long amount) {
+        int shardCount = account.getShardCount();
+        List<AccountShard> shards = new ArrayList<>(shardCount);
+        long total = 0;
+        for (int i = 0; i < shardCount; i++) {
+            lockShard(account, i);
+            AccountShard shard = loadShard(account, i);
+            shards.add(shard);
+            total += shard.getBalance();
+        }
+        if (total < amount) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+
+        long remaining = total - amount;
+        for (AccountShard shard : shards) {
+            shard.setBalance(share(remaining, shardCount, shard.getShardIndex()));
+        }
+        log.debug("Rebalanced {} shards of account {}", shardCount, account.getAccountNumber());
+        return remaining;
+    }
+
+    private AccountShard loadShard(Account account, int shardIndex) {
+        return accountShardRepository.findByAccountAndShardIndex(account, shardIndex)
+            .orElseThrow(() -> missingShard(account, shardIndex));
+    }
+
+    private static IllegalStateException missingShard(Account account, int shardIndex) {
+        return new IllegalStateException(
+            "Missing shard " + shardIndex + " of account " + account.getAccountNumber());
+    }
+
+    private void lockShard(Account account, int shardIndex) {
+        if (!tryLockShard(account, shardIndex, lockWaitMillis)) {
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    private void unlockShard(Account account, int shardIndex) {
+        RLock lock = heldLocks().remove(shardLockKey(account, shardIndex));
+        if (lock != null) {
+            unlockQuietly(lock);
+        }
+    }
+
+    private boolean tryLockShard(Account account, int shardIndex, long waitMillis) {
+        String key = shardLockKey(account, shardIndex);
+        Map<String, RLock> held = heldLocks();
+        if (held.containsKey(key)) {
+            return true;
+        }
+        RLock lock = redissonClient.getLock(key);
+        try {
+            if (!lock.tryLock(waitMillis, lockLeaseMillis, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        held.put(key, lock);
+        return true;
+    }
+
+    private static String shardLockKey(Account account, int shardIndex) {
+        return SHARD_LOCK_PREFIX + account.getAccountNumber() + ":" + shardIndex;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, RLock> heldLocks() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Shard locks require an active transaction");
+        }
+        Map<String, RLock> held =
+            (Map<String, RLock>) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            Map<String, RLock> locks = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, locks);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(
+                            AccountShardService.this);
+                        locks.values().forEach(AccountShardService::unlockQuietly);
+                    }
+                });
+            held = locks;
+        }
+        return held;
+    }
+
+    private static void unlockQuietly(RLock lock) {
+        try {
+            lock.unlock();
+        } catch (IllegalMonitorStateException e) {
+            log.warn("Shard lock {} expired before the transaction completed", lock.getName());
+        }
+    }
+
+    private static long share(long total, int shardCount, int shardIndex) {
+        long share = total / shardCount;
+        return shardIndex == 0 ? share + total % shardCount : share;
+    }
+}
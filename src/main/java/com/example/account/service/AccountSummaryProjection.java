@@ -0,0 +1,379 @@
+package com.example.account.service;
+
+import static com.example.account.type.TransactionResultType.S;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.AccountSummary;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountShardRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.LocalCachedMapOptions;
+import org.redisson.api.LocalCachedMapOptions.EvictionPolicy;
+import org.redisson.api.LocalCachedMapOptions.ReconnectionStrategy;
+import org.redisson.api.LocalCachedMapOptions.SyncStrategy;
+import org.redisson.api.RLocalCachedMap;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-user account summary read model kept in Redis with a near cache on every node.
+ *
+ * <p>Entries are keyed by account number, so updates for one account are serialized by the
+ * account lock the caller already holds. Sharded accounts are written without that lock, so
+ * their entries are updated under a per-account Redis lock with the balance summed from the
+ * shards. A second map indexes account numbers by user. All updates are applied after the
+ * writing transaction commits.
+ */
+@Slf4j
+@Service
+public class AccountSummaryProjection {
+
+    private static final String ACCOUNTS_KEY = "account-summary:accounts";
+    private static final String USERS_KEY = "account-summary:users";
+    private static final String USER_LOCK_PREFIX = "ACSUM:";
+    private static final String ACCOUNT_LOCK_PREFIX = "ACSUMA:";
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final RedissonClient redissonClient;
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountShardRepository accountShardRepository;
+    private final int cacheSize;
+
+    private RLocalCachedMap<String, String> accounts;
+    private RLocalCachedMap<String, String> users;
+
+    public AccountSummaryProjection(
+        RedissonClient redissonClient,
+        AccountRepository accountRepository,
+        AccountUserRepository accountUserRepository,
+        TransactionRepository transactionRepository,
+        AccountShardRepository accountShardRepository,
+        @Value("${account.summary.cache-size}") int cacheSize
+    ) {
+        this.redissonClient = redissonClient;
+        this.accountRepository = accountRepository;
+        this.accountUserRepository = accountUserRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountShardRepository = accountShardRepository;
+        this.cacheSize = cacheSize;
+    }
+
+    @PostConstruct
+    public void init() {
+        accounts = redissonClient.getLocalCachedMap(ACCOUNTS_KEY, StringCodec.INSTANCE,
+            options());
+        users = redissonClient.getLocalCachedMap(USERS_KEY, StringCodec.INSTANCE, options());
+    }
+
+    private LocalCachedMapOptions<String, String> options() {
+        return LocalCachedMapOptions.<String, String>defaults()
+            .cacheSize(cacheSize)
+            .evictionPolicy(EvictionPolicy.LRU)
+            .syncStrategy(SyncStrategy.UPDATE)
+            .reconnectionStrategy(ReconnectionStrategy.CLEAR);
+    }
+
+    public Optional<AccountSummary> getSummary(Long userId) {
+        String accountNumbers = users.get(String.valueOf(userId));
+        if (accountNumbers == null) {
+            return Optional.empty();
+        }
+        Set<String> keys = new LinkedHashSet<>(Arrays.asList(accountNumbers.split(",")));
+        Map<String, String> encoded = accounts.getAll(keys);
+        YearMonth month = YearMonth.now();
+
+        List<AccountSummary.Item> items = new ArrayList<>(keys.size());
+        for (String accountNumber : keys) {
+            String item = encoded.get(accountNumber);
+            if (item == null) {
+                return Optional.empty();
+            }
+            items.add(AccountSummary.Item.decode(item).forMonth(month));
+        }
+        return Optional.of(new AccountSummary(userId, items));
+    }
+
+    public void accountCreated(Account account) {
+        AccountSummary.Item item = itemOf(account, account.getBalance(), null, 0L);
+        afterCommit(() -> {
+            accounts.fastPut(item.getAccountNumber(), item.encode());
+            addToUserIndex(item.getUserId(), Collections.singletonList(item.getAccountNumber()));
+        });
+    }
+
+    public void accountsCreated(List<Account> created) {
+        Map<String, String> items = new LinkedHashMap<>();
+        Map<Long, List<String>> accountNumbersByUser = new LinkedHashMap<>();
+        for (Account account : created) {
+            AccountSummary.Item item = itemOf(account, account.getBalance(), null, 0L);
+            items.put(item.getAccountNumber(), item.encode());
+            accountNumbersByUser.computeIfAbsent(item.getUserId(), id -> new ArrayList<>())
+                .add(item.getAccountNumber());
+        }
+        afterCommit(() -> {
+            accounts.putAll(items);
+            accountNumbersByUser.forEach(this::addToUserIndex);
+        });
+    }
+
+    public void accountStatusChanged(Account account) {
+        afterCommit(() -> update(account.getAccountNumber(),
+            item -> item.toBuilder().accountStatus(account.getAccountStatus()).build()));
+    }
+
+    public void balanceChanged(Account account, TransactionDto transaction) {
+        long spend = transaction.getTransactionType() == TransactionType.USE
+            ? transaction.getAmount() : -transaction.getAmount();
+        YearMonth transactedMonth = YearMonth.from(transaction.getTransactedAt());
+
+        UnaryOperator<AccountSummary.Item> change = item -> item.toBuilder()
+            .lastTransactedAt(latest(item.getLastTransactedAt(), transaction.getTransactedAt()))
+            .monthlySpend(transactedMonth.equals(item.getSpendMonth())
+                ? item.getMonthlySpend() + spend : item.getMonthlySpend())
+            .build();
+
+        if (account.getShardCount() == 0) {
+            afterCommit(() -> update(account.getAccountNumber(), item -> change.apply(item)
+                .toBuilder().balance(transaction.getBalanceSnapshot()).build()));
+            return;
+        }
+        afterCommit(() -> {
+            RLock lock = redissonClient.getLock(ACCOUNT_LOCK_PREFIX + account.getAccountNumber());
+            lock.lock();
+            try {
+                long balance = accountShardRepository.sumBalanceByAccount(account);
+                update(account.getAccountNumber(), item -> change.apply(item)
+                    .toBuilder().balance(balance).build());
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime transactedAt) {
+        return current == null || transactedAt.isAfter(current) ? transactedAt : current;
+    }
+
+    public AccountSummary rebuildUser(Long userId) {
+        AccountUser user = accountUserRepository.findById(userId)
+            .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        LocalDateTime monthStart = YearMonth.now().atDay(1).atStartOfDay();
+
+        List<AccountSummary.Item> items = new ArrayList<>();
+        for (Account account : accountRepository.findByAccountUser(user)) {
+            LocalDateTime lastTransactedAt = transactionRepository
+                .findFirstByAccountAndTransactionResultTypeOrderByTransactedAtDesc(account, S)
+                .map(Transaction::getTransactedAt)
+                .orElse(null);
+            long monthlySpend = transactionRepository
+                .findByAccountAndTransactedAtBetweenOrderByTransactedAtAsc(account, monthStart,
+                    LocalDateTime.now())
+                .stream()
+                .filter(transaction -> transaction.getTransactionResultType() == S)
+                .mapToLong(transaction -> transaction.getTransactionType() == TransactionType.USE
+                    ? transaction.getAmount() : -transaction.getAmount())
+                .sum();
+            long balance = account.getShardCount() > 0
+                ? accountShardRepository.sumBalanceByAccount(account) : account.getBalance();
+            items.add(itemOf(account, balance, lastTransactedAt, monthlySpend));
+        }
+
+        Map<String, String> encoded = new LinkedHashMap<>();
+        items.forEach(item -> encoded.put(item.getAccountNumber(), item.encode()));
+        accounts.putAll(encoded);
+        users.fastPut(String.valueOf(userId), String.join(",", encoded.keySet()));
+
+        return new AccountSummary(userId, items);
+    }
+
+    public int rebuild() {
+        Map<String, AccountSummary.Item> expected = loadFromSource();
+
+        Map<String, String> encoded = new HashMap<>();
+        expected.forEach((accountNumber, item) -> encoded.put(accountNumber, item.encode()));
+        accounts.putAll(encoded);
+        Set<String> stale = new HashSet<>(accounts.keySet());
+        stale.removeAll(expected.keySet());
+        stale.forEach(accounts::fastRemove);
+
+        Map<String, String> index = userIndex(expected);
+        users.putAll(index);
+        Set<String> staleUsers = new HashSet<>(users.keySet());
+        staleUsers.removeAll(index.keySet());
+        staleUsers.forEach(users::fastRemove);
+
+        log.info("Account summary rebuilt for {} accounts of {} users", expected.size(),
+            index.size());
+        return expected.size();
+    }
+
+    public List<String> check() {
+        Map<String, AccountSummary.Item> expected = loadFromSource();
+        YearMonth month = YearMonth.now();
+        List<String> mismatches = new ArrayList<>();
+
+        Map<String, String> actual = accounts.readAllMap();
+        expected.forEach((accountNumber, item) -> {
+            String encoded = actual.get(accountNumber);
+            if (encoded == null) {
+                mismatches.add("missing account " + accountNumber);
+            } else if (!item.equals(AccountSummary.Item.decode(encoded).forMonth(month))) {
+                mismatches.add("account " + accountNumber + " expected " + item.encode()
+                    + " but was " + encoded);
+            }
+        });
+        actual.keySet().stream()
+            .filter(accountNumber -> !expected.containsKey(accountNumber))
+            .forEach(accountNumber -> mismatches.add("unknown account " + accountNumber));
+
+        Map<String, String> actualUsers = users.readAllMap();
+        userIndex(expected).forEach((userId, accountNumbers) -> {
+            String indexed = actualUsers.get(userId);
+            if (indexed == null || !new TreeSet<>(Arrays.asList(indexed.split(",")))
+                .equals(new TreeSet<>(Arrays.asList(accountNumbers.split(","))))) {
+                mismatches.add("user " + userId + " expected accounts " + accountNumbers
+                    + " but was " + indexed);
+            }
+        });
+        return mismatches;
+    }
+
+    private Map<String, AccountSummary.Item> loadFromSource() {
+        Map<String, LocalDateTime> lastTransactedAt = new HashMap<>();
+        for (Object[] row : transactionRepository.findLastTransactedAtByAccount(S)) {
+            lastTransactedAt.put((String) row[0], (LocalDateTime) row[1]);
+        }
+        Map<String, Long> monthlySpend = new HashMap<>();
+        LocalDateTime monthStart = YearMonth.now().atDay(1).atStartOfDay();
+        for (Object[] row : transactionRepository.sumAmountByAccountAndType(S, monthStart)) {
+            long amount = ((Number) row[2]).longValue();
+            monthlySpend.merge((String) row[0],
+                row[1] == TransactionType.USE ? amount : -amount, Long::sum);
+        }
+
+        Map<String, Long> shardBalances = new HashMap<>();
+        for (Object[] row : accountShardRepository.sumBalanceGroupByAccountNumber()) {
+            shardBalances.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        Map<String, AccountSummary.Item> items = new LinkedHashMap<>();
+        Page<Account> page;
+        int pageNumber = 0;
+        do {
+            page = accountRepository.findAll(
+                PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE, Sort.by("id")));
+            for (Account account : page) {
+                items.put(account.getAccountNumber(), itemOf(account,
+                    shardBalances.getOrDefault(account.getAccountNumber(), account.getBalance()),
+                    lastTransactedAt.get(account.getAccountNumber()),
+                    monthlySpend.getOrDefault(account.getAccountNumber(), 0L)));
+            }
+        } while (page.hasNext());
+        return items;
+    }
+
+    private static Map<String, String> userIndex(Map<String, AccountSummary.Item> items) {
+        return items.values().stream().collect(Collectors.groupingBy(
+            item -> String.valueOf(item.getUserId()), LinkedHashMap::new,
+            Collectors.mapping(AccountSummary.Item::getAccountNumber,
+                Collectors.joining(","))));
+    }
+
+    private static AccountSummary.Item itemOf(Account account, long balance,
+        LocalDateTime lastTransactedAt, long monthlySpend) {
+        return AccountSummary.Item.builder()
+            .userId(account.getAccountUser().getId())
+            .accountNumber(account.getAccountNumber())
+            .accountStatus(account.getAccountStatus())
+            .balance(balance)
+            .lastTransactedAt(lastTransactedAt)
+            .spendMonth(YearMonth.now())
+            .monthlySpend(monthlySpend)
+            .build();
+    }
+
+    private void update(String accountNumber, UnaryOperator<AccountSummary.Item> change) {
+        String encoded = accounts.get(accountNumber);
+        if (encoded == null) {
+            log.debug("No account summary for {}, waiting for rebuild", accountNumber);
+            return;
+        }
+        AccountSummary.Item current = AccountSummary.Item.decode(encoded).forMonth(YearMonth.now());
+        accounts.fastPut(accountNumber, change.apply(current).encode());
+    }
+
+    private void addToUserIndex(Long userId, List<String> accountNumbers) {
+        RLock lock = redissonClient.getLock(USER_LOCK_PREFIX + userId);
+        lock.lock();
+        try {
+            String key = String.valueOf(userId);
+            String current = users.get(key);
+            if (current == null) {
+                rebuildUser(userId);
+                return;
+            }
+            Set<String> indexed = new LinkedHashSet<>(Arrays.asList(current.split(",")));
+            if (indexed.addAll(accountNumbers)) {
+                users.fastPut(key, String.join(",", indexed));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Account summary update failed, run a rebuild to repair", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        safeAction.run();
+                    }
+                });
+        } else {
+            safeAction.run();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.account.service;
+
+import com.example.account.domain.AccountUser;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded near-cache of account users, which are read by every balance request and almost never
+ * change.
+ *
+ * <p>A cached user is re-attached to the caller's session without a select, so the account's
+ * owner resolves to it as well and the ownership check needs no query of its own. The copy keeps
+ * the version it was read with, so a stale copy that gets modified fails its optimistic check at
+ * flush instead of overwriting a newer row. Entries expire after the TTL, which bounds how long
+ * another node's change goes unseen; changes made here should {@link #evict} the user.
+ *
+ * <p>Users are spread over {@value #SEGMENTS} segments by id, each an LRU map under its own lock,
+ * so concurrent requests for different users rarely contend. When a segment is full, its least
+ * recently used user makes room.
+ */
+@Component
+public class AccountUserCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public AccountUserCache(
+        @Value("${account.user-cache.size}") int maxSize,
+        @Value("${account.user-cache.ttl-ms}") long ttlMillis
+    ) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        int segmentSize = Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    public Optional<AccountUser> attach(Long userId) {
+        Optional<AccountUser> cached = find(userId);
+        if (cached.isEmpty()) {
+            return cached;
+        }
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel()
+            .entityPersister(AccountUser.class);
+        Object managed = session.getPersistenceContextInternal()
+            .getEntity(session.generateEntityKey(userId, persister));
+        if (managed != null) {
+            return Optional.of((AccountUser) managed);
+        }
+
+        AccountUser user = cached.get();
+        session.buildLockRequest(LockOptions.NONE).lock(user);
+        return Optional.of(user);
+    }
+
+    /**
+     * A fresh copy of the cached user, or empty if it is not cached or has expired.
+     */
+    Optional<AccountUser> find(Long userId) {
+        AccountUser user = segmentFor(userId).get(userId, System.nanoTime());
+        return user == null ? Optional.empty() : Optional.of(copyOf(user));
+    }
+
+    public void track(AccountUser user) {
+        if (maxSize <= 0) {
+            return;
+        }
+        segmentFor(user.getId()).put(user.getId(),
+            new Entry(System.nanoTime() + ttlNanos, copyOf(user)));
+    }
+
+    public void evict(Long userId) {
+        segmentFor(userId).remove(userId);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(Long userId) {
+        int hash = Long.hashCode(userId);
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static AccountUser copyOf(AccountUser user) {
+        return AccountUser.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .version(user.getVersion())
+            .createdAt(user.getCreatedAt())
+            .updatedAt(user.getUpdatedAt())
+            .build();
+    }
+
+    private static class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Entry> users;
+
+        private Segment(int maxSize) {
+            this.users = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private AccountUser get(Long userId, long now) {
+            lock.lock();
+            try {
+                Entry entry = users.get(userId);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.expiresAt - now <= 0) {
+                    users.remove(userId);
+                    return null;
+                }
+                return entry.user;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(Long userId, Entry entry) {
+            lock.lock();
+            try {
+                users.put(userId, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(Long userId) {
+            lock.lock();
+            try {
+                users.remove(userId);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return users.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static class Entry {
+        private final long expiresAt;
+        private final AccountUser user;
+
+        private Entry(long expiresAt, AccountUser user) {
+            this.expiresAt = expiresAt;
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.account.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps in-flight requests with a limit that follows observed latency (AIMD).
+ *
+ * <p>Latency is averaged per window and compared with a baseline, the lowest window average seen
+ * so far, which drifts slowly towards the current average so that a lasting shift is accepted
+ * eventually. A window slower than {@code tolerance} times the baseline cuts the limit by
+ * {@code backoffRatio}; a window that used at least half of the limit raises it by its square
+ * root.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private static final int BASELINE_DRIFT = 20;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final double tolerance;
+    private final double backoffRatio;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger peakInflight = new AtomicInteger();
+    private final LongAdder windowLatency = new LongAdder();
+    private final LongAdder windowCount = new LongAdder();
+    private final AtomicLong windowStart;
+
+    private volatile int limit;
+    private volatile long baselineNanos;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowMillis,
+        double tolerance, double backoffRatio, long now) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowStart = new AtomicLong(now);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                peakInflight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    void release(long startedAt, long now) {
+        inflight.decrementAndGet();
+        windowLatency.add(now - startedAt);
+        windowCount.increment();
+
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            adjust();
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInflight() {
+        return inflight.get();
+    }
+
+    private void adjust() {
+        long count = windowCount.sumThenReset();
+        long total = windowLatency.sumThenReset();
+        int peak = peakInflight.getAndSet(inflight.get());
+        if (count == 0) {
+            return;
+        }
+
+        long average = total / count;
+        long baseline = baselineNanos;
+        if (baseline == 0 || average < baseline) {
+            baselineNanos = average;
+        } else {
+            baselineNanos = baseline + (average - baseline) / BASELINE_DRIFT;
+        }
+
+        int current = limit;
+        if (baseline != 0 && average > baseline * tolerance) {
+            limit = Math.max(minLimit, (int) (current * backoffRatio));
+        } else if (peak * 2 >= current) {
+            limit = Math.min(maxLimit, current + Math.max(1, (int) Math.sqrt(current)));
+        }
+    }
+}
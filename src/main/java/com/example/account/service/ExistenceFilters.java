@@ -0,0 +1,362 @@
+package com.example.account.service;
+
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountRepository.IndexedAccount;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.repository.TransactionRepository.TransactionIdRow;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSet;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bloom filters in Redis over every transaction id and account number ever written, so lookups
+ * of values that never existed are rejected without a query.
+ *
+ * <p>Values are added just before the inserting transaction commits, on every node, so a value
+ * the filter has not seen cannot be in the database; inserts rolled back at commit only cost
+ * false positives.
+ * A filter is trusted once a rebuild from the database has marked it ready for the current
+ * generation. Inserts that cannot add their value bump the generation first: a failed add, and
+ * every insert on a node running with the filters disabled. Readers fetch the mark and the
+ * generation with the bits, so a bump takes effect on the next lookup, and a rebuild that read the
+ * database before the bump cannot mark the filter ready. If the bump fails too, the insert fails,
+ * since its value could otherwise be rejected once Redis is back. The next node to start rebuilds
+ * the filter.
+ */
+@Slf4j
+@Component
+public class ExistenceFilters implements SmartInitializingSingleton {
+
+    private static final String KEY_PREFIX = "bloom:";
+    private static final String READY_PREFIX = "ready:";
+    private static final int REBUILD_PAGE_SIZE = 10000;
+
+    private final RedissonClient redissonClient;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final LedgerJournal ledgerJournal;
+    private final boolean enabled;
+
+    private final Filter transactions;
+    private final Filter accounts;
+
+    public ExistenceFilters(
+        RedissonClient redissonClient,
+        MeterRegistry meterRegistry,
+        AccountRepository accountRepository,
+        TransactionRepository transactionRepository,
+        @Lazy TransactionArchiveRepository transactionArchiveRepository,
+        LedgerJournal ledgerJournal,
+        @Value("${account.bloom.enabled}") boolean enabled,
+        @Value("${account.bloom.expected-transactions}") long expectedTransactions,
+        @Value("${account.bloom.expected-accounts}") long expectedAccounts,
+        @Value("${account.bloom.false-probability}") double falseProbability
+    ) {
+        this.redissonClient = redissonClient;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.ledgerJournal = ledgerJournal;
+        this.enabled = enabled;
+        this.transactions = new Filter("transactions", expectedTransactions, falseProbability,
+            meterRegistry);
+        this.accounts = new Filter("accounts", expectedAccounts, falseProbability,
+            meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            transactions.rebuild(this::forEachTransactionId);
+            accounts.rebuild(this::forEachAccountNumber);
+        }
+    }
+
+    public boolean isMissingTransaction(String transactionId) {
+        return enabled && transactions.isMissing(transactionId);
+    }
+
+    public boolean isMissingAccount(String accountNumber) {
+        return enabled && accounts.isMissing(accountNumber);
+    }
+
+    public void transactionCreated(String transactionId) {
+        beforeCommit(() -> {
+            if (enabled) {
+                transactions.add(Collections.singletonList(transactionId));
+            } else {
+                transactions.invalidate();
+            }
+        });
+    }
+
+    public void accountCreated(String accountNumber) {
+        accountsCreated(Collections.singletonList(accountNumber));
+    }
+
+    public void accountsCreated(Collection<String> accountNumbers) {
+        if (accountNumbers.isEmpty()) {
+            return;
+        }
+        beforeCommit(() -> {
+            if (enabled) {
+                accounts.add(accountNumbers);
+            } else {
+                accounts.invalidate();
+            }
+        });
+    }
+
+    public void recordTransactionMiss() {
+        transactions.recordMiss();
+    }
+
+    public void recordAccountMiss() {
+        accounts.recordMiss();
+    }
+
+    private static void beforeCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        action.run();
+                    }
+                });
+        } else {
+            action.run();
+        }
+    }
+
+    private void forEachTransactionId(Consumer<String> consumer) {
+        long afterId = 0;
+        List<TransactionIdRow> page;
+        do {
+            page = transactionRepository.findTransactionIds(afterId,
+                PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (TransactionIdRow row : page) {
+                consumer.accept(row.getTransactionId());
+                afterId = row.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        transactionArchiveRepository.forEachTransactionId(consumer);
+        ledgerJournal.getPendingTransactionIds().forEach(consumer);
+    }
+
+    private void forEachAccountNumber(Consumer<String> consumer) {
+        long afterId = 0;
+        List<IndexedAccount> page;
+        do {
+            page = accountRepository.findIndexedAccounts(afterId,
+                PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (IndexedAccount account : page) {
+                consumer.accept(account.getAccountNumber());
+                afterId = account.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private class Filter {
+
+        private final String name;
+        private final String key;
+        private final int bits;
+        private final int hashes;
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+
+        private volatile boolean ready;
+
+        private Filter(String name, long expectedInsertions, double falseProbability,
+            MeterRegistry meterRegistry) {
+            long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falseProbability)
+                / (Math.log(2) * Math.log(2)));
+            this.name = name;
+            this.bits = (int) Math.min(Math.max(optimalBits, Long.SIZE), Integer.MAX_VALUE);
+            this.hashes = Math.max(1,
+                (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+            this.key = KEY_PREFIX + name + ":" + bits + "x" + hashes;
+
+            Gauge.builder("account.bloom.false.positive.rate", this, Filter::falsePositiveRate)
+                .description("Share of lookups for absent values that the filter let through")
+                .tag("filter", name)
+                .register(meterRegistry);
+            FunctionCounter.builder("account.bloom.rejected", rejected, LongAdder::sum)
+                .description("Lookups answered as not found without a query")
+                .tag("filter", name)
+                .register(meterRegistry);
+        }
+
+        private boolean isMissing(String value) {
+            try {
+                RBatch batch = redissonClient.createBatch();
+                batch.getBucket(stateKey(), StringCodec.INSTANCE).getAsync();
+                batch.getAtomicLong(generationKey()).getAsync();
+                RBitSetAsync bitSet = batch.getBitSet(key);
+                for (int index : indexes(value)) {
+                    bitSet.getAsync(index);
+                }
+                List<?> responses = batch.execute().getResponses();
+                ready = isReady((String) responses.get(0), (Long) responses.get(1));
+                if (!ready) {
+                    return false;
+                }
+                for (Object set : responses.subList(2, responses.size())) {
+                    if (!(Boolean) set) {
+                        rejected.increment();
+                        return true;
+                    }
+                }
+            } catch (RuntimeException e) {
+                ready = false;
+                log.warn("Failed to check the {} filter, falling back to the database", name, e);
+            }
+            return false;
+        }
+
+        private void add(Collection<String> values) {
+            try {
+                RBatch batch = redissonClient.createBatch();
+                RBitSetAsync bitSet = batch.getBitSet(key);
+                for (String value : values) {
+                    for (int index : indexes(value)) {
+                        bitSet.setAsync(index);
+                    }
+                }
+                batch.execute();
+            } catch (RuntimeException e) {
+                log.warn("Failed to add to the {} filter, marking it for rebuild", name, e);
+                invalidate();
+            }
+        }
+
+        private void invalidate() {
+            redissonClient.getAtomicLong(generationKey()).incrementAndGet();
+        }
+
+        private void recordMiss() {
+            if (ready) {
+                falsePositives.increment();
+            }
+        }
+
+        private double falsePositiveRate() {
+            long passed = falsePositives.sum();
+            long absent = passed + rejected.sum();
+            return absent == 0 ? 0 : (double) passed / absent;
+        }
+
+        private boolean isReady(String state, long generation) {
+            return (READY_PREFIX + generation).equals(state);
+        }
+
+        private boolean isReady() {
+            return isReady(state().get(), redissonClient.getAtomicLong(generationKey()).get());
+        }
+
+        private RBucket<String> state() {
+            return redissonClient.getBucket(stateKey(), StringCodec.INSTANCE);
+        }
+
+        private String stateKey() {
+            return key + ":state";
+        }
+
+        private String generationKey() {
+            return key + ":generation";
+        }
+
+        /**
+         * Builds the filter locally and ORs it into the shared one, so values added by other nodes
+         * meanwhile are kept. The generation is read before the database, so an invalidation
+         * during the rebuild leaves the filter untrusted. Skipped when the filter is already ready
+         * or another node holds the rebuild lock.
+         */
+        private void rebuild(Consumer<Consumer<String>> source) {
+            long started = System.currentTimeMillis();
+            RLock lock = redissonClient.getLock(key + ":rebuild");
+            try {
+                if (isReady() || !lock.tryLock()) {
+                    return;
+                }
+                try {
+                    long generation = redissonClient.getAtomicLong(generationKey()).get();
+                    if (isReady(state().get(), generation)) {
+                        return;
+                    }
+                    BitSet built = new BitSet(bits);
+                    long[] count = new long[1];
+                    source.accept(value -> {
+                        for (int index : indexes(value)) {
+                            built.set(index);
+                        }
+                        count[0]++;
+                    });
+                    RBitSet staging = redissonClient.getBitSet(key + ":staging");
+                    staging.set(built);
+                    redissonClient.getBitSet(key).or(staging.getName());
+                    staging.delete();
+                    state().set(READY_PREFIX + generation);
+                    log.info("Rebuilt the {} filter from {} values in {} ms", name, count[0],
+                        System.currentTimeMillis() - started);
+                } finally {
+                    lock.unlock();
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild the {} filter, lookups go to the database", name, e);
+            }
+        }
+
+        private int[] indexes(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+            int[] indexes = new int[hashes];
+            for (int i = 0; i < hashes; i++) {
+                indexes[i] = (int) Math.floorMod(hash1 + i * hash2, (long) bits);
+            }
+            return indexes;
+        }
+    }
+}
@@ -0,0 +1,610 @@
+package com.example.account.service;
+
+import com.example.account.config.AccountAffinityProperties;
+import com.example.account.domain.LedgerEvent;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Optional write-ahead journal for balance changes.
+ *
+ * <p>Events are appended to memory-mapped, checksummed segment files and acknowledged once a
+ * group-commit flush has forced them to disk. A single applier thread then writes them to the
+ * relational tables in order; events that were durable but not yet applied are replayed on
+ * startup. Until an event is applied its balance delta is kept in memory so that validation
+ * sees the journaled balance.
+ *
+ * <p>Services append through {@link #appendAfterCommit}, so an event is only journaled once the
+ * surrounding database transaction has committed. Once written, an event is part of the ledger:
+ * the caller waits for it to become durable however long that takes, rather than reporting a
+ * failure for a change that will still be applied.
+ *
+ * <p>That pending state is local to the node, so the journal requires account affinity: every
+ * account is then written by the one node that owns it.
+ */
+@Slf4j
+@Component
+public class LedgerJournal {
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "journal.checkpoint";
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int CHECKPOINT_INTERVAL = 100;
+
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
+    private final LedgerJournalApplier ledgerJournalApplier;
+    private final AccountAffinityProperties affinityProperties;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final long flushLingerNanos;
+    private final long ackTimeoutNanos;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Condition written = writeLock.newCondition();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    private final ReentrantLock applyLock = new ReentrantLock();
+    private final Condition applied = applyLock.newCondition();
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final BlockingQueue<LedgerEvent> applyQueue = new LinkedBlockingQueue<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<Long, Long>> pendingDeltas =
+        new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LedgerEvent> pendingTransactions =
+        new ConcurrentHashMap<>();
+
+    private Segment active;
+    private long lastSeq;
+    private volatile long flushedSeq;
+    private volatile long appliedSeq;
+    private long checkpointedSeq;
+    private volatile boolean running;
+    private Thread flusher;
+    private Thread applier;
+
+    public LedgerJournal(
+        LedgerJournalApplier ledgerJournalApplier,
+        AccountAffinityProperties affinityProperties,
+        @Value("${account.journal.enabled}") boolean enabled,
+        @Value("${account.journal.dir}") String directory,
+        @Value("${account.journal.segment-bytes}") int segmentBytes,
+        @Value("${account.journal.flush-linger-micros}") long flushLingerMicros,
+        @Value("${account.journal.ack-timeout-ms}") long ackTimeoutMillis
+    ) {
+        this.ledgerJournalApplier = ledgerJournalApplier;
+        this.affinityProperties = affinityProperties;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.flushLingerNanos = TimeUnit.MICROSECONDS.toNanos(flushLingerMicros);
+        this.ackTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(ackTimeoutMillis);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (!affinityProperties.isEnabled()) {
+            throw new IllegalStateException(
+                "account.journal.enabled requires account.affinity.enabled");
+        }
+        Files.createDirectories(directory);
+        recover();
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "ledger-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        applier = new Thread(this::applyLoop, "ledger-journal-applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        applier.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        applier.join(TimeUnit.SECONDS.toMillis(5));
+
+        long target;
+        writeLock.lock();
+        try {
+            if (active != null) {
+                active.buffer.force();
+            }
+            target = lastSeq;
+        } finally {
+            writeLock.unlock();
+        }
+        flushLock.lock();
+        try {
+            flushedSeq = target;
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends the event once the current transaction commits, or at once outside a transaction.
+     * Call it while holding the account lock, which must still be held after the commit.
+     */
+    public void appendAfterCommit(LedgerEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(event);
+                }
+            });
+    }
+
+    public LedgerEvent append(LedgerEvent event) {
+        writeLock.lock();
+        try {
+            event.setSeq(lastSeq + 1);
+            writeRecord(encode(event), event.getSeq());
+            lastSeq = event.getSeq();
+            addPending(event);
+            applyQueue.add(event);
+            written.signal();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append ledger journal", e);
+        } finally {
+            writeLock.unlock();
+        }
+
+        boolean interrupted = false;
+        while (!awaitDurable(event.getSeq(), ackTimeoutNanos)) {
+            if (Thread.interrupted()) {
+                interrupted = true;
+            } else {
+                log.warn("Ledger event seq {} is not durable yet, still waiting", event.getSeq());
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return event;
+    }
+
+    public SortedMap<Long, Long> getPendingDeltas(String accountNumber) {
+        ConcurrentSkipListMap<Long, Long> deltas = pendingDeltas.get(accountNumber);
+        return deltas == null ? Collections.emptySortedMap() : new TreeMap<>(deltas);
+    }
+
+    public Map<String, SortedMap<Long, Long>> getPendingDeltas() {
+        Map<String, SortedMap<Long, Long>> snapshot = new HashMap<>();
+        pendingDeltas.forEach((accountNumber, deltas) ->
+            snapshot.put(accountNumber, new TreeMap<>(deltas)));
+        return snapshot;
+    }
+
+    /**
+     * Adds the deltas journaled after the given applied sequence. Take the pending deltas before
+     * reading the balance, so an event applied in between is counted exactly once.
+     */
+    public static long journaledBalance(long balance, long journalSeq,
+        SortedMap<Long, Long> pendingDeltas) {
+        if (pendingDeltas == null || pendingDeltas.isEmpty()) {
+            return balance;
+        }
+        return balance + pendingDeltas.tailMap(journalSeq + 1).values().stream()
+            .mapToLong(Long::longValue).sum();
+    }
+
+    public Optional<LedgerEvent> findPending(String transactionId) {
+        return Optional.ofNullable(pendingTransactions.get(transactionId));
+    }
+
+    public Set<String> getPendingTransactionIds() {
+        return Collections.unmodifiableSet(pendingTransactions.keySet());
+    }
+
+    public void awaitApplied(String transactionId) {
+        long deadline = System.nanoTime() + ackTimeoutNanos;
+        applyLock.lock();
+        try {
+            while (pendingTransactions.containsKey(transactionId)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new AccountException(ErrorCode.JOURNAL_WRITE_TIMEOUT);
+                }
+                applied.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.JOURNAL_WRITE_TIMEOUT);
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    private void recover() throws IOException {
+        checkpointedSeq = readCheckpoint();
+        appliedSeq = checkpointedSeq;
+        lastSeq = checkpointedSeq;
+
+        List<Path> files = listSegments();
+        long expectedSeq = -1;
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            boolean last = i == files.size() - 1;
+            MappedByteBuffer buffer = map(file);
+
+            while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int crc = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    buffer.position(start);
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                LedgerEvent event = checksum(payload) == crc ? decode(payload) : null;
+                if (event == null || (expectedSeq != -1 && event.getSeq() != expectedSeq)) {
+                    buffer.position(start);
+                    break;
+                }
+                expectedSeq = event.getSeq() + 1;
+                lastSeq = Math.max(lastSeq, event.getSeq());
+                if (event.getSeq() > checkpointedSeq) {
+                    addPending(event);
+                    applyQueue.add(event);
+                }
+            }
+
+            Segment segment = new Segment(file, segmentFirstSeq(file), last ? buffer : null);
+            segments.add(segment);
+            if (last) {
+                zeroTail(buffer);
+                active = segment;
+            }
+        }
+
+        flushedSeq = lastSeq;
+        log.info("Ledger journal recovered up to seq {}, {} events to replay",
+            lastSeq, applyQueue.size());
+    }
+
+    private void writeRecord(byte[] payload, long seq) throws IOException {
+        int recordBytes = RECORD_HEADER_BYTES + payload.length;
+        if (active == null || active.buffer.remaining() < recordBytes + RECORD_HEADER_BYTES) {
+            rotate(seq);
+        }
+        active.buffer.putInt(payload.length);
+        active.buffer.putInt(checksum(payload));
+        active.buffer.put(payload);
+    }
+
+    private void rotate(long firstSeq) throws IOException {
+        if (active != null) {
+            active.buffer.force();
+            active.buffer = null;
+        }
+        Path file = directory.resolve(
+            String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+        active = new Segment(file, firstSeq, map(file));
+        segments.add(active);
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), segmentBytes);
+            return channel.map(MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                long target;
+                MappedByteBuffer buffer;
+                writeLock.lock();
+                try {
+                    while (lastSeq == flushedSeq) {
+                        written.await();
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+
+                if (flushLingerNanos > 0) {
+                    LockSupport.parkNanos(flushLingerNanos);
+                }
+
+                writeLock.lock();
+                try {
+                    target = lastSeq;
+                    buffer = active.buffer;
+                } finally {
+                    writeLock.unlock();
+                }
+                buffer.force();
+
+                flushLock.lock();
+                try {
+                    flushedSeq = target;
+                    flushed.signalAll();
+                } finally {
+                    flushLock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ledger journal flush failed", e);
+            }
+        }
+    }
+
+    private boolean awaitDurable(long seq, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        flushLock.lock();
+        try {
+            while (flushedSeq < seq) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                flushed.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void applyLoop() {
+        int sinceCheckpoint = 0;
+        while (running) {
+            try {
+                LedgerEvent event = applyQueue.poll(1, TimeUnit.SECONDS);
+                if (event == null) {
+                    if (sinceCheckpoint > 0) {
+                        checkpoint();
+                        sinceCheckpoint = 0;
+                    }
+                    continue;
+                }
+                while (!awaitDurable(event.getSeq(), TimeUnit.SECONDS.toNanos(1))) {
+                    if (!running) {
+                        return;
+                    }
+                }
+                applyWithRetry(event);
+                removePending(event);
+                appliedSeq = event.getSeq();
+
+                if (++sinceCheckpoint >= CHECKPOINT_INTERVAL) {
+                    checkpoint();
+                    sinceCheckpoint = 0;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void applyWithRetry(LedgerEvent event) throws InterruptedException {
+        long backoffMillis = 10;
+        while (true) {
+            try {
+                ledgerJournalApplier.apply(event);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to apply ledger event seq {}, retrying", event.getSeq(), e);
+                TimeUnit.MILLISECONDS.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, 5_000);
+            }
+        }
+    }
+
+    private void addPending(LedgerEvent event) {
+        pendingDeltas.computeIfAbsent(event.getAccountNumber(),
+                accountNumber -> new ConcurrentSkipListMap<>())
+            .put(event.getSeq(), event.getDelta());
+        pendingTransactions.put(event.getTransactionId(), event);
+    }
+
+    private void removePending(LedgerEvent event) {
+        pendingDeltas.computeIfPresent(event.getAccountNumber(), (accountNumber, deltas) -> {
+            deltas.remove(event.getSeq());
+            return deltas.isEmpty() ? null : deltas;
+        });
+
+        applyLock.lock();
+        try {
+            pendingTransactions.remove(event.getTransactionId());
+            applied.signalAll();
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    private void checkpoint() {
+        long seq = appliedSeq;
+        try {
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.write(temp, ByteBuffer.allocate(Long.BYTES).putLong(seq).array());
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointedSeq = seq;
+        } catch (IOException e) {
+            log.error("Failed to write ledger journal checkpoint", e);
+            return;
+        }
+        deleteAppliedSegments();
+    }
+
+    private void deleteAppliedSegments() {
+        writeLock.lock();
+        try {
+            while (segments.size() > 1 && segments.get(1).firstSeq - 1 <= checkpointedSeq) {
+                Segment applied = segments.remove(0);
+                Files.deleteIfExists(applied.file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete applied journal segment", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(file)).getLong();
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static long segmentFirstSeq(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(
+            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void zeroTail(MappedByteBuffer buffer) {
+        ByteBuffer tail = buffer.duplicate();
+        while (tail.remaining() >= Long.BYTES) {
+            tail.putLong(0L);
+        }
+        while (tail.hasRemaining()) {
+            tail.put((byte) 0);
+        }
+        buffer.force();
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(LedgerEvent event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(event.getSeq());
+        out.writeByte(event.getTransactionType().ordinal());
+        out.writeUTF(event.getAccountNumber());
+        out.writeLong(event.getAmount());
+        out.writeLong(event.getBalanceSnapshot());
+        out.writeUTF(event.getTransactionId());
+        out.writeLong(event.getTransactedAt().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(event.getTransactedAt().getNano());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static LedgerEvent decode(byte[] payload) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            return LedgerEvent.builder()
+                .seq(in.readLong())
+                .transactionType(TRANSACTION_TYPES[in.readByte()])
+                .accountNumber(in.readUTF())
+                .amount(in.readLong())
+                .balanceSnapshot(in.readLong())
+                .transactionId(in.readUTF())
+                .transactedAt(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(),
+                    ZoneOffset.UTC))
+                .build();
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static class Segment {
+        private final Path file;
+        private final long firstSeq;
+        private MappedByteBuffer buffer;
+
+        private Segment(Path file, long firstSeq, MappedByteBuffer buffer) {
+            this.file = file;
+            this.firstSeq = firstSeq;
+            this.buffer = buffer;
+        }
+    }
+}
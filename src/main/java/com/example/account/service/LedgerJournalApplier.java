@@ -0,0 +1,49 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.LedgerEvent;
+import com.example.account.domain.OutboxEvent;
+import com.example.account.domain.Transaction;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.OutboxEventRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class LedgerJournalApplier {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Transactional
+    public void apply(LedgerEvent event) {
+        if (transactionRepository.findByTransactionId(event.getTransactionId()).isPresent()) {
+            return;
+        }
+        Account account = accountRepository.findByAccountNumber(event.getAccountNumber())
+            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        account.setBalance(account.getBalance() + event.getDelta());
+        account.setJournalSeq(event.getSeq());
+
+        Transaction transaction = transactionRepository.save(
+            Transaction.builder()
+                .transactionType(event.getTransactionType())
+                .transactionResultType(TransactionResultType.S)
+                .account(account)
+                .amount(event.getAmount())
+                .balanceSnapshot(event.getBalanceSnapshot())
+                .transactionId(event.getTransactionId())
+                .transactedAt(event.getTransactedAt())
+                .build()
+        );
+        outboxEventRepository.save(OutboxEvent.fromTransaction(transaction));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.account.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local FIFO tier in front of the Redis account lock, used in fair mode.
+ *
+ * <p>Threads on this node queue for an account on a fair {@link ReentrantLock}, so only the head
+ * of each queue competes for the Redis lock and, on release, the lock is handed to the longest
+ * waiter instead of whichever thread polls first. Queues are dropped once nobody holds or waits
+ * on them.
+ */
+@Component
+public class LocalLockQueue {
+
+    private final boolean enabled;
+    private final Map<String, Queue> queues = new ConcurrentHashMap<>();
+
+    public LocalLockQueue(@Value("${account.lock.fair}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean tryEnter(String accountNumber, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        Queue queue = queues.compute(accountNumber, (key, current) -> {
+            Queue target = current != null ? current : new Queue();
+            target.users++;
+            return target;
+        });
+        boolean entered = false;
+        try {
+            entered = queue.lock.tryLock(timeout, unit);
+            return entered;
+        } finally {
+            if (!entered) {
+                leave(accountNumber);
+            }
+        }
+    }
+
+    public void exit(String accountNumber) {
+        Queue queue = queues.get(accountNumber);
+        if (queue == null || !queue.lock.isHeldByCurrentThread()) {
+            return;
+        }
+        queue.lock.unlock();
+        leave(accountNumber);
+    }
+
+    private void leave(String accountNumber) {
+        queues.computeIfPresent(accountNumber,
+            (key, queue) -> --queue.users == 0 ? null : queue);
+    }
+
+    private static class Queue {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int users;
+    }
+}
@@ -8,23 +8,50 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.stereotype.Component;
 
+/**
+ * Holds the fenced Redis account lock around every account-locked operation, including those on
+ * accounts this node exclusively owns: a partition lease can still overlap another node's during
+ * a network partition, and the fencing token is what rejects the stale writer. Owned accounts
+ * then run on their mailbox, carrying the token over to the mailbox worker.
+ */
 @Aspect
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
     private final LockService lockService;
+    private final AccountShardService accountShardService;
+    private final AccountOwnership accountOwnership;
+    private final LockFencing lockFencing;
+    private final AccountMailboxExecutor accountMailboxExecutor;
 
     @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
     public Object aroundMethod(
         ProceedingJoinPoint pjp,
         AccountLockIdInterface request
     ) throws Throwable {
-        lockService.lock(request.getAccountNumber());
-        try {
+        if (accountShardService.isSharded(request.getAccountNumber())) {
             return pjp.proceed();
+        }
+        String accountNumber = request.getAccountNumber();
+        boolean mailbox = accountMailboxExecutor.isEnabled()
+            && accountOwnership.exclusiveEpoch(accountNumber) != 0;
+        lockService.lock(accountNumber);
+        try {
+            if (!mailbox) {
+                return pjp.proceed();
+            }
+            long token = lockFencing.current(accountNumber);
+            return accountMailboxExecutor.call(accountNumber, () -> {
+                lockFencing.hold(accountNumber, token);
+                try {
+                    return pjp.proceed();
+                } finally {
+                    lockFencing.release(accountNumber);
+                }
+            });
         } finally {
-            lockService.unlock(request.getAccountNumber());
+            lockService.unlock(accountNumber);
         }
     }
 }
@@ -0,0 +1,86 @@
+package com.example.account.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out a fencing token, increasing per account, every time the Redis account lock is taken
+ * and keeps it for the holding thread. Writers advance the account row's token to theirs, so a
+ * holder whose lease expired under it can no longer write once a later holder has.
+ */
+@Component
+public class LockFencing {
+
+    private static final String TOKEN_KEY_PREFIX = "ACLKF:";
+
+    private final RedissonClient redissonClient;
+    private final boolean enabled;
+    private final ThreadLocal<Map<String, Long>> heldTokens = new ThreadLocal<>();
+
+    public LockFencing(
+        RedissonClient redissonClient,
+        @Value("${account.lock.fencing}") boolean enabled
+    ) {
+        this.redissonClient = redissonClient;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long acquire(String accountNumber) {
+        if (!enabled) {
+            return 0;
+        }
+        long token = redissonClient.getAtomicLong(getTokenKey(accountNumber)).incrementAndGet();
+        hold(accountNumber, token);
+        return token;
+    }
+
+    public void hold(String accountNumber, long token) {
+        Map<String, Long> tokens = heldTokens.get();
+        if (tokens == null) {
+            tokens = new HashMap<>();
+            heldTokens.set(tokens);
+        }
+        tokens.put(accountNumber, token);
+    }
+
+    public void release(String accountNumber) {
+        Map<String, Long> tokens = heldTokens.get();
+        if (tokens == null) {
+            return;
+        }
+        tokens.remove(accountNumber);
+        if (tokens.isEmpty()) {
+            heldTokens.remove();
+        }
+    }
+
+    public long current(String accountNumber) {
+        Map<String, Long> tokens = heldTokens.get();
+        Long token = tokens != null ? tokens.get(accountNumber) : null;
+        return token != null ? token : 0;
+    }
+
+    /**
+     * Moves the account's token counter past {@code written}, the token already on the row, in
+     * case Redis lost the counter and restarted it below what the database has seen.
+     */
+    public void advancePast(String accountNumber, long written) {
+        RAtomicLong counter = redissonClient.getAtomicLong(getTokenKey(accountNumber));
+        long current = counter.get();
+        while (current < written && !counter.compareAndSet(current, written)) {
+            current = counter.get();
+        }
+    }
+
+    static String getTokenKey(String accountNumber) {
+        return TOKEN_KEY_PREFIX + accountNumber;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.account.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LockMetrics {
+
+    private final Map<String, Integer> waitingByAccount = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final DistributionSummary queueDepth;
+    private final Timer acquired;
+    private final Timer failed;
+
+    public LockMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("account.lock.waiting", waiting, AtomicInteger::get)
+            .description("Requests on this node waiting for an account lock")
+            .register(meterRegistry);
+        this.queueDepth = DistributionSummary.builder("account.lock.queue.depth")
+            .description("Waiters for the same account, including the new one, on arrival")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        this.acquired = waitTimer(meterRegistry, "acquired");
+        this.failed = waitTimer(meterRegistry, "failed");
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("account.lock.wait")
+            .description("Time spent waiting for an account lock")
+            .tag("result", result)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+
+    public long startWaiting(String accountNumber) {
+        waiting.incrementAndGet();
+        queueDepth.record(waitingByAccount.merge(accountNumber, 1, Integer::sum));
+        return System.nanoTime();
+    }
+
+    public void stopWaiting(String accountNumber, long startedAt, boolean isAcquired) {
+        waiting.decrementAndGet();
+        waitingByAccount.computeIfPresent(accountNumber,
+            (key, depth) -> depth == 1 ? null : depth - 1);
+        (isAcquired ? acquired : failed)
+            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+}
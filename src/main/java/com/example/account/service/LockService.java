@@ -14,31 +14,67 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class LockService {
 
+    private static final long LOCK_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long WATCHDOG_LEASE = -1;
+
     private final RedissonClient redissonClient;
+    private final LocalLockQueue localLockQueue;
+    private final LockMetrics lockMetrics;
+    private final LockFencing lockFencing;
 
     public void lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
+        boolean fair = localLockQueue.isEnabled();
+        RLock lock = getLock(accountNumber, fair);
         log.debug("Trying lock for accountNumber : {}", accountNumber);
 
+        long startedAt = lockMetrics.startWaiting(accountNumber);
+        boolean isLock = false;
         try {
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
+            long deadline = System.nanoTime() + LOCK_WAIT_NANOS;
+            boolean entered = !fair
+                || localLockQueue.tryEnter(accountNumber, LOCK_WAIT_NANOS, TimeUnit.NANOSECONDS);
+            if (entered) {
+                isLock = lock.tryLock(Math.max(deadline - System.nanoTime(), 0),
+                    WATCHDOG_LEASE, TimeUnit.NANOSECONDS);
+                if (!isLock && fair) {
+                    localLockQueue.exit(accountNumber);
+                }
+            }
             if (!isLock) {
                 log.error("===============Lock acquisition failed=============");
                 throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
             }
+            lockFencing.acquire(accountNumber);
         } catch (AccountException e) {
             throw e;
         } catch (Exception e) {
             log.error("Redis lock failed", e);
+        } finally {
+            lockMetrics.stopWaiting(accountNumber, startedAt, isLock);
         }
     }
 
     public void unlock(String accountNumber) {
         log.debug("Unlock for accountNumber: {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        boolean fair = localLockQueue.isEnabled();
+        lockFencing.release(accountNumber);
+        try {
+            getLock(accountNumber, fair).unlock();
+        } catch (IllegalMonitorStateException e) {
+            log.warn("Lock for accountNumber {} expired before unlock", accountNumber);
+        } finally {
+            if (fair) {
+                localLockQueue.exit(accountNumber);
+            }
+        }
+    }
+
+    private RLock getLock(String accountNumber, boolean fair) {
+        return fair ? redissonClient.getFairLock(getLockKey(accountNumber))
+            : redissonClient.getLock(getLockKey(accountNumber));
     }
 
-    private static String getLockKey(String accountNumber) {
+    static String getLockKey(String accountNumber) {
         return "ACLKL:" + accountNumber;
     }
 }
@@ -0,0 +1,36 @@
+package com.example.account.service;
+
+import com.example.account.dto.OutboxEventDto;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "account.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class MemoryOutboxEventSink implements OutboxEventSink {
+
+    private final int capacity;
+    private final Deque<OutboxEventDto> events = new ArrayDeque<>();
+
+    public MemoryOutboxEventSink(@Value("${account.outbox.memory.capacity}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEventDto> published) {
+        for (OutboxEventDto event : published) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<OutboxEventDto> getEvents() {
+        return new ArrayList<>(events);
+    }
+}
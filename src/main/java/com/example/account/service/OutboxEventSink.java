@@ -0,0 +1,8 @@
+package com.example.account.service;
+
+import com.example.account.dto.OutboxEventDto;
+import java.util.List;
+
+public interface OutboxEventSink {
+    void publish(List<OutboxEventDto> events);
+}
@@ -0,0 +1,146 @@
+package com.example.account.service;
+
+import com.example.account.dto.OutboxEventDto;
+import com.example.account.repository.OutboxEventRepository;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams published outbox events to SSE subscribers in offset order.
+ *
+ * <p>Every subscriber remembers the last offset it has been sent, so a reconnect with
+ * {@code Last-Event-ID} resumes exactly where the previous connection stopped. Events are read
+ * from the outbox table, which lets any node serve the stream regardless of where the relay runs.
+ * Polling runs on its own thread, so a slow subscriber never delays the application's scheduled
+ * tasks.
+ */
+@Slf4j
+@Lazy
+@Service
+public class OutboxEventStream {
+
+    private static final String EVENT_NAME = "transaction";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final long timeoutMillis;
+    private final long pollMillis;
+    private final int batchSize;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService poller;
+
+    public OutboxEventStream(
+        OutboxEventRepository outboxEventRepository,
+        @Value("${account.outbox.stream-timeout-ms}") long timeoutMillis,
+        @Value("${account.outbox.stream-poll-ms}") long pollMillis,
+        @Value("${account.outbox.batch-size}") int batchSize
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.timeoutMillis = timeoutMillis;
+        this.pollMillis = pollMillis;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-event-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (RuntimeException e) {
+                log.error("Outbox event stream poll failed, will retry", e);
+            }
+        }, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long lastOffset) {
+        long offset = lastOffset != null ? lastOffset : outboxEventRepository.findMaxPublishSeq();
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, offset);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public void poll() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long from = subscribers.stream().mapToLong(s -> s.lastOffset).min().getAsLong();
+
+        List<OutboxEventDto> events;
+        do {
+            events = outboxEventRepository
+                .findByPublishSeqGreaterThanOrderByPublishSeqAsc(from, PageRequest.of(0, batchSize))
+                .stream()
+                .map(OutboxEventDto::fromEntity)
+                .collect(Collectors.toList());
+            if (events.isEmpty()) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.send(events);
+            }
+            from = events.get(events.size() - 1).getOffset();
+        } while (events.size() == batchSize);
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private long lastOffset;
+
+        private Subscriber(SseEmitter emitter, long lastOffset) {
+            this.emitter = emitter;
+            this.lastOffset = lastOffset;
+        }
+
+        private void send(List<OutboxEventDto> events) {
+            try {
+                for (OutboxEventDto event : events) {
+                    if (event.getOffset() <= lastOffset) {
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getOffset()))
+                        .name(EVENT_NAME)
+                        .data(event));
+                    lastOffset = event.getOffset();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping event stream subscriber at offset {}", lastOffset, e);
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
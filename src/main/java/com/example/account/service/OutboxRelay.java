@@ -0,0 +1,68 @@
+package com.example.account.service;
+
+import com.example.account.domain.OutboxEvent;
+import com.example.account.dto.OutboxEventDto;
+import com.example.account.repository.OutboxEventRepository;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventSink outboxEventSink;
+    private final int batchSize;
+
+    public OutboxRelay(
+        OutboxEventRepository outboxEventRepository,
+        OutboxEventSink outboxEventSink,
+        @Value("${account.outbox.batch-size}") int batchSize
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxEventSink = outboxEventSink;
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Transactional
+    public List<OutboxEventDto> relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository
+            .findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        long publishSeq = outboxEventRepository.findMaxPublishSeq();
+        LocalDateTime publishedAt = LocalDateTime.now();
+        for (OutboxEvent event : events) {
+            event.setPublishSeq(++publishSeq);
+            event.setPublishedAt(publishedAt);
+        }
+
+        List<OutboxEventDto> published = events.stream()
+            .map(OutboxEventDto::fromEntity)
+            .collect(Collectors.toList());
+        outboxEventSink.publish(published);
+
+        return published;
+    }
+
+    /**
+     * Deletes events published before the cutoff, always keeping the one with the highest
+     * offset so that the next batch continues the sequence instead of restarting it.
+     */
+    @Transactional
+    public int purgePublished(LocalDateTime cutoff) {
+        return outboxEventRepository.deletePublishedBefore(cutoff,
+            outboxEventRepository.findMaxPublishSeq());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.account.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.outbox.enabled", havingValue = "true")
+public class OutboxRelayScheduler {
+
+    private static final String RELAY_LOCK_KEY = "OUTBOX_RELAY";
+
+    private final OutboxRelay outboxRelay;
+    private final RedissonClient redissonClient;
+    private final long retentionHours;
+
+    public OutboxRelayScheduler(
+        OutboxRelay outboxRelay,
+        RedissonClient redissonClient,
+        @Value("${account.outbox.retention-hours}") long retentionHours
+    ) {
+        this.outboxRelay = outboxRelay;
+        this.redissonClient = redissonClient;
+        this.retentionHours = retentionHours;
+    }
+
+    @Scheduled(fixedDelayString = "${account.outbox.relay-interval-ms}")
+    public void relay() {
+        RLock lock = redissonClient.getLock(RELAY_LOCK_KEY);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            List<?> published;
+            do {
+                published = outboxRelay.relayBatch();
+            } while (published.size() == outboxRelay.getBatchSize());
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed, will retry", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${account.outbox.purge-cron}")
+    public void purgePublished() {
+        int purged = outboxRelay.purgePublished(LocalDateTime.now().minusHours(retentionHours));
+        log.info("Outbox purge finished. {} published events removed", purged);
+    }
+}
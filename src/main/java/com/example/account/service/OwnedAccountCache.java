@@ -0,0 +1,158 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Committed copy of the accounts whose partition this node exclusively owns.
+ *
+ * <p>Writers still hold the Redis account lock. Committed account state is kept per ownership
+ * epoch, and the next writer gets a fresh copy re-attached to its session without a select; a
+ * snapshot from an earlier epoch is never served, and a copy that another owner has since
+ * written fails the version check on update.
+ */
+@Component
+public class OwnedAccountCache {
+
+    private final AccountOwnership accountOwnership;
+    private final LedgerJournal ledgerJournal;
+    private final int maxSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public OwnedAccountCache(
+        AccountOwnership accountOwnership,
+        LedgerJournal ledgerJournal,
+        @Value("${account.affinity.cache-size}") int maxSize
+    ) {
+        this.accountOwnership = accountOwnership;
+        this.ledgerJournal = ledgerJournal;
+        this.maxSize = maxSize;
+    }
+
+    public Optional<Account> attach(String accountNumber) {
+        long epoch = currentEpoch(accountNumber);
+        Snapshot snapshot = snapshots.get(accountNumber);
+        if (epoch == 0 || snapshot == null || snapshot.epoch != epoch) {
+            return Optional.empty();
+        }
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel()
+            .entityPersister(Account.class);
+        Object managed = session.getPersistenceContextInternal()
+            .getEntity(session.generateEntityKey(snapshot.account.getId(), persister));
+        if (managed != null) {
+            return Optional.of((Account) managed);
+        }
+
+        Account account = copyOf(snapshot.account);
+        session.buildLockRequest(LockOptions.NONE).lock(account);
+        track(account);
+        return Optional.of(account);
+    }
+
+    public void track(Account account) {
+        long epoch = currentEpoch(account.getAccountNumber());
+        if (epoch == 0 || account.getShardCount() > 0
+            || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        trackedAccounts().putIfAbsent(account.getAccountNumber(), new Snapshot(epoch, account));
+    }
+
+    public void evict(String accountNumber) {
+        snapshots.remove(accountNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        snapshots.remove(accountNumber);
+                    }
+                });
+        }
+    }
+
+    private long currentEpoch(String accountNumber) {
+        return ledgerJournal.isEnabled() ? 0 : accountOwnership.exclusiveEpoch(accountNumber);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Snapshot> trackedAccounts() {
+        Map<String, Snapshot> tracked =
+            (Map<String, Snapshot>) TransactionSynchronizationManager.getResource(this);
+        if (tracked == null) {
+            Map<String, Snapshot> accounts = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, accounts);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        accounts.values().forEach(OwnedAccountCache.this::store);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(
+                            OwnedAccountCache.this);
+                    }
+                });
+            tracked = accounts;
+        }
+        return tracked;
+    }
+
+    private void store(Snapshot committed) {
+        String accountNumber = committed.account.getAccountNumber();
+        if (committed.account.getShardCount() > 0
+            || snapshots.size() >= maxSize && !snapshots.containsKey(accountNumber)) {
+            snapshots.remove(accountNumber);
+            return;
+        }
+        snapshots.put(accountNumber, new Snapshot(committed.epoch, copyOf(committed.account)));
+    }
+
+    private static Account copyOf(Account account) {
+        return Account.builder()
+            .id(account.getId())
+            .accountUser(account.getAccountUser())
+            .accountStatus(account.getAccountStatus())
+            .accountNumber(account.getAccountNumber())
+            .balance(account.getBalance())
+            .journalSeq(account.getJournalSeq())
+            .shardCount(account.getShardCount())
+            .fencingToken(account.getFencingToken())
+            .version(account.getVersion())
+            .registeredAt(account.getRegisteredAt())
+            .unRegisteredAt(account.getUnRegisteredAt())
+            .createdAt(account.getCreatedAt())
+            .updatedAt(account.getUpdatedAt())
+            .build();
+    }
+
+    private static class Snapshot {
+        private final long epoch;
+        private final Account account;
+
+        private Snapshot(long epoch, Account account) {
+            this.epoch = epoch;
+            this.account = account;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.account.service;
+
+import com.example.account.dto.OutboxEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.redisson.api.RBatch;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "account.outbox.sink", havingValue = "redis")
+public class RedisStreamOutboxEventSink implements OutboxEventSink {
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final String streamName;
+    private final int maxLength;
+
+    public RedisStreamOutboxEventSink(
+        RedissonClient redissonClient,
+        ObjectMapper objectMapper,
+        @Value("${account.outbox.redis.stream}") String streamName,
+        @Value("${account.outbox.redis.max-length}") int maxLength
+    ) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.streamName = streamName;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public void publish(List<OutboxEventDto> events) {
+        RBatch batch = redissonClient.createBatch();
+        RStreamAsync<String, String> stream = batch.getStream(streamName, StringCodec.INSTANCE);
+        for (OutboxEventDto event : events) {
+            stream.addAsync(StreamAddArgs.<String, String>entries(
+                    "offset", String.valueOf(event.getOffset()),
+                    "event", toJson(event))
+                .trimNonStrict().maxLen(maxLength).noLimit());
+        }
+        batch.execute();
+    }
+
+    private String toJson(OutboxEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event " + event.getOffset(), e);
+        }
+    }
+}
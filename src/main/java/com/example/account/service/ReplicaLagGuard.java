@@ -0,0 +1,98 @@
+package com.example.account.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers recently committed writes so reads that follow them can be pinned to the primary
+ * until the replica has had time to catch up.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long lagWindowNanos;
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+
+    public ReplicaLagGuard(
+        @Value("${account.datasource.replica.lag-window-ms}") long lagWindowMillis) {
+        this.lagWindowNanos = TimeUnit.MILLISECONDS.toNanos(lagWindowMillis);
+    }
+
+    public static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    public static String accountKey(String accountNumber) {
+        return "account:" + accountNumber;
+    }
+
+    public static String transactionKey(String transactionId) {
+        return "transaction:" + transactionId;
+    }
+
+    public static boolean isPrimaryPinned() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    public void recordWrite(String... keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        markWritten(keys);
+                    }
+                });
+        } else {
+            markWritten(keys);
+        }
+    }
+
+    public void routeReads(String... keys) {
+        long now = System.nanoTime();
+        for (String key : keys) {
+            Long until = recentWrites.get(key);
+            if (until != null && until - now > 0) {
+                pinToPrimary();
+                return;
+            }
+        }
+    }
+
+    private void pinToPrimary() {
+        if (isPrimaryPinned()) {
+            return;
+        }
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        PRIMARY_PINNED.remove();
+                    }
+                });
+        } else {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    private void markWritten(String[] keys) {
+        long until = System.nanoTime() + lagWindowNanos;
+        for (String key : keys) {
+            recentWrites.put(key, until);
+        }
+        if (recentWrites.size() > PURGE_THRESHOLD) {
+            long now = System.nanoTime();
+            recentWrites.values().removeIf(expiry -> expiry - now <= 0);
+        }
+    }
+}
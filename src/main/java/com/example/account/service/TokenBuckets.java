@@ -0,0 +1,91 @@
+package com.example.account.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per key, each stored as a single theoretical arrival time (GCRA) and advanced
+ * with a compare-and-set.
+ *
+ * <p>A bucket whose arrival time has passed is full again and carries no state, so idle buckets
+ * are dropped by the periodic {@link #sweep(long)}. While the map is full, a new key takes the
+ * place of an idle bucket found among a few sampled ones, and is rejected if there is none.
+ */
+class TokenBuckets {
+
+    private final long emissionNanos;
+    private final long toleranceNanos;
+    private final int maxBuckets;
+
+    private static final int EVICTION_SAMPLES = 16;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    TokenBuckets(double ratePerSecond, int burst, int maxBuckets) {
+        this.emissionNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.toleranceNanos = emissionNanos * Math.max(burst - 1, 0);
+        this.maxBuckets = maxBuckets;
+    }
+
+    boolean tryAcquire(String key, long now) {
+        AtomicLong arrival = buckets.get(key);
+        if (arrival == null) {
+            if (buckets.size() >= maxBuckets && !evictIdle(now)) {
+                return false;
+            }
+            arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = arrival.get();
+            long base = current - now > 0 ? current : now;
+            if (base - now > toleranceNanos) {
+                return false;
+            }
+            if (arrival.compareAndSet(current, base + emissionNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire(String, long)}, for a request that a later
+     * check rejected. A bucket dropped meanwhile was full anyway.
+     */
+    void refund(String key) {
+        AtomicLong arrival = buckets.get(key);
+        if (arrival != null) {
+            arrival.addAndGet(-emissionNanos);
+        }
+    }
+
+    private boolean evictIdle(long now) {
+        int sampled = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            if (entry.getValue().get() - now <= 0
+                && buckets.remove(entry.getKey(), entry.getValue())) {
+                return true;
+            }
+            if (++sampled == EVICTION_SAMPLES) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    int sweep(long now) {
+        int removed = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            if (entry.getValue().get() - now <= 0
+                && buckets.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.account.service;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.archive.enabled", havingValue = "true")
+public class TransactionArchiveScheduler {
+
+    @Lazy
+    private final TransactionArchiveService transactionArchiveService;
+
+    @Scheduled(cron = "${account.archive.cron}")
+    public void archiveOldTransactions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusYears(1);
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionArchiveService.archiveBatch(cutoff);
+            total += archived;
+        } while (archived > 0);
+
+        log.info("Transaction archiving finished. {} transactions moved", total);
+        transactionArchiveService.compactArchive();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.account.service;
+
+import com.example.account.domain.ArchivedTransaction;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.repository.TransactionRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Lazy
+@Service
+@RequiredArgsConstructor
+public class TransactionArchiveService {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
+
+    @Value("${account.archive.batch-size}")
+    private int batchSize;
+
+    /**
+     * Moves the oldest batch before {@code cutoff} to the archive. The archive is written before
+     * the delete commits, so a rolled back delete leaves rows in both stores; the retry only
+     * deletes the rows at or below the archived id that the archive already holds.
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff) {
+        List<Transaction> transactions = transactionRepository
+            .findByTransactedAtBeforeOrderByIdAsc(cutoff, PageRequest.of(0, batchSize));
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        long archivedUpToId = transactionArchiveRepository.getArchivedUpToId();
+        transactionArchiveRepository.append(transactions.stream()
+            .filter(transaction -> transaction.getId() > archivedUpToId
+                || !transactionArchiveRepository
+                .findByTransactionId(transaction.getTransactionId()).isPresent())
+            .map(ArchivedTransaction::fromEntity)
+            .collect(Collectors.toList()));
+
+        transactionRepository.deleteAllByIdInBatch(transactions.stream()
+            .map(Transaction::getId)
+            .collect(Collectors.toList()));
+
+        log.info("Archived {} transactions older than {}", transactions.size(), cutoff);
+        return transactions.size();
+    }
+
+    public int compactArchive() {
+        return transactionArchiveRepository.compact();
+    }
+}
@@ -7,11 +7,18 @@ import static com.example.account.type.TransactionType.USE;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.domain.ArchivedTransaction;
+import com.example.account.domain.LedgerEvent;
+import com.example.account.domain.OutboxEvent;
 import com.example.account.domain.Transaction;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceResult;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.OutboxEventRepository;
+import com.example.account.repository.TransactionArchiveRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
@@ -19,10 +26,20 @@ import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,38 +51,177 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    @Lazy
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final LedgerJournal ledgerJournal;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final AccountSummaryProjection accountSummaryProjection;
+    private final AccountShardService accountShardService;
+    private final OwnedAccountCache ownedAccountCache;
+    private final AccountUserCache accountUserCache;
+    private final AccountIndex accountIndex;
+    private final ExistenceFilters existenceFilters;
+    private final LockFencing lockFencing;
 
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        return doUseBalance(userId, accountNumber, amount);
+    }
+
+    @Transactional
+    public List<UseBalanceResult> useBalanceBatch(List<UseBalance.Request> requests) {
+        List<UseBalanceResult> results = new ArrayList<>(requests.size());
+        for (UseBalance.Request request : requests) {
+            try {
+                results.add(UseBalanceResult.success(doUseBalance(request.getUserId(),
+                    request.getAccountNumber(), request.getAmount())));
+            } catch (AccountException e) {
+                results.add(UseBalanceResult.failure(e));
+            }
+        }
+        return results;
+    }
+
+    private TransactionDto doUseBalance(Long userId, String accountNumber, Long amount) {
+        AccountUser user = findUser(userId);
+        Optional<AccountIndex.Entry> indexed = accountIndex.find(accountNumber);
+        if (indexed.isPresent()) {
+            validateUserAccount(userId, indexed.get().getUserId(),
+                indexed.get().getAccountStatus());
+        }
+        checkFencingToken(accountNumber);
+        SortedMap<Long, Long> pendingDeltas = ledgerJournal.getPendingDeltas(accountNumber);
+        Account account = findAccountForUpdate(accountNumber);
+
+        TransactionDto transaction;
+        if (account.getShardCount() > 0) {
+            validateUserAccount(user, account);
+            long balance = accountShardService.useBalance(account, amount);
+            transaction = TransactionDto.fromEntity(
+                saveAndGetTransaction(S, USE, account, amount, balance));
+        } else {
+            long balance = getJournaledBalance(account, pendingDeltas);
+            validateUserBalance(user, account, balance, amount);
+
+            if (ledgerJournal.isEnabled()) {
+                transaction = TransactionDto.fromLedgerEvent(
+                    appendLedgerEvent(USE, accountNumber, amount, balance - amount));
+            } else {
+                account.useBalance(amount);
+                transaction = TransactionDto.fromEntity(
+                    saveAndGetTransaction(S, USE, account, amount));
+            }
+        }
+        publishChange(account, transaction);
+
+        return transaction;
+    }
+
+    private void checkFencingToken(String accountNumber) {
+        long token = lockFencing.current(accountNumber);
+        if (token == 0 || ledgerJournal.isEnabled()
+            || accountRepository.advanceFencingToken(accountNumber, token) > 0) {
+            return;
+        }
+        long written = accountRepository.findFencingToken(accountNumber)
+            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        lockFencing.advancePast(accountNumber, written);
+        throw new AccountException(ErrorCode.ACCOUNT_LOCK_EXPIRED);
+    }
+
+    private AccountUser findUser(Long userId) {
+        Optional<AccountUser> cached = accountUserCache.attach(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         AccountUser user = accountUserRepository.findById(userId)
             .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        accountUserCache.track(user);
+        return user;
+    }
+
+    private Account findAccountForUpdate(String accountNumber) {
+        Optional<Account> owned = ownedAccountCache.attach(accountNumber);
+        if (owned.isPresent()) {
+            return owned.get();
+        }
         Account account = accountRepository.findByAccountNumber(accountNumber)
             .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-        validateUserBalance(user, account, amount);
+        ownedAccountCache.track(account);
+        return account;
+    }
 
-        account.useBalance(amount);
+    private AccountException accountNotFound() {
+        existenceFilters.recordAccountMiss();
+        return new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+    }
+
+    private void publishChange(Account account, TransactionDto transaction) {
+        accountSummaryProjection.balanceChanged(account, transaction);
+        replicaLagGuard.recordWrite(
+            ReplicaLagGuard.userKey(account.getAccountUser().getId()),
+            ReplicaLagGuard.accountKey(account.getAccountNumber()),
+            ReplicaLagGuard.transactionKey(transaction.getTransactionId()));
+    }
 
-        return TransactionDto.fromEntity(saveAndGetTransaction(S, USE, account, amount));
+    private long getJournaledBalance(Account account, SortedMap<Long, Long> pendingDeltas) {
+        return LedgerJournal.journaledBalance(account.getBalance(), account.getJournalSeq(),
+            pendingDeltas);
     }
 
-    private void validateUserBalance(AccountUser user, Account account, Long amount) {
-        if (!Objects.equals(user.getId(), account.getAccountUser().getId())) {
+    private LedgerEvent appendLedgerEvent(TransactionType transactionType, String accountNumber,
+        Long amount, long balanceSnapshot) {
+        LedgerEvent event = LedgerEvent.builder()
+            .transactionType(transactionType)
+            .accountNumber(accountNumber)
+            .amount(amount)
+            .balanceSnapshot(balanceSnapshot)
+            .transactionId(newTransactionId())
+            .transactedAt(LocalDateTime.now())
+            .build();
+        ledgerJournal.appendAfterCommit(event);
+        return event;
+    }
+
+    static void validateUserBalance(AccountUser user, Account account, long balance,
+        Long amount) {
+        validateUserAccount(user, account);
+
+        if (balance < amount) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+    }
+
+    static void validateUserAccount(AccountUser user, Account account) {
+        validateUserAccount(user.getId(), account.getAccountUser().getId(),
+            account.getAccountStatus());
+    }
+
+    static void validateUserAccount(Long userId, Long ownerId, AccountStatus accountStatus) {
+        if (!Objects.equals(userId, ownerId)) {
             throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
         }
 
-        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+        if (accountStatus != AccountStatus.IN_USE) {
             throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
         }
+    }
 
-        if (account.getBalance() < amount) {
-            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+    /**
+     * Evicts the cached copy that failed its version check, so the next attempt loads the
+     * current row, and returns the error to report for the failed request.
+     */
+    public AccountException staleEntity(ObjectOptimisticLockingFailureException e) {
+        if (e.getPersistentClass() != null && e.getIdentifier() != null) {
+            accountRepository.evictFromCache(e.getPersistentClass(), e.getIdentifier());
         }
+        return new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
     }
 
     @Transactional
     public void saveFailedUseTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        Account account = findAccount(accountNumber);
 
         saveAndGetTransaction(F, USE, account, amount);
     }
@@ -73,39 +229,80 @@ public class TransactionService {
     private Transaction saveAndGetTransaction(TransactionResultType transactionResultType,
         TransactionType transactionType, Account account,
         Long amount) {
-        return transactionRepository.save(
+        long balance = account.getShardCount() > 0
+            ? accountShardService.getBalance(account) : account.getBalance();
+        return saveAndGetTransaction(transactionResultType, transactionType, account, amount,
+            balance);
+    }
+
+    private Transaction saveAndGetTransaction(TransactionResultType transactionResultType,
+        TransactionType transactionType, Account account, Long amount, long balanceSnapshot) {
+        Transaction transaction = transactionRepository.save(
             Transaction.builder()
                 .transactionType(transactionType)
                 .transactionResultType(transactionResultType)
                 .account(account)
                 .amount(amount)
-                .balanceSnapshot(account.getBalance())
-                .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                .balanceSnapshot(balanceSnapshot)
+                .transactionId(newTransactionId())
                 .transactedAt(LocalDateTime.now())
                 .build()
         );
+        outboxEventRepository.save(OutboxEvent.fromTransaction(transaction));
+
+        return transaction;
+    }
+
+    private Account findAccount(String accountNumber) {
+        if (existenceFilters.isMissingAccount(accountNumber)) {
+            throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+        return accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(this::accountNotFound);
+    }
+
+    private String newTransactionId() {
+        String transactionId = UUID.randomUUID().toString().replace("-", "");
+        existenceFilters.transactionCreated(transactionId);
+        return transactionId;
     }
 
     @Transactional
     public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
+        ledgerJournal.awaitApplied(transactionId);
+        checkFencingToken(accountNumber);
+        SortedMap<Long, Long> pendingDeltas = ledgerJournal.getPendingDeltas(accountNumber);
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-            .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+            .orElseThrow(() -> findArchivedTransaction(transactionId)
+                .map(archived -> new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL))
+                .orElseGet(this::transactionNotFound));
+        Account account = findAccountForUpdate(accountNumber);
 
         validateCancelBalance(transaction, account, amount);
 
-        account.cancelBalance(amount);
-
-        return TransactionDto.fromEntity(saveAndGetTransaction(S, CANCEL, account, amount));
+        TransactionDto cancelled;
+        if (account.getShardCount() > 0) {
+            long balance = accountShardService.cancelBalance(account, amount);
+            cancelled = TransactionDto.fromEntity(
+                saveAndGetTransaction(S, CANCEL, account, amount, balance));
+        } else if (ledgerJournal.isEnabled()) {
+            cancelled = TransactionDto.fromLedgerEvent(appendLedgerEvent(CANCEL, accountNumber,
+                amount, getJournaledBalance(account, pendingDeltas) + amount));
+        } else {
+            account.cancelBalance(amount);
+            cancelled = TransactionDto.fromEntity(
+                saveAndGetTransaction(S, CANCEL, account, amount));
+        }
+        publishChange(account, cancelled);
 
+        return cancelled;
     }
 
-    private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
+    static void validateCancelBalance(Transaction transaction, Account account, Long amount) {
         if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
             throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
         }
-        if (!Objects.equals(transaction.getAmount(), amount)) {
+        if (transaction.getAmount() != amount) {
             throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
         }
         if (transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
@@ -115,20 +312,57 @@ public class TransactionService {
 
     @Transactional
     public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        Account account = findAccount(accountNumber);
 
         saveAndGetTransaction(F, CANCEL, account, amount);
     }
 
+    @Transactional(readOnly = true)
     public TransactionDto queryTransaction(String transactionId) {
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-            .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+        replicaLagGuard.routeReads(ReplicaLagGuard.transactionKey(transactionId));
+        return transactionRepository.findByTransactionId(transactionId)
+            .map(TransactionDto::fromEntity)
+            .or(() -> ledgerJournal.findPending(transactionId)
+                .map(TransactionDto::fromLedgerEvent))
+            .or(() -> findArchivedTransaction(transactionId)
+                .map(TransactionDto::fromArchive))
+            .orElseThrow(this::transactionNotFound);
+    }
 
-        return TransactionDto.fromEntity(
-            transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND))
-        );
+    /**
+     * Only ids missing from the primary table get here, so this is where the existence filter
+     * pays for its round trip: it spares the archive scan for ids that never existed.
+     */
+    private Optional<ArchivedTransaction> findArchivedTransaction(String transactionId) {
+        if (existenceFilters.isMissingTransaction(transactionId)) {
+            throw new AccountException(ErrorCode.TRANSACTION_NOT_FOUND);
+        }
+        return transactionArchiveRepository.findByTransactionId(transactionId);
     }
-}
 
+    private AccountException transactionNotFound() {
+        existenceFilters.recordTransactionMiss();
+        return new AccountException(ErrorCode.TRANSACTION_NOT_FOUND);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionDto> queryTransactions(String accountNumber,
+        LocalDateTime from, LocalDateTime to) {
+        replicaLagGuard.routeReads(ReplicaLagGuard.accountKey(accountNumber));
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        Map<String, TransactionDto> transactions = new LinkedHashMap<>();
+        transactionArchiveRepository.findByAccountNumber(accountNumber, from, to)
+            .forEach(archived -> transactions.put(archived.getTransactionId(),
+                TransactionDto.fromArchive(archived)));
+        transactionRepository
+            .findByAccountAndTransactedAtBetweenOrderByTransactedAtAsc(account, from, to)
+            .forEach(transaction -> transactions.put(transaction.getTransactionId(),
+                TransactionDto.fromEntity(transaction)));
+
+        return transactions.values().stream()
+            .sorted(Comparator.comparing(TransactionDto::getTransactedAt))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceResult;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent use-balance calls so that they share one database transaction.
+ *
+ * <p>A worker takes the first waiting request, lingers for more up to the configured batch size,
+ * applies them all in {@link TransactionService#useBalanceBatch} and then completes every
+ * caller individually. If the batch as a whole fails, its requests are retried one at a time so
+ * that one bad request does not fail the others.
+ *
+ * <p>Callers wait at most {@code timeout-ms} for a worker to take their request; a request still
+ * queued by then is withdrawn and fails with {@code TRANSACTION_TIMEOUT}. Once a worker has taken
+ * it, the caller waits for the batch to finish, so it reports what was actually committed and
+ * holds its account lock until then.
+ */
+@Slf4j
+@Component
+public class UseBalanceBatcher {
+
+    private final TransactionService transactionService;
+    private final LockFencing lockFencing;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final int workerCount;
+    private final long timeoutMillis;
+
+    private final BlockingQueue<PendingUse> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Timer latencyTimer;
+    private final Timer commitTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean running;
+
+    public UseBalanceBatcher(
+        TransactionService transactionService,
+        LockFencing lockFencing,
+        MeterRegistry meterRegistry,
+        @Value("${account.batch.enabled}") boolean enabled,
+        @Value("${account.batch.max-size}") int maxBatchSize,
+        @Value("${account.batch.linger-micros}") long lingerMicros,
+        @Value("${account.batch.workers}") int workerCount,
+        @Value("${account.batch.timeout-ms}") long timeoutMillis
+    ) {
+        this.transactionService = transactionService;
+        this.lockFencing = lockFencing;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+        this.workerCount = workerCount;
+        this.timeoutMillis = timeoutMillis;
+
+        this.latencyTimer = Timer.builder("account.batch.use.latency")
+            .description("Time a use-balance request waits for its batch to commit")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.commitTimer = Timer.builder("account.batch.commit")
+            .description("Time spent applying and committing one batch")
+            .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("account.batch.size")
+            .description("Number of use-balance requests per committed batch")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "use-balance-batcher-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+
+        List<PendingUse> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.future.completeExceptionally(
+            new IllegalStateException("Use-balance batcher is stopped")));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        PendingUse pending = new PendingUse(new UseBalance.Request(userId, accountNumber, amount),
+            lockFencing.current(accountNumber));
+        queue.add(pending);
+        boolean interrupted = false;
+        try {
+            pending.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            interrupted = e instanceof InterruptedException;
+            if (pending.claim()) {
+                queue.remove(pending);
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new AccountException(ErrorCode.TRANSACTION_TIMEOUT);
+            }
+        } catch (ExecutionException e) {
+            // rethrown below
+        }
+
+        try {
+            return pending.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runWorker() {
+        List<PendingUse> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                collect(batch);
+                execute(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+                return;
+            } catch (Throwable e) {
+                log.error("Use-balance batch of {} failed", batch.size(), e);
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingUse> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                return;
+            }
+            PendingUse next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void execute(List<PendingUse> batch) {
+        batch.removeIf(pending -> !pending.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizeSummary.record(batch.size());
+
+        List<UseBalanceResult> results;
+        try {
+            results = apply(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                complete(batch.get(0), null, e);
+                return;
+            }
+            log.warn("Use-balance batch of {} failed, retrying one at a time", batch.size(), e);
+            batch.forEach(this::executeAlone);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            UseBalanceResult result = results.get(i);
+            complete(batch.get(i), result.getTransaction(), result.getException());
+        }
+    }
+
+    private void executeAlone(PendingUse pending) {
+        try {
+            UseBalanceResult result = apply(Collections.singletonList(pending)).get(0);
+            complete(pending, result.getTransaction(), result.getException());
+        } catch (RuntimeException e) {
+            complete(pending, null, e);
+        }
+    }
+
+    private List<UseBalanceResult> apply(List<PendingUse> batch) {
+        List<UseBalance.Request> requests = new ArrayList<>(batch.size());
+        batch.forEach(pending -> requests.add(pending.request));
+
+        long started = System.nanoTime();
+        batch.forEach(pending -> lockFencing.hold(pending.request.getAccountNumber(),
+            pending.fencingToken));
+        try {
+            return transactionService.useBalanceBatch(requests);
+        } finally {
+            batch.forEach(pending -> lockFencing.release(pending.request.getAccountNumber()));
+            commitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void complete(PendingUse pending, TransactionDto transaction,
+        RuntimeException exception) {
+        latencyTimer.record(System.nanoTime() - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+        if (exception != null) {
+            pending.future.completeExceptionally(exception);
+        } else {
+            pending.future.complete(transaction);
+        }
+    }
+
+    private static class PendingUse {
+        private final UseBalance.Request request;
+        private final long fencingToken;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<TransactionDto> future = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private PendingUse(UseBalance.Request request, long fencingToken) {
+            this.request = request;
+            this.fencingToken = fencingToken;
+        }
+
+        /**
+         * Claimed by the worker before applying it, or by the caller when it gives up waiting,
+         * whichever comes first.
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -19,7 +19,15 @@ public enum ErrorCode {
     ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지되었습니다."),
     BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다."),
     AMOUNT_EXCEED_BALANCE("거래 금액이 계좌 잔액보다 큽니다."),
-    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개입니다.");
+    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개입니다."),
+    JOURNAL_WRITE_TIMEOUT("거래 기록이 지연되고 있습니다."),
+    TRANSACTION_TIMEOUT("거래 처리 시간이 초과되었습니다. 다시 시도해 주세요."),
+    ACCOUNT_ALREADY_SHARDED("이미 분할된 계좌입니다."),
+    SHARDING_NOT_AVAILABLE("거래 기록 모드에서는 계좌를 분할할 수 없습니다."),
+    ACCOUNT_OWNER_MOVED("계좌 담당 서버가 변경되었습니다. 다시 시도해 주세요."),
+    ACCOUNT_OWNER_UNAVAILABLE("계좌 담당 서버에 연결할 수 없습니다."),
+    TOO_MANY_REQUESTS("요청이 너무 많습니다. 잠시 후 다시 시도해 주세요."),
+    ACCOUNT_LOCK_EXPIRED("계좌 잠금이 만료되었습니다. 다시 시도해 주세요.");
 
     private final String description;
 }
@@ -1,6 +1,6 @@
-INSERT INTO ACCOUNT_USER(ID, NAME, CREATED_AT, UPDATED_AT)
-VALUES(1, 'DOOLI', NOW(), NOW());
-INSERT INTO ACCOUNT_USER(ID, NAME, CREATED_AT, UPDATED_AT)
-VALUES(2, 'DDOCHI', NOW(), NOW());
-INSERT INTO ACCOUNT_USER(ID, NAME, CREATED_AT, UPDATED_AT)
-VALUES(3, 'MICHAEL', NOW(), NOW());
\ No newline at end of file
+INSERT INTO ACCOUNT_USER(ID, NAME, VERSION, CREATED_AT, UPDATED_AT)
+VALUES(1, 'DOOLI', 0, NOW(), NOW());
+INSERT INTO ACCOUNT_USER(ID, NAME, VERSION, CREATED_AT, UPDATED_AT)
+VALUES(2, 'DDOCHI', 0, NOW(), NOW());
+INSERT INTO ACCOUNT_USER(ID, NAME, VERSION, CREATED_AT, UPDATED_AT)
+VALUES(3, 'MICHAEL', 0, NOW(), NOW());
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.account.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * R2DBC access for the reactive transaction API, active when the application runs as a reactive
+ * web application (the {@code reactive} profile).
+ *
+ * <p>The pool and its transaction manager are deliberately not exposed as beans: a
+ * {@code ConnectionFactory} bean makes Spring Boot back off the JDBC {@code DataSource} and a
+ * second {@code TransactionManager} bean replaces the JPA one, and the rest of the application
+ * still runs on JPA.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTransactionConfiguration implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveTransactionConfiguration(
+        @Value("${account.reactive.url}") String url,
+        @Value("${account.reactive.username}") String username,
+        @Value("${account.reactive.password}") String password,
+        @Value("${account.reactive.maximum-pool-size}") int maximumPoolSize,
+        @Value("${account.affinity.enabled}") boolean affinityEnabled
+    ) {
+        if (affinityEnabled) {
+            throw new IllegalStateException("The reactive transaction API writes accounts "
+                + "directly and does not support account.affinity.enabled");
+        }
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+            .builder(ConnectionFactories.get(options))
+            .maxSize(maximumPoolSize)
+            .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
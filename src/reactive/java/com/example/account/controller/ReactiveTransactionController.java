@@ -0,0 +1,92 @@
+package com.example.account.controller;
+
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.service.AdmissionControlAspect;
+import com.example.account.service.ReactiveLockService;
+import com.example.account.service.ReactiveTransactionService;
+import java.time.Duration;
+import java.util.function.Supplier;
+import javax.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@link TransactionController} contract on WebFlux, for deployments running the
+ * {@code reactive} profile. Admission and the account lock are applied here rather than by the
+ * {@code @AccountLock} aspects, which block; the admission slot is held until the response
+ * completes or is cancelled.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTransactionController {
+
+    private static final Duration USE_BALANCE_DELAY = Duration.ofMillis(3000L);
+
+    private final ReactiveTransactionService reactiveTransactionService;
+    private final ReactiveLockService reactiveLockService;
+    private final AdmissionControlAspect admissionControlAspect;
+
+    @PostMapping("/transaction/use")
+    public Mono<UseBalance.Response> useBalance(
+        @Valid @RequestBody UseBalance.Request request
+    ) {
+        return admitted(request, () ->
+            reactiveLockService.executeLocked(request.getAccountNumber(), fencingToken ->
+                Mono.delay(USE_BALANCE_DELAY)
+                    .then(reactiveTransactionService.useBalance(request.getUserId(),
+                        request.getAccountNumber(), request.getAmount(), fencingToken))
+                    .onErrorResume(AccountException.class, e -> {
+                        log.error("Failed to use balance.");
+
+                        return reactiveTransactionService.saveFailedUseTransaction(
+                            request.getAccountNumber(),
+                            request.getAmount()
+                        ).then(Mono.error(e));
+                    })))
+            .map(UseBalance.Response::from);
+    }
+
+    @PostMapping("/transaction/cancel")
+    public Mono<CancelBalance.Response> cancelBalance(
+        @Valid @RequestBody CancelBalance.Request request
+    ) {
+        return admitted(request, () ->
+            reactiveLockService.executeLocked(request.getAccountNumber(), fencingToken ->
+                reactiveTransactionService.cancelBalance(request.getTransactionId(),
+                        request.getAccountNumber(), request.getAmount(), fencingToken)
+                    .onErrorResume(AccountException.class, e -> {
+                        log.error("Failed to cancel balance.");
+
+                        return reactiveTransactionService.saveFailedCancelTransaction(
+                            request.getAccountNumber(),
+                            request.getAmount()
+                        ).then(Mono.error(e));
+                    })))
+            .map(CancelBalance.Response::from);
+    }
+
+    @GetMapping("/transaction/{transactionId}")
+    public Mono<QueryTransactionResponse> queryTransaction(@PathVariable String transactionId) {
+        return reactiveTransactionService.queryTransaction(transactionId)
+            .map(QueryTransactionResponse::from);
+    }
+
+    private <T> Mono<T> admitted(AccountLockIdInterface request, Supplier<Mono<T>> action) {
+        return Mono.using(() -> admissionControlAspect.admit(request), slot -> action.get(),
+            Runnable::run);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.OutboxEvent;
+import com.example.account.domain.Transaction;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import io.r2dbc.spi.Row;
+import java.time.LocalDateTime;
+import javax.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC access to the account, transaction and outbox tables Hibernate maps, for the reactive
+ * transaction API. Entities are returned detached, with only the columns that API reads.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTransactionRepository {
+
+    private final DatabaseClient databaseClient;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public Mono<Boolean> existsUserById(Long userId) {
+        return databaseClient.sql("SELECT COUNT(*) FROM account_user WHERE id = :id")
+            .bind("id", userId)
+            .map(row -> row.get(0, Long.class) > 0)
+            .one();
+    }
+
+    public Mono<Account> findByAccountNumber(String accountNumber) {
+        return databaseClient.sql("SELECT id, account_user_id, account_status, account_number,"
+                + " balance, journal_seq, shard_count, fencing_token FROM account"
+                + " WHERE account_number = :accountNumber")
+            .bind("accountNumber", accountNumber)
+            .map((row, metadata) -> toAccount(row))
+            .one();
+    }
+
+    public Mono<Integer> advanceFencingToken(String accountNumber, long token) {
+        return databaseClient.sql("UPDATE account SET fencing_token = :token"
+                + " WHERE account_number = :accountNumber AND fencing_token < :token")
+            .bind("token", token)
+            .bind("accountNumber", accountNumber)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    public Mono<Long> findFencingToken(String accountNumber) {
+        return databaseClient.sql(
+                "SELECT fencing_token FROM account WHERE account_number = :accountNumber")
+            .bind("accountNumber", accountNumber)
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    public Mono<Integer> updateBalance(Account account) {
+        return databaseClient.sql(
+                "UPDATE account SET balance = :balance, version = version + 1,"
+                    + " updated_at = :now WHERE id = :id")
+            .bind("balance", account.getBalance())
+            .bind("now", LocalDateTime.now())
+            .bind("id", account.getId())
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * Balance updates made here bypass Hibernate, so the account's second-level cache entry is
+     * dropped once they have committed.
+     */
+    public void evictCachedAccount(Long accountId) {
+        entityManagerFactory.getCache().evict(Account.class, accountId);
+    }
+
+    public Mono<Transaction> save(Transaction transaction) {
+        return nextValue("transaction_seq")
+            .flatMap(id -> databaseClient.sql("INSERT INTO transaction (id, transaction_type,"
+                    + " transaction_result_type, account_id, amount, balance_snapshot,"
+                    + " transaction_id, transacted_at, created_at, updated_at) VALUES (:id,"
+                    + " :transactionType, :transactionResultType, :accountId, :amount,"
+                    + " :balanceSnapshot, :transactionId, :transactedAt, :now, :now)")
+                .bind("id", id)
+                .bind("transactionType", transaction.getTransactionType().name())
+                .bind("transactionResultType", transaction.getTransactionResultType().name())
+                .bind("accountId", transaction.getAccount().getId())
+                .bind("amount", transaction.getAmount())
+                .bind("balanceSnapshot", transaction.getBalanceSnapshot())
+                .bind("transactionId", transaction.getTransactionId())
+                .bind("transactedAt", transaction.getTransactedAt())
+                .bind("now", LocalDateTime.now())
+                .then()
+                .doOnSuccess(ignored -> transaction.setId(id))
+                .thenReturn(transaction));
+    }
+
+    public Mono<Void> save(OutboxEvent event) {
+        return nextValue("outbox_event_seq")
+            .flatMap(id -> databaseClient.sql("INSERT INTO outbox_event (id, transaction_id,"
+                    + " account_number, transaction_type, transaction_result_type, amount,"
+                    + " balance_snapshot, transacted_at, created_at) VALUES (:id, :transactionId,"
+                    + " :accountNumber, :transactionType, :transactionResultType, :amount,"
+                    + " :balanceSnapshot, :transactedAt, :now)")
+                .bind("id", id)
+                .bind("transactionId", event.getTransactionId())
+                .bind("accountNumber", event.getAccountNumber())
+                .bind("transactionType", event.getTransactionType().name())
+                .bind("transactionResultType", event.getTransactionResultType().name())
+                .bind("amount", event.getAmount())
+                .bind("balanceSnapshot", event.getBalanceSnapshot())
+                .bind("transactedAt", event.getTransactedAt())
+                .bind("now", LocalDateTime.now())
+                .then());
+    }
+
+    public Mono<Transaction> findByTransactionId(String transactionId) {
+        return databaseClient.sql("SELECT t.id, t.transaction_type, t.transaction_result_type,"
+                + " t.amount, t.balance_snapshot, t.transaction_id, t.transacted_at,"
+                + " a.id AS account_id, a.account_number FROM transaction t"
+                + " JOIN account a ON a.id = t.account_id WHERE t.transaction_id = :transactionId")
+            .bind("transactionId", transactionId)
+            .map((row, metadata) -> Transaction.builder()
+                .id(row.get("id", Long.class))
+                .transactionType(TransactionType.valueOf(
+                    row.get("transaction_type", String.class)))
+                .transactionResultType(TransactionResultType.valueOf(
+                    row.get("transaction_result_type", String.class)))
+                .account(Account.builder()
+                    .id(row.get("account_id", Long.class))
+                    .accountNumber(row.get("account_number", String.class))
+                    .build())
+                .amount(row.get("amount", Long.class))
+                .balanceSnapshot(row.get("balance_snapshot", Long.class))
+                .transactionId(row.get("transaction_id", String.class))
+                .transactedAt(row.get("transacted_at", LocalDateTime.class))
+                .build())
+            .one();
+    }
+
+    /**
+     * Takes one value from a Hibernate pooled-lo sequence. Hibernate hands out the
+     * {@code allocationSize} ids starting at each value it draws, so a value drawn here is never
+     * used by Hibernate.
+     */
+    private Mono<Long> nextValue(String sequence) {
+        return databaseClient.sql("SELECT NEXT VALUE FOR " + sequence)
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    private static Account toAccount(Row row) {
+        return Account.builder()
+            .id(row.get("id", Long.class))
+            .accountUser(AccountUser.builder().id(row.get("account_user_id", Long.class)).build())
+            .accountStatus(AccountStatus.valueOf(row.get("account_status", String.class)))
+            .accountNumber(row.get("account_number", String.class))
+            .balance(row.get("balance", Long.class))
+            .journalSeq(row.get("journal_seq", Long.class))
+            .shardCount(row.get("shard_count", Integer.class))
+            .fencingToken(row.get("fencing_token", Long.class))
+            .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link LockService}: the same Redis account lock and fencing token,
+ * taken through Redisson's reactive API so a waiting request holds no thread.
+ *
+ * <p>Reactive locks are owned by an explicit id instead of the calling thread. Ids are negative so
+ * they never collide with the thread ids {@link LockService} uses in the same process.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveLockService {
+
+    private static final long LOCK_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long WATCHDOG_LEASE = -1;
+    private static final AtomicLong LOCK_OWNER_IDS = new AtomicLong();
+
+    private final RedissonClient redissonClient;
+    private final LocalLockQueue localLockQueue;
+    private final LockMetrics lockMetrics;
+    private final LockFencing lockFencing;
+
+    /**
+     * Runs {@code action} with the account lock held, passing it the fencing token (0 when
+     * fencing is disabled), and releases the lock when the returned {@link Mono} terminates.
+     */
+    public <T> Mono<T> executeLocked(String accountNumber, Function<Long, Mono<T>> action) {
+        return Mono.defer(() -> {
+            long ownerId = LOCK_OWNER_IDS.decrementAndGet();
+            RLockReactive lock = localLockQueue.isEnabled()
+                ? redissonClient.reactive().getFairLock(LockService.getLockKey(accountNumber))
+                : redissonClient.reactive().getLock(LockService.getLockKey(accountNumber));
+
+            return Mono.usingWhen(
+                tryLock(lock, accountNumber, ownerId),
+                isLock -> isLock ? acquireFencingToken(accountNumber).flatMap(action)
+                    : Mono.error(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK)),
+                isLock -> isLock ? unlock(lock, accountNumber, ownerId) : Mono.empty());
+        });
+    }
+
+    /**
+     * Moves the account's token counter past the token already written, see
+     * {@link LockFencing#advancePast}. Rare, so it runs the blocking version off the event loop.
+     */
+    public Mono<Void> advanceFencingToken(String accountNumber, long written) {
+        return Mono.<Void>fromRunnable(() -> lockFencing.advancePast(accountNumber, written))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Boolean> tryLock(RLockReactive lock, String accountNumber, long ownerId) {
+        log.debug("Trying lock for accountNumber : {}", accountNumber);
+        return Mono.defer(() -> {
+            long startedAt = lockMetrics.startWaiting(accountNumber);
+            return lock.tryLock(LOCK_WAIT_NANOS, WATCHDOG_LEASE, TimeUnit.NANOSECONDS, ownerId)
+                .onErrorResume(e -> {
+                    log.error("Redis lock failed", e);
+                    return Mono.just(false);
+                })
+                .doOnNext(isLock -> {
+                    lockMetrics.stopWaiting(accountNumber, startedAt, isLock);
+                    if (!isLock) {
+                        log.error("===============Lock acquisition failed=============");
+                    }
+                });
+        });
+    }
+
+    private Mono<Long> acquireFencingToken(String accountNumber) {
+        if (!lockFencing.isEnabled()) {
+            return Mono.just(0L);
+        }
+        return redissonClient.reactive()
+            .getAtomicLong(LockFencing.getTokenKey(accountNumber))
+            .incrementAndGet();
+    }
+
+    private Mono<Void> unlock(RLockReactive lock, String accountNumber, long ownerId) {
+        log.debug("Unlock for accountNumber: {}", accountNumber);
+        return lock.unlock(ownerId)
+            .onErrorResume(IllegalMonitorStateException.class, e -> {
+                log.warn("Lock for accountNumber {} expired before unlock", accountNumber);
+                return Mono.empty();
+            });
+    }
+}
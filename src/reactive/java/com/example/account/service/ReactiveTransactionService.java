@@ -0,0 +1,216 @@
+package com.example.account.service;
+
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.OutboxEvent;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.ReactiveTransactionRepository;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive counterpart of {@link TransactionService} for plain accounts, on R2DBC.
+ *
+ * <p>Whatever has no non-blocking implementation runs the blocking {@link TransactionService} on
+ * the bounded elastic scheduler, with the caller's fencing token held for that thread: everything
+ * while the ledger journal is enabled, sharded accounts, and lookups of transactions that are
+ * still journaled or already archived.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTransactionService {
+
+    private final ReactiveTransactionRepository reactiveTransactionRepository;
+    private final TransactionalOperator reactiveTransactionalOperator;
+    private final ReactiveLockService reactiveLockService;
+    private final TransactionService transactionService;
+    @Lazy
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final LedgerJournal ledgerJournal;
+    private final LockFencing lockFencing;
+    private final AccountSummaryProjection accountSummaryProjection;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final ExistenceFilters existenceFilters;
+
+    public Mono<TransactionDto> useBalance(Long userId, String accountNumber, Long amount,
+        long fencingToken) {
+        Supplier<TransactionDto> blocking =
+            () -> transactionService.useBalance(userId, accountNumber, amount);
+        if (ledgerJournal.isEnabled()) {
+            return runBlocking(accountNumber, fencingToken, blocking);
+        }
+        return reactiveTransactionalOperator.execute(status ->
+                checkFencingToken(accountNumber, fencingToken)
+                    .then(reactiveTransactionRepository.existsUserById(userId))
+                    .flatMap(exists -> exists ? findAccount(accountNumber)
+                        : Mono.error(new AccountException(ErrorCode.USER_NOT_FOUND)))
+                    .flatMap(account -> {
+                        if (account.getShardCount() > 0) {
+                            status.setRollbackOnly();
+                            return Mono.empty();
+                        }
+                        TransactionService.validateUserBalance(
+                            AccountUser.builder().id(userId).build(), account,
+                            account.getBalance(), amount);
+                        account.useBalance(amount);
+                        return reactiveTransactionRepository.updateBalance(account)
+                            .then(saveAndGetTransaction(S, USE, account, amount));
+                    }))
+            .singleOrEmpty()
+            .flatMap(this::publishChange)
+            .switchIfEmpty(Mono.defer(() -> runBlocking(accountNumber, fencingToken, blocking)));
+    }
+
+    public Mono<Void> saveFailedUseTransaction(String accountNumber, Long amount) {
+        return saveFailedTransaction(USE, accountNumber, amount,
+            () -> transactionService.saveFailedUseTransaction(accountNumber, amount));
+    }
+
+    public Mono<TransactionDto> cancelBalance(String transactionId, String accountNumber,
+        Long amount, long fencingToken) {
+        Supplier<TransactionDto> blocking =
+            () -> transactionService.cancelBalance(transactionId, accountNumber, amount);
+        if (ledgerJournal.isEnabled()) {
+            return runBlocking(accountNumber, fencingToken, blocking);
+        }
+        return reactiveTransactionalOperator.execute(status ->
+                checkFencingToken(accountNumber, fencingToken)
+                    .then(reactiveTransactionRepository.findByTransactionId(transactionId))
+                    .switchIfEmpty(Mono.defer(() -> transactionNotFound(transactionId)))
+                    .flatMap(transaction -> findAccount(accountNumber).flatMap(account -> {
+                        if (account.getShardCount() > 0) {
+                            status.setRollbackOnly();
+                            return Mono.empty();
+                        }
+                        TransactionService.validateCancelBalance(transaction, account, amount);
+                        account.cancelBalance(amount);
+                        return reactiveTransactionRepository.updateBalance(account)
+                            .then(saveAndGetTransaction(S, CANCEL, account, amount));
+                    })))
+            .singleOrEmpty()
+            .flatMap(this::publishChange)
+            .switchIfEmpty(Mono.defer(() -> runBlocking(accountNumber, fencingToken, blocking)));
+    }
+
+    public Mono<Void> saveFailedCancelTransaction(String accountNumber, Long amount) {
+        return saveFailedTransaction(CANCEL, accountNumber, amount,
+            () -> transactionService.saveFailedCancelTransaction(accountNumber, amount));
+    }
+
+    public Mono<TransactionDto> queryTransaction(String transactionId) {
+        return reactiveTransactionRepository.findByTransactionId(transactionId)
+            .map(TransactionDto::fromEntity)
+            .switchIfEmpty(Mono.defer(() -> runBlocking(null, 0,
+                () -> transactionService.queryTransaction(transactionId))));
+    }
+
+    private Mono<Void> checkFencingToken(String accountNumber, long fencingToken) {
+        if (fencingToken == 0) {
+            return Mono.empty();
+        }
+        return reactiveTransactionRepository.advanceFencingToken(accountNumber, fencingToken)
+            .flatMap(updated -> updated > 0 ? Mono.empty()
+                : reactiveTransactionRepository.findFencingToken(accountNumber)
+                    .switchIfEmpty(Mono.error(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)))
+                    .flatMap(written -> reactiveLockService.advanceFencingToken(accountNumber,
+                        written))
+                    .then(Mono.error(new AccountException(ErrorCode.ACCOUNT_LOCK_EXPIRED))));
+    }
+
+    private Mono<Account> findAccount(String accountNumber) {
+        return reactiveTransactionRepository.findByAccountNumber(accountNumber)
+            .switchIfEmpty(Mono.error(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+    }
+
+    private <T> Mono<T> transactionNotFound(String transactionId) {
+        return Mono.fromCallable(() -> transactionArchiveRepository
+                .findByTransactionId(transactionId).isPresent())
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(archived -> Mono.error(new AccountException(archived
+                ? ErrorCode.TOO_OLD_ORDER_TO_CANCEL : ErrorCode.TRANSACTION_NOT_FOUND)));
+    }
+
+    private Mono<Void> saveFailedTransaction(TransactionType transactionType,
+        String accountNumber, Long amount, Runnable blocking) {
+        return reactiveTransactionalOperator.execute(status -> findAccount(accountNumber)
+                .flatMap(account -> account.getShardCount() > 0 ? Mono.just(false)
+                    : saveAndGetTransaction(F, transactionType, account, amount)
+                        .thenReturn(true)))
+            .singleOrEmpty()
+            .flatMap(saved -> saved ? Mono.<Void>empty()
+                : Mono.<Void>fromRunnable(blocking).subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private Mono<Transaction> saveAndGetTransaction(TransactionResultType transactionResultType,
+        TransactionType transactionType, Account account, Long amount) {
+        String transactionId = UUID.randomUUID().toString().replace("-", "");
+        return Mono.fromRunnable(() -> existenceFilters.transactionCreated(transactionId))
+            .subscribeOn(Schedulers.boundedElastic())
+            .then(reactiveTransactionRepository.save(Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapshot(account.getBalance())
+                .transactionId(transactionId)
+                .transactedAt(LocalDateTime.now())
+                .build()))
+            .flatMap(transaction -> reactiveTransactionRepository
+                .save(OutboxEvent.fromTransaction(transaction))
+                .thenReturn(transaction));
+    }
+
+    /**
+     * These talk to Redis through blocking clients, so they run off the event loop; the response
+     * waits for them as it does in {@link TransactionService}.
+     */
+    private Mono<TransactionDto> publishChange(Transaction transaction) {
+        TransactionDto transactionDto = TransactionDto.fromEntity(transaction);
+        Account account = transaction.getAccount();
+        return Mono.fromRunnable(() -> {
+                reactiveTransactionRepository.evictCachedAccount(account.getId());
+                accountSummaryProjection.balanceChanged(account, transactionDto);
+                replicaLagGuard.recordWrite(
+                    ReplicaLagGuard.userKey(account.getAccountUser().getId()),
+                    ReplicaLagGuard.accountKey(account.getAccountNumber()),
+                    ReplicaLagGuard.transactionKey(transactionDto.getTransactionId()));
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .thenReturn(transactionDto);
+    }
+
+    private <T> Mono<T> runBlocking(String accountNumber, long fencingToken, Supplier<T> call) {
+        return Mono.fromCallable(() -> {
+            if (fencingToken == 0) {
+                return call.get();
+            }
+            lockFencing.hold(accountNumber, fencingToken);
+            try {
+                return call.get();
+            } finally {
+                lockFencing.release(accountNumber);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+}
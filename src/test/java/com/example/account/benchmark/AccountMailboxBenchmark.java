@@ -0,0 +1,190 @@
+package com.example.account.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.account.config.RedisRepositoryConfig;
+import com.example.account.config.RedissonProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.service.AccountMailboxExecutor;
+import com.example.account.service.LocalLockQueue;
+import com.example.account.service.LockFencing;
+import com.example.account.service.LockMetrics;
+import com.example.account.service.LockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import redis.embedded.RedisServer;
+
+/**
+ * Compares the Redis account lock with the per-account mailbox executor for a short balance
+ * update, on a few hot accounts and on many cold ones.
+ *
+ * <p>Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+class AccountMailboxBenchmark {
+
+    private static final int PORT = 6393;
+    private static final int CLIENT_THREADS = 64;
+    private static final int MAILBOX_WORKERS = 16;
+    private static final long WORK_NANOS = 20_000;
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    private static RedisServer redisServer;
+    private static RedissonClient redissonClient;
+
+    private final Map<String, long[]> balances = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        redissonClient = Redisson.create(
+            RedisRepositoryConfig.createConfig(new RedissonProperties(), "127.0.0.1", PORT));
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    void lockVersusMailbox() throws Exception {
+        LockService lockService = new LockService(redissonClient, new LocalLockQueue(false),
+            new LockMetrics(new SimpleMeterRegistry()), new LockFencing(redissonClient, true));
+        AccountMailboxExecutor mailboxExecutor = new AccountMailboxExecutor(
+            new SimpleMeterRegistry(), true, MAILBOX_WORKERS, 32, 100_000, 10_000);
+        mailboxExecutor.start();
+
+        List<String> results = new ArrayList<>();
+        try {
+            for (int accounts : new int[]{8, 10_000}) {
+                Operation locked = accountNumber -> {
+                    lockService.lock(accountNumber);
+                    try {
+                        updateBalance(accountNumber);
+                    } finally {
+                        lockService.unlock(accountNumber);
+                    }
+                };
+                Operation mailbox = accountNumber -> mailboxExecutor.call(accountNumber, () -> {
+                    updateBalance(accountNumber);
+                    return null;
+                });
+
+                run(locked, accounts, WARMUP_MILLIS);
+                results.add(report("redis-lock", accounts, run(locked, accounts, MEASURE_MILLIS)));
+                run(mailbox, accounts, WARMUP_MILLIS);
+                results.add(report("mailbox", accounts, run(mailbox, accounts, MEASURE_MILLIS)));
+            }
+        } finally {
+            mailboxExecutor.stop();
+        }
+        results.forEach(System.out::println);
+    }
+
+    private void updateBalance(String accountNumber) {
+        long[] balance = balances.computeIfAbsent(accountNumber, key -> new long[1]);
+        long deadline = System.nanoTime() + WORK_NANOS;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        balance[0]++;
+    }
+
+    private static String report(String mode, int accounts, Result result) {
+        assertTrue(result.completed > 0);
+        return String.format("%-10s accounts=%6d  ops/s=%,9.0f  p50=%,7dus  p99=%,8dus"
+                + "  failed=%d", mode, accounts, result.completed * 1000.0 / MEASURE_MILLIS,
+            result.percentile(0.50) / 1000, result.percentile(0.99) / 1000, result.failed);
+    }
+
+    private static Result run(Operation operation, int accounts, long millis)
+        throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        LongAdder failed = new LongAdder();
+        List<long[]> latencies = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(CLIENT_THREADS);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        for (int i = 0; i < CLIENT_THREADS; i++) {
+            long[] samples = new long[1 << 18];
+            latencies.add(samples);
+            executor.execute(() -> {
+                int count = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        String accountNumber = String.valueOf(
+                            1000000000L + ThreadLocalRandom.current().nextInt(accounts));
+                        long started = System.nanoTime();
+                        try {
+                            operation.apply(accountNumber);
+                        } catch (AccountException e) {
+                            failed.increment();
+                            continue;
+                        }
+                        if (count < samples.length - 1) {
+                            samples[++count] = System.nanoTime() - started;
+                        }
+                    }
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    samples[0] = count;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+        return new Result(latencies, failed.sum());
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void apply(String accountNumber) throws Throwable;
+    }
+
+    private static class Result {
+        private final long[] sorted;
+        private final long completed;
+        private final long failed;
+
+        private Result(List<long[]> latencies, long failed) {
+            int total = 0;
+            for (long[] samples : latencies) {
+                total += (int) samples[0];
+            }
+            this.sorted = new long[total];
+            int offset = 0;
+            for (long[] samples : latencies) {
+                System.arraycopy(samples, 1, sorted, offset, (int) samples[0]);
+                offset += (int) samples[0];
+            }
+            Arrays.sort(sorted);
+            this.completed = total;
+            this.failed = failed;
+        }
+
+        private long percentile(double quantile) {
+            return sorted.length == 0 ? 0 : sorted[(int) ((sorted.length - 1) * quantile)];
+        }
+    }
+}
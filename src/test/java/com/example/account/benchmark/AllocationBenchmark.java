@@ -0,0 +1,120 @@
+package com.example.account.benchmark;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Bytes allocated per operation on the use, cancel and query paths, from the balance update on
+ * the account through the {@link TransactionDto} and response to the JSON body. Measured with the
+ * per-thread allocation counter, which is what JMH's gc profiler reports as
+ * {@code gc.alloc.rate.norm}.
+ *
+ * <p>Responses are Lombok beans copied from the dto and written by Jackson's bean serializer. A
+ * hand-written serializer writing straight from the dto measured the same bytes per operation, so
+ * this keeps the figures for the plain path as the reference for later changes.
+ *
+ * <p>Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+class AllocationBenchmark {
+
+    private static final int WARMUP_OPS = 200_000;
+    private static final int MEASURE_OPS = 1_000_000;
+    private static final long AMOUNT = 1_000L;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final OutputStream body = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+    private final LocalDateTime transactedAt = LocalDateTime.now();
+    private final Account account = Account.builder()
+        .id(1L)
+        .accountUser(AccountUser.builder().id(1L).name("Pobi").build())
+        .accountNumber("1000000000")
+        .accountStatus(IN_USE)
+        .balance(1_000_000_000L)
+        .build();
+
+    @Test
+    void allocationPerOperation() {
+        List<String> results = new ArrayList<>();
+        results.add(measure("use    ", () -> {
+            account.useBalance(AMOUNT);
+            write(UseBalance.Response.from(TransactionDto.fromEntity(transaction(USE))));
+            account.cancelBalance(AMOUNT);
+        }));
+        results.add(measure("cancel ", () -> {
+            account.cancelBalance(AMOUNT);
+            write(CancelBalance.Response.from(TransactionDto.fromEntity(transaction(CANCEL))));
+            account.useBalance(AMOUNT);
+        }));
+        results.add(measure("query  ", () ->
+            write(QueryTransactionResponse.from(TransactionDto.fromEntity(transaction(USE))))));
+
+        System.out.println("path   bytes/op");
+        results.forEach(System.out::println);
+    }
+
+    private Transaction transaction(TransactionType transactionType) {
+        return Transaction.builder()
+            .transactionType(transactionType)
+            .transactionResultType(S)
+            .account(account)
+            .amount(AMOUNT)
+            .balanceSnapshot(account.getBalance())
+            .transactionId("0123456789abcdef0123456789abcdef")
+            .transactedAt(transactedAt)
+            .build();
+    }
+
+    private void write(Object response) {
+        try {
+            objectMapper.writeValue(body, response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String measure(String name, Runnable operation) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_OPS; i++) {
+            operation.run();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURE_OPS; i++) {
+            operation.run();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        return String.format("%s %8.1f", name, (double) allocated / MEASURE_OPS);
+    }
+}
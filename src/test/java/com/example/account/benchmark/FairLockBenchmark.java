@@ -0,0 +1,170 @@
+package com.example.account.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.account.config.RedisRepositoryConfig;
+import com.example.account.config.RedissonProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.service.LocalLockQueue;
+import com.example.account.service.LockFencing;
+import com.example.account.service.LockMetrics;
+import com.example.account.service.LockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import redis.embedded.RedisServer;
+
+/**
+ * Compares the default account lock with fair mode on a few heavily contended accounts:
+ * wait-time tail and the share of requests failing with {@code ACCOUNT_TRANSACTION_LOCK}.
+ *
+ * <p>Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+class FairLockBenchmark {
+
+    private static final int PORT = 6394;
+    private static final int CLIENT_THREADS = 64;
+    private static final int ACCOUNTS = 2;
+    private static final long HOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(15);
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 10_000;
+
+    private static RedisServer redisServer;
+    private static RedissonClient redissonClient;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        redissonClient = Redisson.create(
+            RedisRepositoryConfig.createConfig(new RedissonProperties(), "127.0.0.1", PORT));
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    void defaultVersusFair() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (boolean fair : new boolean[]{false, true}) {
+            LockService lockService = new LockService(redissonClient, new LocalLockQueue(fair),
+                new LockMetrics(new SimpleMeterRegistry()), new LockFencing(redissonClient, true));
+            run(lockService, WARMUP_MILLIS);
+            results.add(report(fair ? "fair" : "default", run(lockService, MEASURE_MILLIS)));
+        }
+        results.forEach(System.out::println);
+    }
+
+    private static String report(String mode, Result result) {
+        assertTrue(result.completed > 0);
+        long total = result.completed + result.failed;
+        return String.format("%-8s ops/s=%,6.0f  p50=%,6dms  p99=%,6dms  max=%,6dms"
+                + "  failed=%,d (%.1f%%)", mode, result.completed * 1000.0 / MEASURE_MILLIS,
+            result.percentile(0.50), result.percentile(0.99), result.percentile(1.0),
+            result.failed, result.failed * 100.0 / total);
+    }
+
+    private static Result run(LockService lockService, long millis)
+        throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        List<long[]> latencies = new ArrayList<>();
+        int[] counts = new int[CLIENT_THREADS];
+        CountDownLatch done = new CountDownLatch(CLIENT_THREADS);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        for (int i = 0; i < CLIENT_THREADS; i++) {
+            int thread = i;
+            long[] samples = new long[1 << 14];
+            latencies.add(samples);
+            executor.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        String accountNumber = String.valueOf(
+                            1000000000L + ThreadLocalRandom.current().nextInt(ACCOUNTS));
+                        long started = System.nanoTime();
+                        try {
+                            lockService.lock(accountNumber);
+                        } catch (AccountException e) {
+                            failed.increment();
+                            samples[counts[thread]++ & (samples.length - 1)] =
+                                System.nanoTime() - started;
+                            continue;
+                        }
+                        samples[counts[thread]++ & (samples.length - 1)] =
+                            System.nanoTime() - started;
+                        try {
+                            hold();
+                        } finally {
+                            lockService.unlock(accountNumber);
+                        }
+                        completed.increment();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+
+        int size = 0;
+        for (int i = 0; i < CLIENT_THREADS; i++) {
+            size += Math.min(counts[i], latencies.get(i).length);
+        }
+        long[] all = new long[size];
+        int offset = 0;
+        for (int i = 0; i < CLIENT_THREADS; i++) {
+            int length = Math.min(counts[i], latencies.get(i).length);
+            System.arraycopy(latencies.get(i), 0, all, offset, length);
+            offset += length;
+        }
+        Arrays.sort(all);
+        return new Result(completed.sum(), failed.sum(), all);
+    }
+
+    private static void hold() {
+        long until = System.nanoTime() + HOLD_NANOS;
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static class Result {
+        private final long completed;
+        private final long failed;
+        private final long[] waits;
+
+        private Result(long completed, long failed, long[] waits) {
+            this.completed = completed;
+            this.failed = failed;
+            this.waits = waits;
+        }
+
+        private long percentile(double quantile) {
+            if (waits.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * waits.length) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(waits[Math.max(index, 0)]);
+        }
+    }
+}
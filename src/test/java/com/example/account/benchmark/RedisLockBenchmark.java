@@ -0,0 +1,101 @@
+package com.example.account.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.account.config.RedisRepositoryConfig;
+import com.example.account.config.RedissonProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import redis.embedded.RedisServer;
+
+/**
+ * Measures account lock/unlock throughput against embedded Redis for several pool sizes.
+ *
+ * <p>Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+class RedisLockBenchmark {
+
+    private static final int PORT = 6390;
+    private static final int CLIENT_THREADS = 64;
+    private static final int ACCOUNTS = 10_000;
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    private static RedisServer redisServer;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redisServer.stop();
+    }
+
+    @Test
+    void lockThroughputByPoolSize() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (int poolSize : new int[]{2, 8, 24, 64}) {
+            RedissonProperties properties = new RedissonProperties();
+            properties.setConnectionPoolSize(poolSize);
+            properties.setConnectionMinimumIdleSize(Math.min(poolSize, 24));
+            RedissonClient client = Redisson.create(
+                RedisRepositoryConfig.createConfig(properties, "127.0.0.1", PORT));
+            try {
+                run(client, WARMUP_MILLIS);
+                double opsPerSecond = run(client, MEASURE_MILLIS) * 1000.0 / MEASURE_MILLIS;
+                results.add(String.format("pool=%3d  lock+unlock/s=%,10.0f", poolSize,
+                    opsPerSecond));
+                assertTrue(opsPerSecond > 0);
+            } finally {
+                client.shutdown();
+            }
+        }
+        results.forEach(System.out::println);
+    }
+
+    private static long run(RedissonClient client, long millis) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        LongAdder completed = new LongAdder();
+        CountDownLatch done = new CountDownLatch(CLIENT_THREADS);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        for (int i = 0; i < CLIENT_THREADS; i++) {
+            executor.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        int account = ThreadLocalRandom.current().nextInt(ACCOUNTS);
+                        RLock lock = client.getLock("ACLKL:" + (1000000000L + account));
+                        if (lock.tryLock(1, 15, TimeUnit.SECONDS)) {
+                            lock.unlock();
+                            completed.increment();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+        return completed.sum();
+    }
+}
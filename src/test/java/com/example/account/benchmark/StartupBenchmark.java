@@ -0,0 +1,121 @@
+package com.example.account.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures time from process launch to the first successful HTTP request.
+ *
+ * <p>Compares eager JPA repository bootstrap, the default configuration and, when
+ * {@code ./gradlew cdsArchive} has been run, the default configuration with the AppCDS archive.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final int RUNS = 3;
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        String classpath = System.getProperty("benchmark.cds.classpath",
+            System.getProperty("java.class.path"));
+        File archive = new File(System.getProperty("benchmark.cds.archive", "build/cds/account.jsa"));
+
+        List<String> results = new ArrayList<>();
+        results.add(measure("eager repositories", classpath, Collections.emptyList(),
+            Collections.singletonList("--spring.data.jpa.repositories.bootstrap-mode=default")));
+        results.add(measure("default", classpath, Collections.emptyList(),
+            Collections.emptyList()));
+        if (archive.isFile()) {
+            results.add(measure("default + AppCDS", classpath,
+                Arrays.asList("-Xshare:auto", "-XX:SharedArchiveFile=" + archive),
+                Collections.emptyList()));
+        }
+        results.forEach(System.out::println);
+    }
+
+    private static String measure(String name, String classpath, List<String> jvmArgs,
+        List<String> appArgs) throws Exception {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            samples.add(launch(classpath, jvmArgs, appArgs));
+        }
+        Collections.sort(samples);
+        return String.format("%-20s median=%5d ms  runs=%s", name, samples.get(RUNS / 2),
+            samples);
+    }
+
+    private static long launch(String classpath, List<String> jvmArgs, List<String> appArgs)
+        throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator
+            + "java");
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add("com.example.account.AccountApplication");
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=local");
+        command.add("--spring.redis.port=" + freePort());
+        command.add("--account.archive.dir=" + Files.createTempDirectory("archive"));
+        command.addAll(appArgs);
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            URL health = new URL("http://127.0.0.1:" + port + "/actuator/health");
+            long deadline = started + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+            while (System.nanoTime() < deadline) {
+                assertTrue(process.isAlive(), "application exited during startup");
+                if (isUp(health)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("application did not start in time");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean isUp(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(100);
+            connection.setReadTimeout(1000);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
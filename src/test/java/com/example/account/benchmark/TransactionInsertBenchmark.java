@@ -0,0 +1,106 @@
+package com.example.account.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.account.config.JpaAuditingConfiguration;
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Inserts 1k/10k/100k transaction rows with JDBC batching disabled and with the configured batch
+ * size, using the pooled-lo sequence ids.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.show_sql=false")
+@Import(JpaAuditingConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionInsertBenchmark {
+
+    private static final int ROWS_PER_TRANSACTION = 1000;
+    private static final int CONFIGURED_BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void insertThroughput() {
+        Account account = accountRepository.save(Account.builder()
+            .accountStatus(AccountStatus.IN_USE)
+            .accountNumber("1000000000")
+            .balance(0L)
+            .registeredAt(LocalDateTime.now())
+            .build());
+        insert(account, 20_000, 1);
+        insert(account, 20_000, CONFIGURED_BATCH_SIZE);
+
+        List<String> results = new ArrayList<>();
+        for (int rows : new int[]{1_000, 10_000, 100_000}) {
+            for (int batchSize : new int[]{1, CONFIGURED_BATCH_SIZE}) {
+                long before = transactionRepository.count();
+                long started = System.nanoTime();
+                insert(account, rows, batchSize);
+                double seconds = (System.nanoTime() - started) / 1e9;
+                assertEquals(before + rows, transactionRepository.count());
+                results.add(String.format("rows=%,7d  jdbc batch=%2d  %,10.0f rows/s", rows,
+                    batchSize, rows / seconds));
+            }
+        }
+        results.forEach(System.out::println);
+    }
+
+    private void insert(Account account, int rows, int batchSize) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int done = 0; done < rows; done += ROWS_PER_TRANSACTION) {
+            int count = Math.min(ROWS_PER_TRANSACTION, rows - done);
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                Account managed = entityManager.getReference(Account.class, account.getId());
+                for (int i = 0; i < count; i++) {
+                    entityManager.persist(Transaction.builder()
+                        .transactionType(TransactionType.USE)
+                        .transactionResultType(TransactionResultType.S)
+                        .account(managed)
+                        .amount(1000L)
+                        .balanceSnapshot(0L)
+                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+                    if ((i + 1) % CONFIGURED_BATCH_SIZE == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                        managed = entityManager.getReference(Account.class, account.getId());
+                    }
+                }
+            });
+        }
+    }
+}
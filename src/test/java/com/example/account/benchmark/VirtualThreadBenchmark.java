@@ -0,0 +1,166 @@
+package com.example.account.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.example.account.config.VirtualThreadConfiguration;
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares how many blocking requests the application completes concurrently on Tomcat's platform
+ * thread pool and on virtual threads.
+ *
+ * <p>Each request is a {@code /transaction/use} on its own, nonexistent account, so it takes the
+ * Redis lock, sleeps in the controller and does two JDBC reads without ever contending on an
+ * account; admission control is switched off so only thread capacity limits throughput. The
+ * virtual thread run traces pinned threads and reports how often a carrier was pinned.
+ *
+ * <p>Run with {@code ./gradlew virtualThreadBenchmark}, which uses a JDK 21 toolchain; skipped on
+ * a JDK without virtual threads.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1_000;
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreadConfiguration.isSupported(),
+            "virtual threads need JDK 21+, running on " + Runtime.version());
+
+        List<String> results = new ArrayList<>();
+        results.add(run("platform", false));
+        results.add(run("virtual", true));
+        results.forEach(System.out::println);
+    }
+
+    private static String run(String mode, boolean virtual) throws Exception {
+        int port = freePort();
+        Path log = Files.createTempFile("virtual-thread-benchmark", ".log");
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator
+            + "java");
+        if (virtual) {
+            command.add("-Djdk.tracePinnedThreads=short");
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("com.example.account.AccountApplication");
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=local");
+        command.add("--spring.redis.port=" + freePort());
+        command.add("--account.archive.dir=" + Files.createTempDirectory("archive"));
+        command.add("--account.admission.enabled=false");
+        command.add("--account.threads.virtual=" + virtual);
+        command.add("--server.tomcat.max-connections=" + CONCURRENT_REQUESTS * 2);
+
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+            awaitStarted(process, client, port);
+            long[] latencies = fire(client, port);
+            long wall = latencies[latencies.length - 1];
+            Arrays.sort(latencies, 0, latencies.length - 1);
+            return String.format("%-9s requests=%,d  wall=%,6dms  req/s=%,6.0f  p50=%,6dms"
+                    + "  p99=%,6dms  pinned=%d", mode, CONCURRENT_REQUESTS, wall,
+                CONCURRENT_REQUESTS * 1000.0 / wall, latencies[CONCURRENT_REQUESTS / 2],
+                latencies[(int) Math.ceil(CONCURRENT_REQUESTS * 0.99) - 1], pinnedEvents(log));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Sends every request at once; returns per-request latencies followed by the wall time, in
+     * milliseconds.
+     */
+    private static long[] fire(HttpClient client, int port) {
+        List<CompletableFuture<Long>> responses = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + port + "/transaction/use"))
+                .timeout(Duration.ofMillis(TIMEOUT_MILLIS))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                    "{\"userId\":%d,\"accountNumber\":\"%d\",\"amount\":100}",
+                    i + 1, 9000000000L + i)))
+                .build();
+            long sent = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    assertEquals(200, response.statusCode());
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                }));
+        }
+        long[] latencies = new long[CONCURRENT_REQUESTS + 1];
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            latencies[i] = responses.get(i).join();
+        }
+        latencies[CONCURRENT_REQUESTS] =
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        return latencies;
+    }
+
+    private static void awaitStarted(Process process, HttpClient client, int port)
+        throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(
+                URI.create("http://127.0.0.1:" + port + "/actuator/health"))
+            .timeout(Duration.ofSeconds(1))
+            .build();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (System.nanoTime() < deadline) {
+            assertTrue(process.isAlive(), "application exited during startup");
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode()
+                    == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("application did not start in time");
+    }
+
+    private static long pinnedEvents(Path log) throws IOException {
+        try (Stream<String> lines = Files.lines(log)) {
+            return lines.filter(line -> line.contains(",CarrierThreads]")).count();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.account.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.account.service.ReplicaLagGuard;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTemplate;
+    private TransactionTemplate readOnlyTemplate;
+    private ReplicaLagGuard replicaLagGuard;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = node("routing-primary");
+        DataSource replica = node("routing-replica");
+        DataSource dataSource = DataSourceRoutingConfiguration.createRoutingDataSource(primary,
+            replica);
+
+        DataSourceTransactionManager transactionManager =
+            new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        replicaLagGuard = new ReplicaLagGuard(60_000);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 복제본으로 라우팅")
+    void routeByTransactionReadOnlyFlag() {
+        assertEquals("primary", writeTemplate.execute(status -> currentNode()));
+        assertEquals("replica", readOnlyTemplate.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    @DisplayName("최근 쓰기가 있으면 읽기도 주 DB로 라우팅")
+    void pinReadsToPrimaryAfterRecentWrite() {
+        // Given
+        writeTemplate.executeWithoutResult(status ->
+            replicaLagGuard.recordWrite(ReplicaLagGuard.userKey(1L)));
+
+        // When
+        String pinned = readOnlyTemplate.execute(status -> {
+            replicaLagGuard.routeReads(ReplicaLagGuard.userKey(1L));
+            return currentNode();
+        });
+        String other = readOnlyTemplate.execute(status -> {
+            replicaLagGuard.routeReads(ReplicaLagGuard.userKey(2L));
+            return currentNode();
+        });
+
+        // Then
+        assertEquals("primary", pinned);
+        assertEquals("replica", other);
+    }
+
+    @Test
+    @DisplayName("롤백된 쓰기는 라우팅에 반영하지 않음")
+    void ignoreWriteThatRolledBack() {
+        // Given
+        writeTemplate.executeWithoutResult(status -> {
+            replicaLagGuard.recordWrite(ReplicaLagGuard.userKey(1L));
+            status.setRollbackOnly();
+        });
+
+        // When
+        String node = readOnlyTemplate.execute(status -> {
+            replicaLagGuard.routeReads(ReplicaLagGuard.userKey(1L));
+            return currentNode();
+        });
+
+        // Then
+        assertEquals("replica", node);
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.execute("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)",
+            name.substring(name.indexOf('-') + 1));
+        return dataSource;
+    }
+}
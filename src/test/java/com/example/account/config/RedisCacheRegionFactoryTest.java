@@ -0,0 +1,71 @@
+package com.example.account.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.internal.NaturalIdCacheKey;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheRegionFactoryTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RMapCache<Object, Object> map;
+
+    @Mock
+    private DomainDataRegionConfig regionConfig;
+
+    private DomainDataStorageAccess storageAccess;
+
+    @BeforeEach
+    void createStorageAccess() {
+        given(regionConfig.getRegionName()).willReturn("com.example.account.domain.Account");
+        given(redissonClient.getMapCache(eq("hibernate:com.example.account.domain.Account"),
+            any(Codec.class))).willReturn(map);
+        storageAccess = new RedisCacheRegionFactory(redissonClient, 600_000)
+            .createDomainDataStorageAccess(regionConfig, null);
+    }
+
+    @Test
+    @DisplayName("엔티티를 ID 키로 TTL과 함께 저장")
+    void putEntityUnderIdWithTtl() {
+        // When
+        storageAccess.putIntoCache(42L, "entry", null);
+
+        // Then
+        verify(map).fastPut("42", "entry", 600_000, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @DisplayName("계좌번호로 자연 키 조회")
+    void getNaturalIdUnderAccountNumber() {
+        // Given
+        NaturalIdCacheKey key = mock(NaturalIdCacheKey.class);
+        given(key.getNaturalIdValues()).willReturn(new String[]{"1000000012"});
+        given(map.get("1000000012")).willReturn(42L);
+
+        // When
+        Object id = storageAccess.getFromCache(key, null);
+
+        // Then
+        assertEquals(42L, id);
+    }
+}
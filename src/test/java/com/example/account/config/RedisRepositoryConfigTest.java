@@ -0,0 +1,50 @@
+package com.example.account.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+
+class RedisRepositoryConfigTest {
+
+    @Test
+    void createSingleServerConfig() {
+        // Given
+        RedissonProperties properties = new RedissonProperties();
+        properties.setConnectionPoolSize(128);
+        properties.setTimeoutMs(500);
+        properties.setNettyThreads(8);
+
+        // When
+        Config config = RedisRepositoryConfig.createConfig(properties, "127.0.0.1", 6379);
+
+        // Then
+        assertEquals("redis://127.0.0.1:6379", config.useSingleServer().getAddress());
+        assertEquals(128, config.useSingleServer().getConnectionPoolSize());
+        assertEquals(500, config.useSingleServer().getTimeout());
+        assertEquals(8, config.getNettyThreads());
+        assertTrue(config.getCodec() instanceof StringCodec);
+    }
+
+    @Test
+    void createSentinelConfig() {
+        // Given
+        RedissonProperties properties = new RedissonProperties();
+        properties.setMode(RedissonProperties.Mode.SENTINEL);
+        properties.setMasterName("account");
+        properties.setNodes(Arrays.asList("10.0.0.1:26379", "redis://10.0.0.2:26379"));
+        properties.setConnectionPoolSize(32);
+
+        // When
+        Config config = RedisRepositoryConfig.createConfig(properties, "127.0.0.1", 6379);
+
+        // Then
+        assertEquals("account", config.useSentinelServers().getMasterName());
+        assertEquals(Arrays.asList("redis://10.0.0.1:26379", "redis://10.0.0.2:26379"),
+            config.useSentinelServers().getSentinelAddresses());
+        assertEquals(32, config.useSentinelServers().getMasterConnectionPoolSize());
+    }
+}
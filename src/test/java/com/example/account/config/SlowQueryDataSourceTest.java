@@ -0,0 +1,63 @@
+package com.example.account.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class SlowQueryDataSourceTest {
+
+    @Test
+    @DisplayName("SQL 종류별 수행 시간 기록")
+    void recordLatencyByStatementType() throws Exception {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SlowQueryDataSource dataSource = new SlowQueryDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:slow-query;DB_CLOSE_DELAY=-1", "sa", ""),
+            () -> meterRegistry, 0, 1.0);
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement()) {
+            statement.execute("create table item (id bigint primary key, name varchar(20))");
+            try (PreparedStatement insert = connection.prepareStatement(
+                "insert into item (id, name) values (?, ?)")) {
+                for (long id = 1; id <= 3; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, "item" + id);
+                    insert.executeUpdate();
+                }
+            }
+            try (PreparedStatement select = connection.prepareStatement(
+                "select count(*) from item");
+                ResultSet resultSet = select.executeQuery()) {
+                resultSet.next();
+                assertEquals(3, resultSet.getInt(1));
+            }
+        }
+
+        // Then
+        assertEquals(3, meterRegistry.get("account.sql.statement").tag("type", "insert")
+            .timer().count());
+        assertEquals(1, meterRegistry.get("account.sql.statement").tag("type", "select")
+            .timer().count());
+        assertEquals(1, meterRegistry.get("account.sql.statement").tag("type", "other")
+            .timer().count());
+    }
+
+    @Test
+    @DisplayName("SQL 종류 분류")
+    void classifyStatementType() {
+        assertEquals("select", SlowQueryDataSource.statementType("  SELECT * from account"));
+        assertEquals("select", SlowQueryDataSource.statementType("with t as (select 1) select *"));
+        assertEquals("update", SlowQueryDataSource.statementType("update account set x=?"));
+        assertEquals("other", SlowQueryDataSource.statementType("call next value for seq"));
+        assertEquals("other", SlowQueryDataSource.statementType(null));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.account.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "account.threads.virtual=true",
+    "spring.redis.port=6397"
+})
+@ActiveProfiles("local")
+@DirtiesContext
+@EnabledIf("com.example.account.config.VirtualThreadConfiguration#isSupported")
+class VirtualThreadConfigurationTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    @DisplayName("요청 처리와 비동기 작업을 가상 스레드에서 실행")
+    void runOnVirtualThreads() throws Exception {
+        // Given
+        Executor requestExecutor = ((TomcatWebServer) context.getWebServer()).getTomcat()
+            .getConnector().getProtocolHandler().getExecutor();
+
+        // When
+        Thread requestThread = CompletableFuture.supplyAsync(Thread::currentThread,
+            requestExecutor).get(10, TimeUnit.SECONDS);
+        Thread taskThread = applicationTaskExecutor.submit(Thread::currentThread)
+            .get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(isVirtual(requestThread));
+        assertTrue(requestThread.getName().startsWith("http-vt-"));
+        assertTrue(isVirtual(taskThread));
+        assertTrue(taskThread.getName().startsWith("task-vt-"));
+    }
+
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
@@ -15,7 +15,9 @@ import com.example.account.dto.AccountDto;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
 import com.example.account.exception.AccountException;
+import com.example.account.service.AccountBulkService;
 import com.example.account.service.AccountService;
+import com.example.account.service.AccountSummaryProjection;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -34,6 +36,12 @@ class AccountControllerTest {
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private AccountBulkService accountBulkService;
+
+    @MockBean
+    private AccountSummaryProjection accountSummaryProjection;
+
    @Autowired
    private MockMvc mockMvc;
 
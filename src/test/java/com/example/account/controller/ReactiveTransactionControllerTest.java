@@ -0,0 +1,216 @@
+package com.example.account.controller;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.service.AdmissionControlAspect;
+import com.example.account.service.ReactiveLockService;
+import com.example.account.service.ReactiveTransactionService;
+import com.example.account.type.ErrorCode;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(ReactiveTransactionController.class)
+@AutoConfigureWebTestClient(timeout = "10000")
+class ReactiveTransactionControllerTest {
+
+    @MockBean
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @MockBean
+    private ReactiveLockService reactiveLockService;
+
+    @MockBean
+    private AdmissionControlAspect admissionControlAspect;
+
+    private final AtomicInteger releasedSlots = new AtomicInteger();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void lockImmediately() {
+        given(reactiveLockService.executeLocked(anyString(), any()))
+            .willAnswer(invocation -> invocation.<Function<Long, Mono<?>>>getArgument(1)
+                .apply(1L));
+        given(admissionControlAspect.admit(any())).willReturn(releasedSlots::incrementAndGet);
+    }
+
+    @Test
+    void successUseBalance() {
+        // Given
+        given(reactiveTransactionService.useBalance(anyLong(), anyString(), any(), anyLong()))
+            .willReturn(Mono.just(TransactionDto.builder()
+                .accountNumber("1000000000")
+                .transactedAt(LocalDateTime.now())
+                .amount(12345L)
+                .transactionId("transactionId")
+                .transactionResultType(S)
+                .build()));
+
+        // When
+        // Then
+        webTestClient.post().uri("/transaction/use")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UseBalance.Request(1L, "2000000000", 3000L))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.accountNumber").isEqualTo("1000000000")
+            .jsonPath("$.transactionResult").isEqualTo("S")
+            .jsonPath("$.transactionId").isEqualTo("transactionId")
+            .jsonPath("$.amount").isEqualTo(12345);
+    }
+
+    @Test
+    void successCancelBalance() {
+        // Given
+        given(reactiveTransactionService.cancelBalance(anyString(), anyString(), any(),
+            anyLong()))
+            .willReturn(Mono.just(TransactionDto.builder()
+                .accountNumber("1000000000")
+                .transactedAt(LocalDateTime.now())
+                .amount(54321L)
+                .transactionId("transactionIdForCancel")
+                .transactionResultType(S)
+                .build()));
+
+        // When
+        // Then
+        webTestClient.post().uri("/transaction/cancel")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new CancelBalance.Request("transactionId", "2000000000", 3000L))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.accountNumber").isEqualTo("1000000000")
+            .jsonPath("$.transactionResult").isEqualTo("S")
+            .jsonPath("$.transactionId").isEqualTo("transactionIdForCancel")
+            .jsonPath("$.amount").isEqualTo(54321);
+    }
+
+    @Test
+    void successGetQueryTransaction() {
+        // Given
+        given(reactiveTransactionService.queryTransaction(anyString()))
+            .willReturn(Mono.just(TransactionDto.builder()
+                .accountNumber("1000000000")
+                .transactedAt(LocalDateTime.now())
+                .amount(54321L)
+                .transactionId("transactionIdForCancel")
+                .transactionType(USE)
+                .transactionResultType(S)
+                .build()));
+
+        // When
+        // Then
+        webTestClient.get().uri("/transaction/12345")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.accountNumber").isEqualTo("1000000000")
+            .jsonPath("$.transactionType").isEqualTo("USE")
+            .jsonPath("$.transactionResult").isEqualTo("S")
+            .jsonPath("$.transactionId").isEqualTo("transactionIdForCancel")
+            .jsonPath("$.amount").isEqualTo(54321);
+    }
+
+    @Test
+    void failCancelBalanceSavesFailedTransaction() {
+        // Given
+        given(reactiveTransactionService.cancelBalance(anyString(), anyString(), any(),
+            anyLong()))
+            .willReturn(Mono.error(new AccountException(ErrorCode.CANCEL_MUST_FULLY)));
+        given(reactiveTransactionService.saveFailedCancelTransaction(anyString(), any()))
+            .willReturn(Mono.empty());
+
+        // When
+        webTestClient.post().uri("/transaction/cancel")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new CancelBalance.Request("transactionId", "2000000000", 3000L))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.errorCode").isEqualTo("CANCEL_MUST_FULLY");
+
+        // Then
+        verify(reactiveTransactionService)
+            .saveFailedCancelTransaction(eq("2000000000"), eq(3000L));
+    }
+
+    @Test
+    void releaseAdmissionSlotAfterCancel() {
+        // Given
+        given(reactiveTransactionService.cancelBalance(anyString(), anyString(), any(),
+            anyLong()))
+            .willReturn(Mono.error(new AccountException(ErrorCode.CANCEL_MUST_FULLY)));
+        given(reactiveTransactionService.saveFailedCancelTransaction(anyString(), any()))
+            .willReturn(Mono.empty());
+
+        // When
+        webTestClient.post().uri("/transaction/cancel")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new CancelBalance.Request("transactionId", "2000000000", 3000L))
+            .exchange()
+            .expectStatus().isOk();
+
+        // Then
+        assertEquals(1, releasedSlots.get());
+    }
+
+    @Test
+    void rejectedByAdmission() {
+        // Given
+        given(admissionControlAspect.admit(any()))
+            .willThrow(new AccountException(ErrorCode.TOO_MANY_REQUESTS));
+
+        // When
+        webTestClient.post().uri("/transaction/use")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UseBalance.Request(1L, "2000000000", 3000L))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.errorCode").isEqualTo("TOO_MANY_REQUESTS");
+
+        // Then
+        verify(reactiveLockService, never()).executeLocked(anyString(), any());
+        verify(reactiveTransactionService, never()).saveFailedUseTransaction(anyString(), any());
+    }
+
+    @Test
+    void invalidRequest() {
+        // When
+        // Then
+        webTestClient.post().uri("/transaction/use")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new UseBalance.Request(1L, "2000", 3000L))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.errorCode").isEqualTo("INVALID_REQUEST");
+        verify(reactiveLockService, never()).executeLocked(anyString(), any());
+    }
+}
@@ -7,17 +7,22 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.account.domain.Account;
 import com.example.account.dto.AccountDto;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.TransactionDto;
 import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
 import com.example.account.service.TransactionService;
+import com.example.account.service.UseBalanceBatcher;
+import com.example.account.type.ErrorCode;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
@@ -28,6 +33,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(TransactionController.class)
@@ -36,6 +42,9 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private UseBalanceBatcher useBalanceBatcher;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -70,6 +79,27 @@ class TransactionControllerTest {
             .andExpect(jsonPath("$.amount").value(12345L));
     }
 
+    @Test
+    void failUseBalanceOnStaleAccount() throws Exception {
+        // Given
+        given(transactionService.useBalance(anyLong(), anyString(), any()))
+            .willThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L));
+        given(transactionService.staleEntity(any()))
+            .willReturn(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+
+        // When
+        // Then
+        mockMvc.perform(post("/transaction/use")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(
+                new UseBalance.Request(1L, "2000000000", 3000L)
+            ))
+        ).andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.errorCode").value("ACCOUNT_TRANSACTION_LOCK"));
+        verify(transactionService).saveFailedUseTransaction("2000000000", 3000L);
+    }
+
     @Test
     void successCancelBalance() throws Exception {
         // Given
@@ -0,0 +1,47 @@
+package com.example.account.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LoadTestRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("H2 로컬 프로필로 부하 시나리오 하나를 끝까지 실행한다")
+    void runsOneScenarioAgainstLocalProfile() throws Exception {
+        // Given
+        Path baseline = tempDir.resolve("baseline.json");
+        LoadTestConfig config = LoadTestConfig.parse(new String[]{
+            "--loadtest.users=2",
+            "--loadtest.accounts-per-user=4",
+            "--loadtest.threads=2",
+            "--loadtest.warmup-seconds=0",
+            "--loadtest.duration-seconds=4",
+            "--loadtest.zipf-theta=0.5",
+            "--loadtest.mix=use=1,query-accounts=9",
+            "--loadtest.save-baseline=" + baseline,
+            "--spring.redis.port=6398",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest"
+        });
+
+        // When
+        boolean passed = LoadTestRunner.run(config);
+
+        // Then
+        assertTrue(passed);
+        JsonNode report = new ObjectMapper().readTree(baseline.toFile());
+        assertTrue(report.path("use").path("throughput").asDouble() > 0);
+        assertTrue(report.path("use").path("errorRate").asDouble() < 1.0);
+        assertTrue(report.path("query-accounts").path("throughput").asDouble() > 0);
+        assertEquals(0.0, report.path("query-accounts").path("errorRate").asDouble());
+    }
+}
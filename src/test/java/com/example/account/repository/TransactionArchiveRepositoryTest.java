@@ -0,0 +1,137 @@
+package com.example.account.repository;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.account.domain.ArchivedTransaction;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TransactionArchiveRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다시 불러온 보관소에서 거래 ID로 조회")
+    void findByTransactionIdAfterReload() {
+        // Given
+        TransactionArchiveRepository repository = newRepository();
+        repository.append(transactions(0, 1000, "1000000000"));
+        repository.append(transactions(1000, 500, "1000000001"));
+        repository.close();
+
+        // When
+        TransactionArchiveRepository reloaded = newRepository();
+        Optional<ArchivedTransaction> found = reloaded.findByTransactionId(transactionId(1234));
+
+        // Then
+        assertTrue(found.isPresent());
+        assertEquals("1000000001", found.get().getAccountNumber());
+        assertEquals(1234L, found.get().getAmount());
+        assertEquals(BASE.plusMinutes(1234), found.get().getTransactedAt());
+        assertEquals(USE, found.get().getTransactionType());
+        assertEquals(2, reloaded.getRunCount());
+        assertFalse(reloaded.findByTransactionId("unknown").isPresent());
+    }
+
+    @Test
+    @DisplayName("계좌번호와 기간으로 보관된 거래 조회")
+    void findByAccountNumberInTimeRange() {
+        // Given
+        TransactionArchiveRepository repository = newRepository();
+        repository.append(transactions(0, 300, "1000000000"));
+        repository.append(transactions(300, 300, "1000000001"));
+
+        // When
+        List<ArchivedTransaction> found = repository.findByAccountNumber("1000000000",
+            BASE.plusMinutes(10), BASE.plusMinutes(19));
+
+        // Then
+        assertEquals(10, found.size());
+        assertEquals(transactionId(10), found.get(0).getTransactionId());
+        assertEquals(transactionId(19), found.get(9).getTransactionId());
+    }
+
+    @Test
+    @DisplayName("보관 런을 하나로 합치고 중복 거래 제거")
+    void compactRunsIntoOne() {
+        // Given
+        TransactionArchiveRepository repository = newRepository();
+        repository.append(transactions(0, 300, "1000000000"));
+        repository.append(transactions(300, 300, "1000000001"));
+        repository.append(transactions(250, 100, "1000000001"));
+
+        // When
+        int merged = repository.compact();
+        repository.compact();
+        repository.close();
+
+        // Then
+        assertEquals(3, merged);
+        TransactionArchiveRepository reloaded = newRepository();
+        assertEquals(1, reloaded.getRunCount());
+        assertFalse(reloaded.findByTransactionId(transactionId(1234)).isPresent());
+        assertEquals(299L, reloaded.findByTransactionId(transactionId(299)).get().getAmount());
+        assertEquals(599L, reloaded.findByTransactionId(transactionId(599)).get().getAmount());
+        List<String> ids = new ArrayList<>();
+        reloaded.forEachTransactionId(ids::add);
+        assertEquals(600, ids.size());
+    }
+
+    @Test
+    @DisplayName("보관된 최대 거래 ID를 다시 불러옴")
+    void archivedUpToIdAfterReload() {
+        // Given
+        TransactionArchiveRepository repository = newRepository();
+        repository.append(transactions(0, 300, "1000000000"));
+        repository.append(transactions(100, 50, "1000000000"));
+        repository.close();
+
+        // When
+        TransactionArchiveRepository reloaded = newRepository();
+
+        // Then
+        assertEquals(299L, reloaded.getArchivedUpToId());
+    }
+
+    private TransactionArchiveRepository newRepository() {
+        TransactionArchiveRepository repository =
+            new TransactionArchiveRepository(directory.toString(), 64, 4096, 1);
+        repository.load();
+        return repository;
+    }
+
+    private static List<ArchivedTransaction> transactions(int from, int count,
+        String accountNumber) {
+        List<ArchivedTransaction> transactions = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            transactions.add(ArchivedTransaction.builder()
+                .id(i)
+                .transactionId(transactionId(i))
+                .accountNumber(accountNumber)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(i)
+                .balanceSnapshot(10000L - i)
+                .transactedAt(BASE.plusMinutes(i))
+                .build());
+        }
+        return transactions;
+    }
+
+    private static String transactionId(int i) {
+        return Integer.toHexString(i * 7919 + 17) + "transaction";
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountRepository.UserAccountCount;
+import com.example.account.repository.AccountUserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AccountBulkServiceTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AccountUserRepository accountUserRepository =
+        mock(AccountUserRepository.class);
+    private final AccountSummaryProjection accountSummaryProjection =
+        mock(AccountSummaryProjection.class);
+    private final ExistenceFilters existenceFilters = mock(ExistenceFilters.class);
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RLock rLock = mock(RLock.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AccountBulkService accountBulkService;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        accountBulkService = new AccountBulkService(accountRepository, accountUserRepository,
+            accountSummaryProjection, mock(AccountIndex.class), existenceFilters,
+            mock(ReplicaLagGuard.class), new AccountNumberLock(redissonClient, 1000, 60000),
+            objectMapper, mock(PlatformTransactionManager.class), 2, 3);
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willReturn(true);
+        given(accountUserRepository.findAllById(any())).willReturn(List.of(
+            AccountUser.builder().id(1L).name("Pororo").build(),
+            AccountUser.builder().id(2L).name("Lupi").build()));
+        given(accountRepository.findFirstByOrderByAccountNumberDesc())
+            .willReturn(Optional.of(Account.builder().accountNumber("1000000012").build()));
+    }
+
+    @Test
+    @DisplayName("입력 한 줄마다 결과 한 줄을 돌려준다")
+    void createAccounts_resultPerLine() throws IOException {
+        // Given
+        given(accountRepository.countByAccountUserIds(any()))
+            .willReturn(Collections.emptyList());
+
+        // When
+        List<JsonNode> results = createAccounts(
+            "{\"userId\":1,\"initialBalance\":1000}",
+            "{\"userId\":99,\"initialBalance\":1000}",
+            "",
+            "not json",
+            "{\"userId\":2,\"initialBalance\":-1}",
+            "{\"userId\":2,\"initialBalance\":0}");
+
+        // Then
+        assertEquals(5, results.size());
+        assertEquals(1, results.get(0).get("line").asLong());
+        assertEquals("1000000013", results.get(0).get("accountNumber").asText());
+        assertFalse(results.get(0).has("errorCode"));
+        assertEquals("USER_NOT_FOUND", results.get(1).get("errorCode").asText());
+        assertEquals(4, results.get(2).get("line").asLong());
+        assertEquals("INVALID_REQUEST", results.get(2).get("errorCode").asText());
+        assertEquals("INVALID_REQUEST", results.get(3).get("errorCode").asText());
+        assertEquals("1000000013", results.get(4).get("accountNumber").asText());
+        verify(accountRepository, times(2)).flush();
+    }
+
+    @Test
+    @DisplayName("청크 안에서도 유저 당 최대 계좌 10개를 지킨다")
+    void createAccounts_maxAccountIs10() throws IOException {
+        // Given
+        given(accountRepository.countByAccountUserIds(any()))
+            .willReturn(List.of(accountCount(1L, 9L)));
+
+        // When
+        List<JsonNode> results = createAccounts(
+            "{\"userId\":1,\"initialBalance\":1000}",
+            "{\"userId\":1,\"initialBalance\":1000}");
+
+        // Then
+        assertEquals("1000000013", results.get(0).get("accountNumber").asText());
+        assertEquals("MAX_ACCOUNT_PER_USER_10", results.get(1).get("errorCode").asText());
+    }
+
+    @Test
+    @DisplayName("계좌번호가 겹치면 새 범위로 청크를 다시 시도한다")
+    void createAccounts_retriesOnCollision() throws IOException {
+        // Given
+        given(accountRepository.countByAccountUserIds(any()))
+            .willReturn(Collections.emptyList());
+        given(accountRepository.findFirstByOrderByAccountNumberDesc())
+            .willReturn(Optional.of(Account.builder().accountNumber("1000000012").build()))
+            .willReturn(Optional.of(Account.builder().accountNumber("1000000013").build()));
+        List<List<Account>> saved = new ArrayList<>();
+        willThrow(new DataIntegrityViolationException("duplicate"))
+            .willAnswer(invocation -> null)
+            .given(accountRepository).flush();
+        given(accountRepository.saveAll(any())).willAnswer(invocation -> {
+            saved.add(new ArrayList<>(invocation.getArgument(0)));
+            return invocation.getArgument(0);
+        });
+
+        // When
+        List<JsonNode> results = createAccounts(
+            "{\"userId\":1,\"initialBalance\":1000}",
+            "{\"userId\":2,\"initialBalance\":1000}");
+
+        // Then
+        assertEquals(2, saved.size());
+        assertEquals("1000000014", results.get(0).get("accountNumber").asText());
+        assertEquals("1000000015", results.get(1).get("accountNumber").asText());
+        verify(accountSummaryProjection, times(1)).accountsCreated(any());
+        verify(existenceFilters, times(1)).accountsCreated(any());
+        verify(existenceFilters).accountsCreated(List.of("1000000014", "1000000015"));
+    }
+
+    private List<JsonNode> createAccounts(String... lines) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        accountBulkService.createAccounts(new ByteArrayInputStream(
+            String.join("\n", lines).getBytes(StandardCharsets.UTF_8)), output);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+
+    private static UserAccountCount accountCount(Long userId, Long count) {
+        return new UserAccountCount() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getAccountCount() {
+                return count;
+            }
+        };
+    }
+}
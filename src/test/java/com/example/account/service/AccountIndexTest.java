@@ -0,0 +1,172 @@
+package com.example.account.service;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.AccountStatus.UNREGISTERED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountRepository.IndexedAccount;
+import com.example.account.type.AccountStatus;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AccountIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+
+    @Test
+    @DisplayName("DB에서 인덱스 생성 후 조회")
+    void rebuildAndFind() throws Exception {
+        // Given
+        given(accountRepository.findIndexedAccounts(eq(0L), any())).willReturn(List.of(
+            indexed(1L, "1000000000", 12L, IN_USE),
+            indexed(2L, "1000000001", 13L, UNREGISTERED)));
+        AccountIndex index = newIndex();
+
+        // When
+        index.accountSaved(Account.builder()
+            .id(3L)
+            .accountNumber("1000000002")
+            .accountUser(AccountUser.builder().id(12L).build())
+            .accountStatus(IN_USE)
+            .build());
+
+        // Then
+        AccountIndex.Entry first = index.find("1000000000").get();
+        assertEquals(1L, first.getAccountId());
+        assertEquals(12L, first.getUserId());
+        assertEquals(IN_USE, first.getAccountStatus());
+        assertEquals(UNREGISTERED, index.find("1000000001").get().getAccountStatus());
+        assertEquals(3L, index.find("1000000002").get().getAccountId());
+        assertFalse(index.find("1000000003").isPresent());
+        assertFalse(index.find("not-a-number").isPresent());
+        index.close();
+    }
+
+    @Test
+    @DisplayName("계좌번호 형식이 다르면 같은 숫자라도 찾지 않음")
+    void findOnlyTenDigitAccountNumbers() throws Exception {
+        // Given
+        given(accountRepository.findIndexedAccounts(eq(0L), any())).willReturn(List.of(
+            indexed(1L, "1000000012", 12L, IN_USE)));
+
+        // When
+        AccountIndex index = newIndex();
+
+        // Then
+        assertTrue(index.find("1000000012").isPresent());
+        assertFalse(index.find("01000000012").isPresent());
+        assertFalse(index.find("001000000012").isPresent());
+        assertFalse(index.find("100000012").isPresent());
+        index.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷에서 인덱스 복원")
+    void restoreFromSnapshot() throws Exception {
+        // Given
+        given(accountRepository.findIndexedAccounts(eq(0L), any())).willReturn(List.of(
+            indexed(1L, "1000000000", 12L, IN_USE)));
+        AccountIndex index = newIndex();
+        index.close();
+        given(accountRepository.findIndexedAccountsUpdatedSince(eq(0L), any(), any()))
+            .willReturn(List.of(indexed(1L, "1000000000", 12L, UNREGISTERED)));
+        given(accountRepository.count()).willReturn(1L);
+
+        // When
+        AccountIndex restarted = newIndex();
+
+        // Then
+        verify(accountRepository).findIndexedAccounts(anyLong(), any());
+        assertEquals(UNREGISTERED, restarted.find("1000000000").get().getAccountStatus());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷이 오래되면 인덱스 재생성")
+    void rebuildWhenSnapshotIsOutOfDate() throws Exception {
+        // Given
+        given(accountRepository.findIndexedAccounts(eq(0L), any())).willReturn(List.of(
+            indexed(1L, "1000000000", 12L, IN_USE)));
+        newIndex().close();
+        AccountRepository resetRepository = mock(AccountRepository.class);
+        given(resetRepository.findIndexedAccountsUpdatedSince(eq(0L), any(), any()))
+            .willReturn(List.of());
+        given(resetRepository.findIndexedAccounts(eq(0L), any())).willReturn(List.of());
+
+        // When
+        AccountIndex restarted = new AccountIndex(resetRepository, true,
+            directory.resolve("accounts.idx").toString(), 1000);
+        restarted.afterSingletonsInstantiated();
+
+        // Then
+        verify(resetRepository).findIndexedAccounts(eq(0L), any());
+        assertFalse(restarted.find("1000000000").isPresent());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("인덱스 비활성화 - 조회 결과 없음")
+    void disabled() throws Exception {
+        // Given
+        AccountIndex index = new AccountIndex(accountRepository, false,
+            directory.resolve("accounts.idx").toString(), 1000);
+
+        // When
+        index.afterSingletonsInstantiated();
+
+        // Then
+        verify(accountRepository, never()).findIndexedAccounts(anyLong(), any());
+        assertFalse(index.find("1000000000").isPresent());
+        index.close();
+    }
+
+    private AccountIndex newIndex() {
+        AccountIndex index = new AccountIndex(accountRepository, true,
+            directory.resolve("accounts.idx").toString(), 1000);
+        index.afterSingletonsInstantiated();
+        return index;
+    }
+
+    private static IndexedAccount indexed(Long id, String accountNumber, Long userId,
+        AccountStatus accountStatus) {
+        return new IndexedAccount() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getAccountNumber() {
+                return accountNumber;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public AccountStatus getAccountStatus() {
+                return accountStatus;
+            }
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AccountMailboxExecutorTest {
+
+    private AccountMailboxExecutor mailboxExecutor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        mailboxExecutor = new AccountMailboxExecutor(new SimpleMeterRegistry(),
+            true, 4, 8, 1000, 5000);
+        mailboxExecutor.start();
+        callers = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        mailboxExecutor.stop();
+    }
+
+    @Test
+    @DisplayName("같은 계좌의 작업은 겹치지 않고 순서대로 실행된다")
+    void runOperationsOfOneAccountSerially() throws Exception {
+        // Given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        long[] balance = {0};
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 400; i++) {
+            futures.add(submit("1000000000", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                long read = balance[0];
+                Thread.yield();
+                balance[0] = read + 1;
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertEquals(1, maxRunning.get());
+        assertEquals(400, balance[0]);
+    }
+
+    @Test
+    @DisplayName("다른 계좌의 작업은 동시에 실행된다")
+    void runDifferentAccountsInParallel() throws Exception {
+        // Given
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        // When
+        Future<Boolean> first = submit("1000000000", () -> {
+            bothRunning.countDown();
+            return bothRunning.await(5, TimeUnit.SECONDS);
+        });
+        Future<Boolean> second = submit("1000000001", () -> {
+            bothRunning.countDown();
+            return bothRunning.await(5, TimeUnit.SECONDS);
+        });
+
+        // Then
+        assertTrue(first.get(10, TimeUnit.SECONDS));
+        assertTrue(second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("작업 예외는 호출자에게 그대로 전달되고 같은 계좌 재진입은 즉시 실행된다")
+    void propagateExceptionsAndRunReentrantCallsInline() throws Throwable {
+        // Given
+        AccountException failure = new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> mailboxExecutor.call("1000000000", () -> {
+                throw failure;
+            }));
+        String nested = mailboxExecutor.call("1000000000",
+            () -> mailboxExecutor.call("1000000000", () -> "nested"));
+
+        // Then
+        assertSame(failure, exception);
+        assertEquals("nested", nested);
+    }
+
+    @Test
+    @DisplayName("종료 시 처리 중인 메일박스에 남은 작업도 실패로 끝낸다")
+    void failQueuedOperationsOfBusyMailboxOnStop() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        Future<String> running = submit("1000000000", () -> {
+            started.countDown();
+            new CountDownLatch(1).await();
+            return "never";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = submit("1000000000", () -> "queued");
+        Thread.sleep(100);
+
+        // When
+        mailboxExecutor.stop();
+
+        // Then
+        Exception runningFailure = assertThrows(Exception.class,
+            () -> running.get(5, TimeUnit.SECONDS));
+        assertTrue(runningFailure.getCause() instanceof InterruptedException);
+        Exception queuedFailure = assertThrows(Exception.class,
+            () -> queued.get(5, TimeUnit.SECONDS));
+        assertTrue(queuedFailure.getCause() instanceof IllegalStateException);
+    }
+
+    private <T> Future<T> submit(String accountNumber, AccountMailboxExecutor.Task<T> task) {
+        return callers.submit(() -> {
+            try {
+                return mailboxExecutor.call(accountNumber, task);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
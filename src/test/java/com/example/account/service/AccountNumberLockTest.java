@@ -0,0 +1,72 @@
+package com.example.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class AccountNumberLockTest {
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RLock rLock = mock(RLock.class);
+    private final AccountNumberLock accountNumberLock =
+        new AccountNumberLock(redissonClient, 1000, 60000);
+
+    @BeforeEach
+    void setUp() {
+        given(redissonClient.getLock("ACBULK")).willReturn(rLock);
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 끝날 때까지 잠금을 유지한다")
+    void holdUntilCompletion() throws InterruptedException {
+        // Given
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // When
+            accountNumberLock.lockUntilCompletion();
+            verify(rLock, never()).unlock();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            // Then
+            verify(rLock).unlock();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("잠금을 얻지 못하면 실패한다")
+    void failWhenLockTimesOut() throws InterruptedException {
+        // Given
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willReturn(false);
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountNumberLock.runLocked(() -> {
+            }));
+
+        // Then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.example.account.config.AccountAffinityProperties;
+import com.example.account.config.RedisRepositoryConfig;
+import com.example.account.config.RedissonProperties;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import redis.embedded.RedisServer;
+
+class AccountOwnershipTest {
+
+    private static final int PORT = 6392;
+    private static final int PARTITIONS = 32;
+
+    private static RedisServer redisServer;
+    private static RedissonClient redissonClient;
+    private static RedissonClient otherRedissonClient;
+
+    private AccountOwnership node1;
+    private AccountOwnership node2;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        redissonClient = Redisson.create(
+            RedisRepositoryConfig.createConfig(new RedissonProperties(), "127.0.0.1", PORT));
+        otherRedissonClient = Redisson.create(
+            RedisRepositoryConfig.createConfig(new RedissonProperties(), "127.0.0.1", PORT));
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redissonClient.shutdown();
+        otherRedissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redissonClient.getKeys().flushall();
+        node1 = new AccountOwnership(redissonClient, properties("node-1"), 8081);
+        node2 = new AccountOwnership(redissonClient, properties("node-2"), 8082);
+    }
+
+    @Test
+    @DisplayName("두 노드가 파티션을 겹치지 않게 나누어 소유한다")
+    void partitionsAreSplitBetweenNodes() {
+        // Given
+        node1.refresh();
+        node2.refresh();
+
+        // When
+        node1.refresh();
+        node2.refresh();
+        node1.refresh();
+
+        // Then
+        int owned1 = 0;
+        for (int i = 0; i < 1000; i++) {
+            String accountNumber = String.valueOf(1000000000 + i);
+            boolean ownedBy1 = node1.isOwner(accountNumber);
+            boolean ownedBy2 = node2.isOwner(accountNumber);
+            assertNotEquals(ownedBy1, ownedBy2, accountNumber);
+            if (ownedBy1) {
+                owned1++;
+                assertEquals(Optional.of("http://127.0.0.1:8081"),
+                    node2.findRemoteOwner(accountNumber));
+                assertNotEquals(0, node1.exclusiveEpoch(accountNumber));
+            } else {
+                assertEquals(Optional.of("http://127.0.0.1:8082"),
+                    node1.findRemoteOwner(accountNumber));
+                assertEquals(0, node1.exclusiveEpoch(accountNumber));
+            }
+        }
+        assertTrue(owned1 > 0 && owned1 < 1000);
+    }
+
+    @Test
+    @DisplayName("노드가 떠나면 남은 노드가 파티션을 넘겨받는다")
+    void partitionsMoveWhenNodeLeaves() {
+        // Given
+        node1.refresh();
+        node2.refresh();
+        node1.refresh();
+        node2.refresh();
+        String accountNumber = findAccountOwnedBy(node2);
+        long epoch = node1.exclusiveEpoch(findAccountOwnedBy(node1));
+
+        // When
+        node2.release();
+        node1.refresh();
+
+        // Then
+        assertFalse(node2.isOwner(accountNumber));
+        assertTrue(node1.isOwner(accountNumber));
+        assertEquals(Optional.empty(), node1.findRemoteOwner(accountNumber));
+        assertNotEquals(epoch, node1.exclusiveEpoch(accountNumber));
+    }
+
+    @Test
+    @DisplayName("두 노드가 동시에 단독 소유자라고 믿어도 펜싱된 계좌 락이 충돌을 막는다")
+    void twoExclusiveOwnersConflictOnAccountLock() throws Throwable {
+        // Given
+        node1.refresh();
+        String accountNumber = findAccountOwnedBy(node1);
+        redissonClient.getKeys().flushall();
+        node2.refresh();
+        assertNotEquals(0, node1.exclusiveEpoch(accountNumber));
+        assertNotEquals(0, node2.exclusiveEpoch(accountNumber));
+
+        LockFencing fencing1 = new LockFencing(redissonClient, true);
+        LockFencing fencing2 = new LockFencing(otherRedissonClient, true);
+        LockAopAspect aspect1 = lockAspect(redissonClient, node1, fencing1);
+        LockAopAspect aspect2 = lockAspect(otherRedissonClient, node2, fencing2);
+        UseBalance.Request request = new UseBalance.Request(1L, accountNumber, 100L);
+
+        ProceedingJoinPoint write2 = mock(ProceedingJoinPoint.class);
+        given(write2.proceed()).willAnswer(invocation -> fencing2.current(accountNumber));
+        long[] token1 = new long[1];
+        AccountException[] conflict = new AccountException[1];
+        ProceedingJoinPoint write1 = mock(ProceedingJoinPoint.class);
+        given(write1.proceed()).willAnswer(invocation -> {
+            token1[0] = fencing1.current(accountNumber);
+            conflict[0] = assertThrows(AccountException.class,
+                () -> aspect2.aroundMethod(write2, request));
+            return token1[0];
+        });
+
+        // When
+        aspect1.aroundMethod(write1, request);
+        long token2 = (long) aspect2.aroundMethod(write2, request);
+
+        // Then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, conflict[0].getErrorCode());
+        assertTrue(token1[0] > 0);
+        assertTrue(token2 > token1[0]);
+    }
+
+    private static String findAccountOwnedBy(AccountOwnership node) {
+        for (int i = 0; ; i++) {
+            String accountNumber = String.valueOf(1000000000 + i);
+            if (node.isOwner(accountNumber)) {
+                return accountNumber;
+            }
+        }
+    }
+
+    private static LockAopAspect lockAspect(RedissonClient client, AccountOwnership node,
+        LockFencing lockFencing) {
+        AccountShardService accountShardService = mock(AccountShardService.class);
+        AccountMailboxExecutor accountMailboxExecutor = mock(AccountMailboxExecutor.class);
+        LockService lockService = new LockService(client, new LocalLockQueue(false),
+            new LockMetrics(new SimpleMeterRegistry()), lockFencing);
+        return new LockAopAspect(lockService, accountShardService, node, lockFencing,
+            accountMailboxExecutor);
+    }
+
+    private static AccountAffinityProperties properties(String nodeId) {
+        AccountAffinityProperties properties = new AccountAffinityProperties();
+        properties.setEnabled(true);
+        properties.setNodeId(nodeId);
+        properties.setPartitions(PARTITIONS);
+        properties.setExclusiveAfterMs(0);
+        return properties;
+    }
+}
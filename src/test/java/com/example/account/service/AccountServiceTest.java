@@ -6,6 +6,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -19,11 +21,14 @@ import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -37,6 +42,33 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private AccountSummaryProjection accountSummaryProjection;
+
+    @Mock
+    private AccountShardService accountShardService;
+
+    @Mock
+    private OwnedAccountCache ownedAccountCache;
+
+    @Mock
+    private AccountUserCache accountUserCache;
+
+    @Mock
+    private AccountIndex accountIndex;
+
+    @Mock
+    private ExistenceFilters existenceFilters;
+
+    @Mock
+    private LedgerJournal ledgerJournal;
+
+    @Mock
+    private AccountNumberLock accountNumberLock;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -51,7 +83,7 @@ class AccountServiceTest {
         given(accountUserRepository.findById(anyLong()))
             .willReturn(Optional.of(user));
 
-        given(accountRepository.findFirstByOrderByIdDesc())
+        given(accountRepository.findFirstByOrderByAccountNumberDesc())
             .willReturn(Optional.of(Account.builder()
                 .accountNumber("1000000012").build()));
 
@@ -83,7 +115,7 @@ class AccountServiceTest {
         given(accountUserRepository.findById(anyLong()))
             .willReturn(Optional.of(user));
 
-        given(accountRepository.findFirstByOrderByIdDesc())
+        given(accountRepository.findFirstByOrderByAccountNumberDesc())
             .willReturn(Optional.empty());
 
         given(accountRepository.save(any()))
@@ -138,6 +170,34 @@ class AccountServiceTest {
 
         // Then
         assertEquals(ErrorCode.MAX_ACCOUNT_PER_USER_10, exception.getErrorCode());
+        verify(accountNumberLock, never()).lockUntilCompletion();
+    }
+
+    @Test
+    @DisplayName("계좌번호 잠금을 잡은 뒤 마지막 계좌번호를 읽는다")
+    void createAccount_locksBeforeNumbering() {
+        // Given
+        AccountUser user = AccountUser.builder()
+            .id(12L)
+            .name("dooli")
+            .build();
+        given(accountUserRepository.findById(anyLong()))
+            .willReturn(Optional.of(user));
+        given(accountRepository.findFirstByOrderByAccountNumberDesc())
+            .willReturn(Optional.empty());
+        given(accountRepository.save(any()))
+            .willReturn(Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000000").build());
+
+        // When
+        accountService.createAccount(12L, 1000L);
+
+        // Then
+        InOrder inOrder = inOrder(accountNumberLock, accountRepository);
+        inOrder.verify(accountNumberLock).lockUntilCompletion();
+        inOrder.verify(accountRepository).findFirstByOrderByAccountNumberDesc();
+        inOrder.verify(accountRepository).save(any());
     }
 
     @Test
@@ -271,6 +331,36 @@ class AccountServiceTest {
         assertEquals(ErrorCode.BALANCE_NOT_EMPTY, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("반영 대기 중인 취소 금액도 잔액이다 - 계좌 해지 실패")
+    void deleteAccountFailed_pendingJournalCredit() {
+        // Given
+        AccountUser dooli = AccountUser.builder()
+            .id(12L)
+            .name("dooli")
+            .build();
+
+        given(accountUserRepository.findById(anyLong()))
+            .willReturn(Optional.of(dooli));
+        given(ledgerJournal.getPendingDeltas(anyString()))
+            .willReturn(new TreeMap<>(Map.of(3L, 1000L)));
+
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(Account.builder()
+                .accountUser(dooli)
+                .balance(0L)
+                .journalSeq(2L)
+                .accountNumber("1000000012")
+                .build()));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountService.deleteAccount(12L, "1000000012"));
+
+        // then
+        assertEquals(ErrorCode.BALANCE_NOT_EMPTY, exception.getErrorCode());
+    }
+
     @Test
     @DisplayName("계좌가 이미 해지되었다 - 계좌 해지 실패")
     void deleteAccountFailed_alreadyUnregistered() {
@@ -299,6 +389,24 @@ class AccountServiceTest {
         assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("색인된 계좌가 이미 해지되었다 - 계좌 조회 없이 계좌 해지 실패")
+    void deleteAccountFailed_indexedAlreadyUnregistered() {
+        // Given
+        given(accountUserRepository.findById(12L))
+            .willReturn(Optional.of(AccountUser.builder().id(12L).name("Pobi").build()));
+        given(accountIndex.find("1000000012"))
+            .willReturn(Optional.of(new AccountIndex.Entry(1L, 12L, AccountStatus.UNREGISTERED)));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountService.deleteAccount(12L, "1000000012"));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
     @Test
     void successGetAccountsByUserId() {
         // Given
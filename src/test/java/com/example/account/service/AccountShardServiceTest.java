@@ -0,0 +1,173 @@
+package com.example.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountShard;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountShardRepository;
+import com.example.account.type.ErrorCode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class AccountShardServiceTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AccountShardRepository accountShardRepository =
+        mock(AccountShardRepository.class);
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RLock rLock = mock(RLock.class);
+    private final LedgerJournal ledgerJournal = mock(LedgerJournal.class);
+
+    private AccountShardService accountShardService;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        accountShardService = new AccountShardService(accountRepository, accountShardRepository,
+            redissonClient, ledgerJournal, 1000, 15000, 5000);
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("분할 시 잔액을 샤드에 고르게 나눈다")
+    void enableSharding_splitsBalance() {
+        // Given
+        Account account = Account.builder().accountNumber("1000000000").balance(10003L).build();
+
+        // When
+        long balance = accountShardService.enableSharding(account, 4);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AccountShard>> captor = ArgumentCaptor.forClass(List.class);
+        verify(accountShardRepository).saveAll(captor.capture());
+        assertEquals(10003L, balance);
+        assertEquals(0L, account.getBalance());
+        assertEquals(4, account.getShardCount());
+        assertEquals(2503L, captor.getValue().get(0).getBalance());
+        assertEquals(2500L, captor.getValue().get(3).getBalance());
+        assertEquals(true, accountShardService.isSharded("1000000000"));
+    }
+
+    @Test
+    @DisplayName("이미 분할된 계좌 - 분할 실패")
+    void enableSharding_alreadySharded() {
+        // Given
+        Account account = Account.builder().accountNumber("1000000000").balance(0L)
+            .shardCount(2).build();
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountShardService.enableSharding(account, 4));
+
+        // Then
+        assertEquals(ErrorCode.ACCOUNT_ALREADY_SHARDED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("거래 기록 모드에서는 분할할 수 없다")
+    void enableSharding_journalEnabled() {
+        // Given
+        Account account = Account.builder().accountNumber("1000000000").balance(1000L).build();
+        given(ledgerJournal.isEnabled()).willReturn(true);
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountShardService.enableSharding(account, 4));
+
+        // Then
+        assertEquals(ErrorCode.SHARDING_NOT_AVAILABLE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액이 충분한 샤드에서 출금한다")
+    void useBalance_fromSingleShard() {
+        // Given
+        Account account = Account.builder().accountNumber("1000000000").shardCount(2).build();
+        List<AccountShard> shards = givenShards(account, 1000L, 1000L);
+        given(accountShardRepository.sumBalanceByAccount(account)).willReturn(1700L);
+
+        // When
+        long balance = accountShardService.useBalance(account, 300L);
+
+        // Then
+        assertEquals(1700L, balance);
+        assertEquals(1700L, shards.get(0).getBalance() + shards.get(1).getBalance());
+    }
+
+    @Test
+    @DisplayName("단일 샤드 잔액이 부족하면 재분배 후 출금한다")
+    void useBalance_rebalancesWhenShardsAreDry() {
+        // Given
+        Account account = Account.builder().accountNumber("1000000000").shardCount(2).build();
+        List<AccountShard> shards = givenShards(account, 600L, 600L);
+
+        // When
+        long balance = accountShardService.useBalance(account, 1000L);
+
+        // Then
+        assertEquals(200L, balance);
+        assertEquals(100L, shards.get(0).getBalance());
+        assertEquals(100L, shards.get(1).getBalance());
+        verify(rLock, times(2)).unlock();
+    }
+
+    @Test
+    @DisplayName("샤드 잔액 합이 부족 - 출금 실패")
+    void useBalance_amountExceedBalance() {
+        // Given
+        Account account = Account.builder().accountNumber("1000000000").shardCount(2).build();
+        givenShards(account, 600L, 600L);
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountShardService.useBalance(account, 1500L));
+
+        // Then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    private List<AccountShard> givenShards(Account account, long... balances) {
+        List<AccountShard> shards = new ArrayList<>();
+        for (int i = 0; i < balances.length; i++) {
+            AccountShard shard = AccountShard.builder()
+                .account(account).shardIndex(i).balance(balances[i]).build();
+            shards.add(shard);
+        }
+        given(accountShardRepository.findByAccountAndShardIndex(any(), anyInt()))
+            .willAnswer(invocation -> Optional.of(shards.get(invocation.getArgument(1))));
+        given(accountShardRepository.findBalanceByAccountAndShardIndex(any(), anyInt()))
+            .willAnswer(invocation -> Optional.of(
+                shards.get(invocation.<Integer>getArgument(1)).getBalance()));
+        return shards;
+    }
+}
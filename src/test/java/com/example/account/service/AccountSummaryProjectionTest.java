@@ -0,0 +1,180 @@
+package com.example.account.service;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.AccountStatus.UNREGISTERED;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.example.account.config.RedisRepositoryConfig;
+import com.example.account.config.RedissonProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountSummary;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountShardRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.TransactionType;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import redis.embedded.RedisServer;
+
+class AccountSummaryProjectionTest {
+
+    private static final int PORT = 6391;
+
+    private static RedisServer redisServer;
+    private static RedissonClient redissonClient;
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AccountUserRepository accountUserRepository = mock(AccountUserRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final AccountShardRepository accountShardRepository =
+        mock(AccountShardRepository.class);
+    private AccountSummaryProjection projection;
+
+    private final AccountUser user = AccountUser.builder().id(12L).name("Dooli").build();
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        redissonClient = Redisson.create(
+            RedisRepositoryConfig.createConfig(new RedissonProperties(), "127.0.0.1", PORT));
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redissonClient.getKeys().flushall();
+        projection = new AccountSummaryProjection(redissonClient, accountRepository,
+            accountUserRepository, transactionRepository, accountShardRepository, 1000);
+        projection.init();
+    }
+
+    @Test
+    @DisplayName("거래마다 계좌 요약 갱신")
+    void applyIncrementalUpdates() {
+        // Given
+        Account first = account("1000000012", 10000L);
+        given(accountUserRepository.findById(12L)).willReturn(Optional.of(user));
+        given(accountRepository.findByAccountUser(user))
+            .willReturn(Collections.singletonList(first));
+        projection.accountCreated(first);
+
+        Account second = account("1000000013", 0L);
+        projection.accountCreated(second);
+
+        // When
+        projection.balanceChanged(first, transaction(USE, 3000L, 7000L));
+        projection.balanceChanged(first, transaction(CANCEL, 1000L, 8000L));
+        second.setAccountStatus(UNREGISTERED);
+        projection.accountStatusChanged(second);
+
+        // Then
+        AccountSummary summary = projection.getSummary(12L).get();
+        assertEquals(2, summary.getAccounts().size());
+        assertEquals(8000L, summary.getAccounts().get(0).getBalance());
+        assertEquals(2000L, summary.getAccounts().get(0).getMonthlySpend());
+        assertEquals(UNREGISTERED, summary.getAccounts().get(1).getAccountStatus());
+    }
+
+    @Test
+    @DisplayName("분할 계좌 잔액은 샤드 합계로 갱신")
+    void shardedBalanceFromShards() {
+        // Given
+        Account sharded = account("1000000012", 0L);
+        sharded.setShardCount(4);
+        given(accountUserRepository.findById(12L)).willReturn(Optional.of(user));
+        given(accountRepository.findByAccountUser(user))
+            .willReturn(Collections.singletonList(sharded));
+        given(accountShardRepository.sumBalanceByAccount(sharded)).willReturn(10000L);
+        projection.accountCreated(sharded);
+        given(accountShardRepository.sumBalanceByAccount(sharded)).willReturn(6000L);
+
+        // When
+        projection.balanceChanged(sharded, transaction(USE, 3000L, 7000L));
+        projection.balanceChanged(sharded, transaction(USE, 1000L, 9000L));
+
+        // Then
+        AccountSummary.Item item = projection.getSummary(12L).get().getAccounts().get(0);
+        assertEquals(6000L, item.getBalance());
+        assertEquals(4000L, item.getMonthlySpend());
+    }
+
+    @Test
+    @DisplayName("계좌 요약 재생성 후 원본과 대조")
+    void rebuildAndCheckAgainstSource() {
+        // Given
+        Account first = account("1000000012", 7000L);
+        Account second = account("1000000013", 500L);
+        LocalDateTime lastTransactedAt = LocalDateTime.now().withNano(0);
+        given(accountRepository.findAll(any(Pageable.class)))
+            .willReturn(new PageImpl<>(Arrays.asList(first, second)));
+        given(transactionRepository.findLastTransactedAtByAccount(any()))
+            .willReturn(rows(new Object[]{"1000000012", lastTransactedAt}));
+        given(transactionRepository.sumAmountByAccountAndType(any(), any()))
+            .willReturn(rows(new Object[]{"1000000012", USE, 3000L}));
+        assertFalse(projection.check().isEmpty());
+
+        // When
+        int rebuilt = projection.rebuild();
+
+        // Then
+        assertEquals(2, rebuilt);
+        assertTrue(projection.check().isEmpty());
+        AccountSummary summary = projection.getSummary(12L).get();
+        assertEquals(3000L, summary.getAccounts().get(0).getMonthlySpend());
+        assertEquals(lastTransactedAt, summary.getAccounts().get(0).getLastTransactedAt());
+
+        projection.balanceChanged(second, transaction(USE, 100L, 400L));
+        assertEquals(1, projection.check().size());
+    }
+
+    private Account account(String accountNumber, Long balance) {
+        return Account.builder()
+            .accountUser(user)
+            .accountNumber(accountNumber)
+            .accountStatus(IN_USE)
+            .balance(balance)
+            .build();
+    }
+
+    private static TransactionDto transaction(
+        TransactionType type, Long amount, Long balanceSnapshot) {
+        return TransactionDto.builder()
+            .transactionType(type)
+            .amount(amount)
+            .balanceSnapshot(balanceSnapshot)
+            .transactedAt(LocalDateTime.now())
+            .build();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return Arrays.asList(rows);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.account.domain.AccountUser;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AccountUserCacheTest {
+
+    @Test
+    @DisplayName("캐시된 유저는 읽은 버전과 함께 복사본으로 돌려준다")
+    void findCopyWithVersion() {
+        // Given
+        AccountUserCache cache = new AccountUserCache(100, 60000);
+        AccountUser user = AccountUser.builder().id(12L).name("Pobi").version(3L).build();
+        cache.track(user);
+
+        // When
+        Optional<AccountUser> found = cache.find(12L);
+
+        // Then
+        assertTrue(found.isPresent());
+        assertNotSame(user, found.get());
+        assertEquals("Pobi", found.get().getName());
+        assertEquals(3L, found.get().getVersion());
+        assertNotSame(found.get(), cache.find(12L).get());
+    }
+
+    @Test
+    @DisplayName("구간마다 최근에 쓰지 않은 유저부터 내보낸다")
+    void evictLeastRecentlyUsedPerSegment() {
+        // Given
+        AccountUserCache cache = new AccountUserCache(32, 60000);
+        for (long userId = 1; userId <= 32; userId++) {
+            cache.track(AccountUser.builder().id(userId).name("user" + userId).build());
+        }
+
+        // When
+        cache.find(1L);
+        for (long userId = 33; userId <= 48; userId++) {
+            cache.track(AccountUser.builder().id(userId).name("user" + userId).build());
+        }
+
+        // Then
+        assertEquals(32, cache.size());
+        assertTrue(cache.find(1L).isPresent());
+        assertFalse(cache.find(17L).isPresent());
+        assertTrue(cache.find(48L).isPresent());
+    }
+
+    @Test
+    @DisplayName("만료되거나 내보낸 유저는 찾지 않는다")
+    void expireAndEvict() {
+        // Given
+        AccountUserCache expiring = new AccountUserCache(100, 0);
+        AccountUserCache cache = new AccountUserCache(100, 60000);
+        AccountUser user = AccountUser.builder().id(12L).name("Pobi").build();
+        expiring.track(user);
+        cache.track(user);
+
+        // When
+        cache.evict(12L);
+
+        // Then
+        assertFalse(expiring.find(12L).isPresent());
+        assertFalse(cache.find(12L).isPresent());
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.config.AdmissionProperties;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlAspectTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ProceedingJoinPoint proceedingJoinPoint = mock(ProceedingJoinPoint.class);
+
+    @Test
+    @DisplayName("계좌 요청 한도를 넘으면 잠금 전에 거절한다")
+    void rejectOverAccountBudget() throws Throwable {
+        // Given
+        AdmissionProperties properties = enabledProperties();
+        properties.setAccountRate(1);
+        properties.setAccountBurst(3);
+        AdmissionControlAspect aspect =
+            new AdmissionControlAspect(properties, new SimpleMeterRegistry());
+        UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 1000L);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            aspect.aroundMethod(proceedingJoinPoint, request);
+        }
+        AccountException exception = assertThrows(AccountException.class,
+            () -> aspect.aroundMethod(proceedingJoinPoint, request));
+
+        // Then
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(3)).proceed();
+        aspect.aroundMethod(proceedingJoinPoint,
+            new UseBalance.Request(2L, "1000000001", 1000L));
+    }
+
+    @Test
+    @DisplayName("사용자 요청 한도는 계좌를 가리지 않고 적용된다")
+    void rejectOverUserBudget() throws Throwable {
+        // Given
+        AdmissionProperties properties = enabledProperties();
+        properties.setUserRate(1);
+        properties.setUserBurst(2);
+        AdmissionControlAspect aspect =
+            new AdmissionControlAspect(properties, new SimpleMeterRegistry());
+
+        // When
+        aspect.aroundMethod(proceedingJoinPoint, new UseBalance.Request(1L, "1000000000", 10L));
+        aspect.aroundMethod(proceedingJoinPoint, new UseBalance.Request(1L, "1000000001", 10L));
+        AccountException exception = assertThrows(AccountException.class,
+            () -> aspect.aroundMethod(proceedingJoinPoint,
+                new UseBalance.Request(1L, "1000000002", 10L)));
+
+        // Then
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(2)).proceed();
+    }
+
+    @Test
+    @DisplayName("버킷은 시간이 지나면 다시 차고, 가득 찬 버킷은 정리된다")
+    void bucketsRefillAndSweep() {
+        // Given
+        TokenBuckets buckets = new TokenBuckets(10, 2, 100);
+        long now = 1_000L;
+
+        // When
+        assertTrue(buckets.tryAcquire("1000000000", now));
+        assertTrue(buckets.tryAcquire("1000000000", now));
+        assertFalse(buckets.tryAcquire("1000000000", now));
+
+        // Then
+        assertTrue(buckets.tryAcquire("1000000000", now + SECOND / 10));
+        assertEquals(0, buckets.sweep(now + SECOND / 10));
+        assertEquals(1, buckets.sweep(now + SECOND));
+        assertEquals(0, buckets.size());
+    }
+
+    @Test
+    @DisplayName("버킷이 가득 차면 쉬는 버킷을 내보내고, 없으면 새 키를 거절한다")
+    void evictIdleBucketOrRejectWhenFull() {
+        // Given
+        TokenBuckets buckets = new TokenBuckets(1, 1, 2);
+        long now = 1_000L;
+        assertTrue(buckets.tryAcquire("1000000000", now));
+        assertTrue(buckets.tryAcquire("1000000001", now));
+
+        // When
+        boolean throttled = buckets.tryAcquire("1000000002", now);
+        boolean afterRefill = buckets.tryAcquire("1000000002", now + SECOND);
+
+        // Then
+        assertFalse(throttled);
+        assertTrue(afterRefill);
+        assertEquals(2, buckets.size());
+    }
+
+    @Test
+    @DisplayName("사용자 한도로 거절된 요청은 계좌 한도를 쓰지 않는다")
+    void userRejectionKeepsAccountBudget() throws Throwable {
+        // Given
+        AdmissionProperties properties = enabledProperties();
+        properties.setAccountRate(1);
+        properties.setAccountBurst(1);
+        properties.setUserRate(1);
+        properties.setUserBurst(1);
+        AdmissionControlAspect aspect =
+            new AdmissionControlAspect(properties, new SimpleMeterRegistry());
+        aspect.aroundMethod(proceedingJoinPoint, new UseBalance.Request(1L, "1000000000", 10L));
+
+        // When
+        assertThrows(AccountException.class, () -> aspect.aroundMethod(proceedingJoinPoint,
+            new UseBalance.Request(1L, "1000000001", 10L)));
+        aspect.aroundMethod(proceedingJoinPoint, new UseBalance.Request(2L, "1000000001", 10L));
+
+        // Then
+        verify(proceedingJoinPoint, times(2)).proceed();
+    }
+
+    @Test
+    @DisplayName("계좌 한도로 거절된 요청은 사용자 한도를 돌려받는다")
+    void accountRejectionRefundsUserBudget() throws Throwable {
+        // Given
+        AdmissionProperties properties = enabledProperties();
+        properties.setAccountRate(1);
+        properties.setAccountBurst(1);
+        properties.setUserRate(1);
+        properties.setUserBurst(2);
+        AdmissionControlAspect aspect =
+            new AdmissionControlAspect(properties, new SimpleMeterRegistry());
+        aspect.aroundMethod(proceedingJoinPoint, new UseBalance.Request(2L, "1000000000", 10L));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThrows(AccountException.class, () -> aspect.aroundMethod(proceedingJoinPoint,
+                new UseBalance.Request(1L, "1000000000", 10L)));
+        }
+        aspect.aroundMethod(proceedingJoinPoint, new UseBalance.Request(1L, "1000000001", 10L));
+        aspect.aroundMethod(proceedingJoinPoint, new UseBalance.Request(1L, "1000000002", 10L));
+
+        // Then
+        verify(proceedingJoinPoint, times(3)).proceed();
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도로 거절된 요청은 사용자와 계좌 한도를 돌려받는다")
+    void concurrencyRejectionRefundsBudgets() {
+        // Given
+        AdmissionProperties properties = enabledProperties();
+        properties.setAccountRate(1);
+        properties.setAccountBurst(1);
+        properties.setUserRate(1);
+        properties.setUserBurst(1);
+        properties.getConcurrency().setEnabled(true);
+        properties.getConcurrency().setInitialLimit(1);
+        properties.getConcurrency().setMinLimit(1);
+        AdmissionControlAspect aspect =
+            new AdmissionControlAspect(properties, new SimpleMeterRegistry());
+        UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 10L);
+        Runnable slot = aspect.admit(new UseBalance.Request(2L, "1000000001", 10L));
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> aspect.admit(request));
+        slot.run();
+        Runnable admitted = aspect.admit(request);
+
+        // Then
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, exception.getErrorCode());
+        admitted.run();
+    }
+
+    @Test
+    @DisplayName("기본 설정에서는 요청을 제한하지 않는다")
+    void disabledByDefault() throws Throwable {
+        // Given
+        AdmissionControlAspect aspect =
+            new AdmissionControlAspect(new AdmissionProperties(), new SimpleMeterRegistry());
+        UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 10L);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            aspect.aroundMethod(proceedingJoinPoint, request);
+        }
+
+        // Then
+        verify(proceedingJoinPoint, times(10)).proceed();
+    }
+
+    @Test
+    @DisplayName("지연이 기준보다 커지면 동시 처리 한도를 줄인다")
+    void concurrencyLimitFollowsLatency() {
+        // Given
+        long now = 0;
+        AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(4, 2, 100, 1000, 2.0, 0.5, now);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        for (int i = 0; i < 4; i++) {
+            limiter.release(now, now + 1_000_000);
+        }
+        now += SECOND;
+        assertTrue(limiter.tryAcquire());
+        limiter.release(now - 1_000_000, now);
+        int grown = limiter.getLimit();
+
+        now += SECOND;
+        assertTrue(limiter.tryAcquire());
+        limiter.release(now - 50_000_000, now);
+
+        // Then
+        assertEquals(6, grown);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    private static AdmissionProperties enabledProperties() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setEnabled(true);
+        return properties;
+    }
+}
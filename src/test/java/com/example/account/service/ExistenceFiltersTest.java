@@ -0,0 +1,230 @@
+package com.example.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.example.account.config.RedisRepositoryConfig;
+import com.example.account.config.RedissonProperties;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountRepository.IndexedAccount;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.repository.TransactionRepository.TransactionIdRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import redis.embedded.RedisServer;
+
+class ExistenceFiltersTest {
+
+    private static final int PORT = 6395;
+
+    private static RedisServer redisServer;
+    private static RedissonClient redissonClient;
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final TransactionArchiveRepository transactionArchiveRepository =
+        mock(TransactionArchiveRepository.class);
+    private final LedgerJournal ledgerJournal = mock(LedgerJournal.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        redissonClient = Redisson.create(
+            RedisRepositoryConfig.createConfig(new RedissonProperties(), "127.0.0.1", PORT));
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redissonClient.getKeys().flushall();
+        given(transactionRepository.findTransactionIds(eq(0L), any())).willReturn(List.of(
+            transactionIdRow(1L, "trx1"), transactionIdRow(2L, "trx2")));
+        willAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            consumer.accept("archived1");
+            return null;
+        }).given(transactionArchiveRepository).forEachTransactionId(any());
+        given(ledgerJournal.getPendingTransactionIds()).willReturn(Set.of("pending1"));
+        given(accountRepository.findIndexedAccounts(eq(0L), any())).willReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("필터 재생성 후 없는 값 거절")
+    void rebuildAndReject() {
+        // Given
+        ExistenceFilters filters = newFilters();
+
+        // When
+        filters.afterSingletonsInstantiated();
+
+        // Then
+        assertFalse(filters.isMissingTransaction("trx1"));
+        assertFalse(filters.isMissingTransaction("archived1"));
+        assertFalse(filters.isMissingTransaction("pending1"));
+        assertTrue(filters.isMissingTransaction("unknown"));
+        assertTrue(filters.isMissingAccount("1000000000"));
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 추가한 값도 필터에 반영")
+    void maintainedOnInsertAcrossNodes() {
+        // Given
+        ExistenceFilters filters = newFilters();
+        filters.afterSingletonsInstantiated();
+        ExistenceFilters otherNode = newFilters();
+        otherNode.afterSingletonsInstantiated();
+
+        // When
+        otherNode.transactionCreated("trx3");
+        otherNode.accountCreated("1000000000");
+
+        // Then
+        assertFalse(filters.isMissingTransaction("trx3"));
+        assertFalse(filters.isMissingAccount("1000000000"));
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 추가한 값은 커밋 직전에 반영")
+    void addedBeforeCommit() {
+        // Given
+        ExistenceFilters filters = newFilters();
+        filters.afterSingletonsInstantiated();
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // When
+            filters.transactionCreated("trx3");
+            boolean missingBeforeCommit = filters.isMissingTransaction("trx3");
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+            // Then
+            assertTrue(missingBeforeCommit);
+            assertFalse(filters.isMissingTransaction("trx3"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("재생성 전에는 필터를 신뢰하지 않음")
+    void notTrustedBeforeRebuild() {
+        // Given
+        ExistenceFilters filters = newFilters();
+
+        // When
+        boolean missing = filters.isMissingTransaction("unknown");
+
+        // Then
+        assertFalse(missing);
+    }
+
+    @Test
+    @DisplayName("필터를 끈 노드가 추가하면 바로 필터를 신뢰하지 않음")
+    void disabledNodeInsertInvalidates() {
+        // Given
+        ExistenceFilters filters = newFilters();
+        filters.afterSingletonsInstantiated();
+        assertTrue(filters.isMissingTransaction("trx3"));
+        ExistenceFilters disabled = disabledFilters();
+        disabled.afterSingletonsInstantiated();
+
+        // When
+        disabled.transactionCreated("trx3");
+        disabled.accountCreated("1000000000");
+
+        // Then
+        assertFalse(filters.isMissingTransaction("trx3"));
+        assertFalse(filters.isMissingAccount("1000000000"));
+    }
+
+    @Test
+    @DisplayName("재생성 중 무효화되면 준비 표시하지 않음")
+    void invalidatedDuringRebuild() {
+        // Given
+        ExistenceFilters disabled = disabledFilters();
+        given(transactionRepository.findTransactionIds(eq(0L), any())).willAnswer(invocation -> {
+            disabled.transactionCreated("trx3");
+            return List.of(transactionIdRow(1L, "trx1"));
+        });
+        ExistenceFilters filters = newFilters();
+
+        // When
+        filters.afterSingletonsInstantiated();
+
+        // Then
+        assertFalse(filters.isMissingTransaction("trx3"));
+        assertTrue(filters.isMissingAccount("1000000000"));
+    }
+
+    @Test
+    @DisplayName("오탐률 집계")
+    void falsePositiveRate() {
+        // Given
+        ExistenceFilters filters = newFilters();
+        filters.afterSingletonsInstantiated();
+
+        // When
+        filters.isMissingTransaction("unknown1");
+        filters.isMissingTransaction("unknown2");
+        filters.isMissingTransaction("unknown3");
+        filters.recordTransactionMiss();
+
+        // Then
+        assertEquals(0.25, meterRegistry.get("account.bloom.false.positive.rate")
+            .tag("filter", "transactions").gauge().value());
+        assertEquals(3.0, meterRegistry.get("account.bloom.rejected")
+            .tag("filter", "transactions").functionCounter().count());
+    }
+
+    private ExistenceFilters newFilters() {
+        return new ExistenceFilters(redissonClient, meterRegistry, accountRepository,
+            transactionRepository, transactionArchiveRepository, ledgerJournal, true, 1000, 1000,
+            0.001);
+    }
+
+    private ExistenceFilters disabledFilters() {
+        return new ExistenceFilters(redissonClient, meterRegistry, accountRepository,
+            transactionRepository, transactionArchiveRepository, ledgerJournal, false, 1000, 1000,
+            0.001);
+    }
+
+    private static TransactionIdRow transactionIdRow(Long id, String transactionId) {
+        return new TransactionIdRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTransactionId() {
+                return transactionId;
+            }
+        };
+    }
+}
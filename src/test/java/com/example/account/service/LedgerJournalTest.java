@@ -0,0 +1,146 @@
+package com.example.account.service;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.config.AccountAffinityProperties;
+import com.example.account.domain.LedgerEvent;
+import com.example.account.type.TransactionType;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.SortedMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class LedgerJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("거래 기록 후 DB에 반영")
+    void appendAndApply() throws Exception {
+        // Given
+        LedgerJournalApplier applier = mock(LedgerJournalApplier.class);
+        LedgerJournal journal = newJournal(applier);
+
+        // When
+        LedgerEvent event = journal.append(event(USE, "1000000000", 1000L, "trx1"));
+
+        // Then
+        ArgumentCaptor<LedgerEvent> captor = ArgumentCaptor.forClass(LedgerEvent.class);
+        verify(applier, timeout(5000)).apply(captor.capture());
+        assertEquals(1L, event.getSeq());
+        assertEquals("trx1", captor.getValue().getTransactionId());
+        journal.stop();
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 커밋된 거래만 기록")
+    void appendOnlyAfterCommit() throws Exception {
+        // Given
+        LedgerJournalApplier applier = mock(LedgerJournalApplier.class);
+        LedgerJournal journal = newJournal(applier);
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            journal.appendAfterCommit(event(USE, "1000000000", 1000L, "trx1"));
+            assertFalse(journal.findPending("trx1").isPresent());
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            journal.appendAfterCommit(event(USE, "1000000000", 2000L, "trx2"));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        ArgumentCaptor<LedgerEvent> captor = ArgumentCaptor.forClass(LedgerEvent.class);
+        verify(applier, timeout(5000)).apply(captor.capture());
+        assertEquals("trx2", captor.getValue().getTransactionId());
+        assertEquals(1L, captor.getValue().getSeq());
+        journal.stop();
+    }
+
+    @Test
+    @DisplayName("DB에 반영되기 전까지 잔액 변동을 대기 중으로 유지")
+    void pendingDeltasUntilApplied() throws Exception {
+        // Given
+        LedgerJournalApplier applier = mock(LedgerJournalApplier.class);
+        willThrow(new IllegalStateException("db down")).given(applier).apply(any());
+        LedgerJournal journal = newJournal(applier);
+
+        // When
+        journal.append(event(USE, "1000000000", 1000L, "trx1"));
+        journal.append(event(CANCEL, "1000000000", 300L, "trx2"));
+
+        // Then
+        SortedMap<Long, Long> deltas = journal.getPendingDeltas("1000000000");
+        assertEquals(-700L, deltas.values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(journal.findPending("trx2").isPresent());
+        journal.stop();
+    }
+
+    @Test
+    @DisplayName("시작 시 반영되지 않은 거래 기록을 다시 반영")
+    void replayUnappliedEventsOnStartup() throws Exception {
+        // Given
+        LedgerJournalApplier failingApplier = mock(LedgerJournalApplier.class);
+        willThrow(new IllegalStateException("db down")).given(failingApplier).apply(any());
+        LedgerJournal journal = newJournal(failingApplier);
+        journal.append(event(USE, "1000000000", 1000L, "trx1"));
+        journal.append(event(USE, "1000000001", 2000L, "trx2"));
+        journal.stop();
+
+        // When
+        LedgerJournalApplier applier = mock(LedgerJournalApplier.class);
+        LedgerJournal restarted = newJournal(applier);
+
+        // Then
+        verify(applier, timeout(5000).times(2)).apply(any());
+        LedgerEvent next = restarted.append(event(USE, "1000000000", 10L, "trx3"));
+        assertEquals(3L, next.getSeq());
+        restarted.stop();
+    }
+
+    private LedgerJournal newJournal(LedgerJournalApplier applier) throws Exception {
+        AccountAffinityProperties affinityProperties = new AccountAffinityProperties();
+        affinityProperties.setEnabled(true);
+        LedgerJournal journal = new LedgerJournal(applier, affinityProperties, true,
+            directory.toString(), 64 * 1024, 100, 5000);
+        journal.start();
+        return journal;
+    }
+
+    private static LedgerEvent event(TransactionType type, String accountNumber, long amount,
+        String transactionId) {
+        return LedgerEvent.builder()
+            .transactionType(type)
+            .accountNumber(accountNumber)
+            .amount(amount)
+            .balanceSnapshot(10000L)
+            .transactionId(transactionId)
+            .transactedAt(LocalDateTime.now())
+            .build();
+    }
+}
@@ -2,15 +2,22 @@ package com.example.account.service;
 
 import static com.example.account.type.ErrorCode.ACCOUNT_NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -21,6 +28,18 @@ class LockAopAspectTest {
     @Mock
     private LockService lockService;
 
+    @Mock
+    private AccountShardService accountShardService;
+
+    @Mock
+    private AccountOwnership accountOwnership;
+
+    @Mock
+    private LockFencing lockFencing;
+
+    @Mock
+    private AccountMailboxExecutor accountMailboxExecutor;
+
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
@@ -65,4 +84,45 @@ class LockAopAspectTest {
         assertEquals("54321", lockArgumentCaptor.getValue());
         assertEquals("54321", unlockArgumentCaptor.getValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("메일박스 모드에서도 계좌 락을 잡고 펜싱 토큰을 메일박스로 넘긴다")
+    void mailboxModeKeepsLock() throws Throwable {
+        // Given
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+        given(accountOwnership.exclusiveEpoch("1234")).willReturn(1L);
+        given(accountMailboxExecutor.isEnabled()).willReturn(true);
+        given(lockFencing.current("1234")).willReturn(7L);
+        given(accountMailboxExecutor.call(eq("1234"), any()))
+            .willAnswer(invocation -> invocation.<AccountMailboxExecutor.Task<?>>getArgument(1)
+                .run());
+        given(proceedingJoinPoint.proceed()).willReturn("done");
+
+        // When
+        Object result = lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+
+        // Then
+        assertEquals("done", result);
+        InOrder inOrder = inOrder(lockService, lockFencing, proceedingJoinPoint);
+        inOrder.verify(lockService).lock("1234");
+        inOrder.verify(lockFencing).hold("1234", 7L);
+        inOrder.verify(proceedingJoinPoint).proceed();
+        inOrder.verify(lockFencing).release("1234");
+        inOrder.verify(lockService).unlock("1234");
+    }
+
+    @Test
+    @DisplayName("단독 소유하지 않은 계좌는 메일박스 모드에서도 락을 잡는다")
+    void mailboxModeLocksUnownedAccount() throws Throwable {
+        // Given
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+        Mockito.lenient().when(accountMailboxExecutor.isEnabled()).thenReturn(true);
+
+        // When
+        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+
+        // Then
+        verify(lockService).lock("1234");
+        verify(accountMailboxExecutor, never()).call(anyString(), any());
+    }
+}
@@ -4,11 +4,15 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
 
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
 import io.reactivex.rxjava3.internal.subscribers.BlockingSubscriber;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -25,6 +29,15 @@ class LockServiceTest {
     @Mock
     private RLock rLock;
 
+    @Mock
+    private LocalLockQueue localLockQueue;
+
+    @Mock
+    private LockMetrics lockMetrics;
+
+    @Mock
+    private LockFencing lockFencing;
+
     @InjectMocks
     private LockService lockService;
 
@@ -57,4 +70,40 @@ class LockServiceTest {
         assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("공정 모드에서는 로컬 대기열을 거쳐 공정 락을 잡는다")
+    void fairModeQueuesLocally() throws InterruptedException {
+        // Given
+        given(localLockQueue.isEnabled()).willReturn(true);
+        given(localLockQueue.tryEnter(anyString(), anyLong(), any())).willReturn(true);
+        given(redissonClient.getFairLock(anyString()))
+            .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+            .willReturn(true);
+
+        // When
+        lockService.lock("123");
+        lockService.unlock("123");
+
+        // Then
+        verify(localLockQueue).tryEnter(eq("123"), anyLong(), any());
+        verify(rLock).unlock();
+        verify(localLockQueue).exit("123");
+        verify(lockMetrics).stopWaiting(eq("123"), anyLong(), eq(true));
+    }
+
+    @Test
+    @DisplayName("만료된 락 해제는 예외 없이 넘어간다")
+    void unlockExpiredLock() {
+        // Given
+        given(redissonClient.getLock(anyString()))
+            .willReturn(rLock);
+        willThrow(new IllegalMonitorStateException("not locked by current thread"))
+            .given(rLock).unlock();
+
+        // When
+        // Then
+        assertDoesNotThrow(() -> lockService.unlock("123"));
+        verify(lockFencing).release("123");
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.account.service;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.domain.OutboxEvent;
+import com.example.account.dto.OutboxEventDto;
+import com.example.account.repository.OutboxEventRepository;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class OutboxRelayTest {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final OutboxEventSink outboxEventSink = mock(OutboxEventSink.class);
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxEventSink, 100);
+    }
+
+    @Test
+    @DisplayName("마지막 발행 순번 다음부터 오프셋 부여")
+    void assignOffsetsAfterLastPublished() {
+        // Given
+        OutboxEvent first = event("tx1");
+        OutboxEvent second = event("tx2");
+        given(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any()))
+            .willReturn(Arrays.asList(first, second));
+        given(outboxEventRepository.findMaxPublishSeq())
+            .willReturn(41L);
+
+        // When
+        List<OutboxEventDto> published = outboxRelay.relayBatch();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEventDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventSink).publish(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(42L, captor.getValue().get(0).getOffset());
+        assertEquals("tx2", captor.getValue().get(1).getTransactionId());
+        assertEquals(43L, second.getPublishSeq());
+        assertNotNull(second.getPublishedAt());
+        assertEquals(published, captor.getValue());
+    }
+
+    @Test
+    @DisplayName("발행 기록 정리 시 마지막 발행 이벤트는 유지")
+    void purgeKeepsLastPublished() {
+        // Given
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(72);
+        given(outboxEventRepository.findMaxPublishSeq()).willReturn(43L);
+
+        // When
+        outboxRelay.purgePublished(cutoff);
+
+        // Then
+        verify(outboxEventRepository).deletePublishedBefore(cutoff, 43L);
+    }
+
+    @Test
+    @DisplayName("발행할 이벤트 없음 - 발행 생략")
+    void skipSinkWhenNothingPending() {
+        // Given
+        given(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any()))
+            .willReturn(Collections.emptyList());
+
+        // When
+        List<OutboxEventDto> published = outboxRelay.relayBatch();
+
+        // Then
+        assertTrue(published.isEmpty());
+        verify(outboxEventSink, never()).publish(anyList());
+    }
+
+    @Test
+    @DisplayName("발행 실패 시 예외 전달")
+    void propagateSinkFailure() {
+        // Given
+        OutboxEvent event = event("tx1");
+        given(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any()))
+            .willReturn(Collections.singletonList(event));
+        willThrow(new IllegalStateException("broker down"))
+            .given(outboxEventSink).publish(anyList());
+
+        // When
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> outboxRelay.relayBatch());
+
+        // Then
+        assertEquals("broker down", exception.getMessage());
+    }
+
+    private static OutboxEvent event(String transactionId) {
+        return OutboxEvent.builder()
+            .transactionId(transactionId)
+            .accountNumber("1000000012")
+            .transactionType(USE)
+            .transactionResultType(S)
+            .amount(1000L)
+            .balanceSnapshot(9000L)
+            .transactedAt(LocalDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.account.service;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.OutboxEvent;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.ReactiveTransactionRepository;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionCallback;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReactiveTransactionServiceTest {
+
+    @Mock
+    private ReactiveTransactionRepository reactiveTransactionRepository;
+
+    @Mock
+    private TransactionalOperator reactiveTransactionalOperator;
+
+    @Mock
+    private ReactiveLockService reactiveLockService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionArchiveRepository transactionArchiveRepository;
+
+    @Mock
+    private LedgerJournal ledgerJournal;
+
+    @Mock
+    private LockFencing lockFencing;
+
+    @Mock
+    private AccountSummaryProjection accountSummaryProjection;
+
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private ExistenceFilters existenceFilters;
+
+    @InjectMocks
+    private ReactiveTransactionService reactiveTransactionService;
+
+    private final ReactiveTransaction reactiveTransaction = mock(ReactiveTransaction.class);
+
+    @BeforeEach
+    void runInTransaction() {
+        given(reactiveTransactionalOperator.execute(any())).willAnswer(invocation ->
+            Flux.from(invocation.<TransactionCallback<?>>getArgument(0)
+                .doInTransaction(reactiveTransaction)));
+        given(reactiveTransactionRepository.advanceFencingToken("1000000012", 7L))
+            .willReturn(Mono.just(1));
+        given(reactiveTransactionRepository.existsUserById(12L)).willReturn(Mono.just(true));
+        given(reactiveTransactionRepository.updateBalance(any())).willReturn(Mono.just(1));
+        given(reactiveTransactionRepository.save(any(Transaction.class)))
+            .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        given(reactiveTransactionRepository.save(any(OutboxEvent.class)))
+            .willReturn(Mono.empty());
+    }
+
+    @Test
+    void successUseBalance() {
+        // Given
+        given(reactiveTransactionRepository.findByAccountNumber("1000000012"))
+            .willReturn(Mono.just(account(0)));
+
+        // When
+        TransactionDto transactionDto = reactiveTransactionService
+            .useBalance(12L, "1000000012", 1000L, 7L).block();
+
+        // Then
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+        verify(reactiveTransactionRepository).save(captor.capture());
+        assertEquals(9000L, captor.getValue().getBalanceSnapshot());
+        assertEquals(S, transactionDto.getTransactionResultType());
+        assertEquals(USE, transactionDto.getTransactionType());
+        verify(reactiveTransactionRepository).save(any(OutboxEvent.class));
+        verify(accountSummaryProjection).balanceChanged(any(), any());
+        verify(reactiveTransactionRepository).evictCachedAccount(3L);
+        verify(transactionService, never()).useBalance(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("펜싱 토큰이 뒤처지면 쓰지 않고 실패한다")
+    void useBalanceFailed_staleFencingToken() {
+        // Given
+        given(reactiveTransactionRepository.advanceFencingToken("1000000012", 7L))
+            .willReturn(Mono.just(0));
+        given(reactiveTransactionRepository.findFencingToken("1000000012"))
+            .willReturn(Mono.just(9L));
+        given(reactiveLockService.advanceFencingToken("1000000012", 9L))
+            .willReturn(Mono.empty());
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> reactiveTransactionService.useBalance(12L, "1000000012", 1000L, 7L).block());
+
+        // Then
+        assertEquals(ErrorCode.ACCOUNT_LOCK_EXPIRED, exception.getErrorCode());
+        verify(reactiveTransactionRepository, never()).updateBalance(any());
+        verify(reactiveLockService).advanceFencingToken("1000000012", 9L);
+    }
+
+    @Test
+    @DisplayName("샤딩된 계좌는 블로킹 서비스로 처리한다")
+    void useBalanceOnShardedAccountFallsBack() {
+        // Given
+        given(reactiveTransactionRepository.findByAccountNumber("1000000012"))
+            .willReturn(Mono.just(account(4)));
+        given(transactionService.useBalance(12L, "1000000012", 1000L))
+            .willReturn(TransactionDto.builder().transactionResultType(S).build());
+
+        // When
+        TransactionDto transactionDto = reactiveTransactionService
+            .useBalance(12L, "1000000012", 1000L, 7L).block();
+
+        // Then
+        assertEquals(S, transactionDto.getTransactionResultType());
+        verify(reactiveTransaction).setRollbackOnly();
+        verify(reactiveTransactionRepository, never()).updateBalance(any());
+        verify(lockFencing).hold("1000000012", 7L);
+        verify(lockFencing).release("1000000012");
+    }
+
+    private static Account account(int shardCount) {
+        return Account.builder()
+            .id(3L)
+            .accountUser(AccountUser.builder().id(12L).build())
+            .accountStatus(IN_USE)
+            .accountNumber("1000000012")
+            .balance(10000L)
+            .shardCount(shardCount)
+            .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.account.service;
+
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.TransactionArchiveRepository;
+import com.example.account.repository.TransactionRepository;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TransactionArchiveServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("삭제가 롤백된 배치를 다시 보관해도 중복 저장하지 않음")
+    void retryAfterRolledBackDelete() {
+        // Given
+        TransactionArchiveRepository archiveRepository =
+            new TransactionArchiveRepository(directory.toString(), 64, 4096, 16);
+        archiveRepository.load();
+        TransactionArchiveService service =
+            new TransactionArchiveService(transactionRepository, archiveRepository);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        given(transactionRepository.findByTransactedAtBeforeOrderByIdAsc(any(), any()))
+            .willReturn(transactions(1, 3))
+            .willReturn(transactions(1, 4));
+
+        // When
+        service.archiveBatch(CUTOFF);
+        int archived = service.archiveBatch(CUTOFF);
+
+        // Then
+        assertEquals(4, archived);
+        assertEquals(4L, archiveRepository.getArchivedUpToId());
+        List<String> ids = new ArrayList<>();
+        archiveRepository.forEachTransactionId(ids::add);
+        assertEquals(4, ids.size());
+        verify(transactionRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        verify(transactionRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 2L, 3L, 4L));
+    }
+
+    private static List<Transaction> transactions(long from, int count) {
+        Account account = Account.builder().accountNumber("1000000000").build();
+        List<Transaction> transactions = new ArrayList<>();
+        for (long id = from; id < from + count; id++) {
+            transactions.add(Transaction.builder()
+                .id(id)
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactionId("transaction" + id)
+                .transactedAt(CUTOFF.minusDays(id))
+                .build());
+        }
+        return transactions;
+    }
+}
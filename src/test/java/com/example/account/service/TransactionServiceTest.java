@@ -6,26 +6,38 @@ import static com.example.account.type.TransactionResultType.S;
 import static com.example.account.type.TransactionType.CANCEL;
 import static com.example.account.type.TransactionType.USE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.domain.ArchivedTransaction;
+import com.example.account.domain.LedgerEvent;
+import com.example.account.domain.OutboxEvent;
 import com.example.account.domain.Transaction;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceResult;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.OutboxEventRepository;
+import com.example.account.repository.TransactionArchiveRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +45,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
@@ -49,6 +62,39 @@ class TransactionServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private TransactionArchiveRepository transactionArchiveRepository;
+
+    @Mock
+    private LedgerJournal ledgerJournal;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private AccountSummaryProjection accountSummaryProjection;
+
+    @Mock
+    private AccountShardService accountShardService;
+
+    @Mock
+    private OwnedAccountCache ownedAccountCache;
+
+    @Mock
+    private AccountUserCache accountUserCache;
+
+    @Mock
+    private AccountIndex accountIndex;
+
+    @Mock
+    private ExistenceFilters existenceFilters;
+
+    @Mock
+    private LockFencing lockFencing;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -97,6 +143,70 @@ class TransactionServiceTest {
         assertEquals(USE, transactionDto.getTransactionType());
         assertEquals(9000L, transactionDto.getBalanceSnapshot());
         assertEquals(1000L, transactionDto.getAmount());
+
+        ArgumentCaptor<OutboxEvent> outboxCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(outboxCaptor.capture());
+        assertEquals("transactionId", outboxCaptor.getValue().getTransactionId());
+        assertEquals("1000000012", outboxCaptor.getValue().getAccountNumber());
+        assertNull(outboxCaptor.getValue().getPublishSeq());
+    }
+
+    @Test
+    @DisplayName("캐시된 유저는 다시 조회하지 않는다")
+    void useBalanceWithCachedUser() {
+        // Given
+        AccountUser user = AccountUser.builder()
+            .id(12L)
+            .name("Dooli")
+            .build();
+
+        Account account = Account.builder()
+            .accountUser(user)
+            .accountStatus(IN_USE)
+            .balance(10000L)
+            .accountNumber("1000000012")
+            .build();
+
+        given(accountUserCache.attach(12L))
+            .willReturn(Optional.of(user));
+
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(account));
+
+        given(transactionRepository.save(any()))
+            .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        TransactionDto transactionDto = transactionService.useBalance(12L, "1000000012", 200L);
+
+        // Then
+        assertEquals(S, transactionDto.getTransactionResultType());
+        assertEquals(9800L, transactionDto.getBalanceSnapshot());
+        verify(accountUserRepository, never()).findById(anyLong());
+        verify(accountUserCache, never()).track(any());
+    }
+
+    @Test
+    @DisplayName("더 최신 펜싱 토큰이 기록됨 - 잔액 사용 실패")
+    void useBalanceFailed_staleFencingToken() {
+        // Given
+        given(accountUserRepository.findById(1L))
+            .willReturn(Optional.of(AccountUser.builder().id(1L).name("Pobi").build()));
+        given(lockFencing.current(anyString()))
+            .willReturn(5L);
+        given(accountRepository.advanceFencingToken(anyString(), anyLong()))
+            .willReturn(0);
+        given(accountRepository.findFencingToken(anyString()))
+            .willReturn(Optional.of(7L));
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionService.useBalance(1L, "1000000000", 1000L));
+
+        // Then
+        assertEquals(ErrorCode.ACCOUNT_LOCK_EXPIRED, exception.getErrorCode());
+        verify(lockFencing).advancePast("1000000000", 7L);
+        verify(accountRepository, never()).findByAccountNumber(anyString());
     }
 
     @Test
@@ -169,6 +279,40 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("색인된 계좌 소유주 다름 - 계좌 조회 없이 잔액 사용 실패")
+    void useBalanceFailed_indexedUserUnMatch() {
+        // Given
+        given(accountUserRepository.findById(12L))
+            .willReturn(Optional.of(AccountUser.builder().id(12L).name("Pobi").build()));
+        given(accountIndex.find("1000000012"))
+            .willReturn(Optional.of(new AccountIndex.Entry(1L, 13L, IN_USE)));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionService.useBalance(12L, "1000000012", 1000L));
+
+        // then
+        assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("없는 사용자 - 색인된 계좌보다 사용자 확인이 먼저")
+    void useBalanceFailed_userNotFoundBeforeIndexedAccount() {
+        // Given
+        given(accountUserRepository.findById(12L))
+            .willReturn(Optional.empty());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionService.useBalance(12L, "1000000012", 1000L));
+
+        // then
+        assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
+        verify(accountIndex, never()).find(anyString());
+    }
+
     @Test
     @DisplayName("계좌가 이미 해지되었다 - 잔액 사용 실패")
     void useBalanceFailed_alreadyUnregistered() {
@@ -527,6 +671,7 @@ class TransactionServiceTest {
         assertEquals(S, transactionDto.getTransactionResultType());
         assertEquals(CANCEL_AMOUNT, transactionDto.getAmount());
         assertEquals("transactionId", transactionDto.getTransactionId());
+        verify(existenceFilters, never()).isMissingTransaction(anyString());
     }
 
     @Test
@@ -542,5 +687,186 @@ class TransactionServiceTest {
 
         // Then
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
+        verify(existenceFilters).recordTransactionMiss();
+    }
+
+    @Test
+    @DisplayName("필터에 없는 거래 - 보관 거래 조회 없이 거래 조회 실패")
+    void queryTransaction_MissingFromFilter() {
+        // Given
+        given(transactionRepository.findByTransactionId(anyString()))
+            .willReturn(Optional.empty());
+        given(existenceFilters.isMissingTransaction("transactionId")).willReturn(true);
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionService.queryTransaction("transactionId"));
+
+        // Then
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
+        verify(transactionArchiveRepository, never()).findByTransactionId(anyString());
+        verify(existenceFilters, never()).recordTransactionMiss();
+    }
+
+    @Test
+    @DisplayName("필터에 없는 계좌 - DB 조회 없이 실패 거래 저장 실패")
+    void saveFailedUseTransaction_MissingFromFilter() {
+        // Given
+        given(existenceFilters.isMissingAccount("1000000012")).willReturn(true);
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionService.saveFailedUseTransaction("1000000012", 1000L));
+
+        // Then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("보관된 거래 조회 성공")
+    void successQueryArchivedTransaction() {
+        // Given
+        given(transactionRepository.findByTransactionId(anyString()))
+            .willReturn(Optional.empty());
+        given(transactionArchiveRepository.findByTransactionId(anyString()))
+            .willReturn(Optional.of(ArchivedTransaction.builder()
+                .transactionId("transactionId")
+                .accountNumber("1000000012")
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(CANCEL_AMOUNT)
+                .balanceSnapshot(9000L)
+                .transactedAt(LocalDateTime.now().minusYears(2))
+                .build()));
+
+        // When
+        TransactionDto transactionDto = transactionService.queryTransaction("transactionId");
+
+        // Then
+        assertEquals("1000000012", transactionDto.getAccountNumber());
+        assertEquals(USE, transactionDto.getTransactionType());
+        assertEquals(CANCEL_AMOUNT, transactionDto.getAmount());
+    }
+
+    @Test
+    @DisplayName("보관된 거래 취소 - 잔액 사용 취소 실패")
+    void cancelBalanceFailed_ArchivedTransaction() {
+        // Given
+        given(transactionRepository.findByTransactionId(anyString()))
+            .willReturn(Optional.empty());
+        given(transactionArchiveRepository.findByTransactionId(anyString()))
+            .willReturn(Optional.of(ArchivedTransaction.builder()
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now().minusYears(2))
+                .build()));
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionService.cancelBalance("transactionId", "1234567890", 1000L));
+
+        // Then
+        assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("저널 모드 - 미반영 거래를 포함한 잔액으로 검증")
+    void useBalance_journaled() {
+        // Given
+        AccountUser user = AccountUser.builder()
+            .id(12L)
+            .name("Dooli")
+            .build();
+
+        Account account = Account.builder()
+            .accountUser(user)
+            .accountStatus(IN_USE)
+            .balance(10000L)
+            .journalSeq(3L)
+            .accountNumber("1000000012")
+            .build();
+
+        TreeMap<Long, Long> pendingDeltas = new TreeMap<>();
+        pendingDeltas.put(3L, -5000L);
+        pendingDeltas.put(4L, -3000L);
+
+        given(ledgerJournal.getPendingDeltas(anyString()))
+            .willReturn(pendingDeltas);
+        given(ledgerJournal.isEnabled())
+            .willReturn(true);
+        given(accountUserRepository.findById(anyLong()))
+            .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(account));
+
+        ArgumentCaptor<LedgerEvent> captor = ArgumentCaptor.forClass(LedgerEvent.class);
+
+        // When
+        TransactionDto transactionDto = transactionService.useBalance(1L, "1000000012", 2000L);
+        AccountException exception = assertThrows(AccountException.class,
+            () -> transactionService.useBalance(1L, "1000000012", 7001L));
+
+        // Then
+        verify(ledgerJournal, times(1)).appendAfterCommit(captor.capture());
+        verify(transactionRepository, times(0)).save(any());
+        assertEquals(5000L, captor.getValue().getBalanceSnapshot());
+        assertEquals(10000L, account.getBalance());
+        assertEquals(USE, transactionDto.getTransactionType());
+        assertEquals(2000L, transactionDto.getAmount());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("묶음 잔액 사용 - 실패한 요청만 실패 처리")
+    void useBalanceBatch_partialFailure() {
+        // Given
+        AccountUser user = AccountUser.builder()
+            .id(12L)
+            .name("Dooli")
+            .build();
+
+        Account account = Account.builder()
+            .accountUser(user)
+            .accountStatus(IN_USE)
+            .balance(10000L)
+            .accountNumber("1000000012")
+            .build();
+
+        given(accountUserRepository.findById(anyLong()))
+            .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+            .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+            .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<UseBalanceResult> results = transactionService.useBalanceBatch(Arrays.asList(
+            new UseBalance.Request(12L, "1000000012", 3000L),
+            new UseBalance.Request(12L, "1000000012", 8000L),
+            new UseBalance.Request(12L, "1000000012", 7000L)
+        ));
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals(7000L, results.get(0).getTransaction().getBalanceSnapshot());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getException().getErrorCode());
+        assertEquals(0L, results.get(2).getTransaction().getBalanceSnapshot());
+        assertEquals(0L, account.getBalance());
+        verify(transactionRepository, times(2)).save(any());
+    }
+
+    @Test
+    @DisplayName("낡은 캐시 계좌로 갱신 실패 - 캐시에서 내리고 사용 중 오류")
+    void staleEntity() {
+        // Given
+        ObjectOptimisticLockingFailureException failure =
+            new ObjectOptimisticLockingFailureException(Account.class, 7L);
+
+        // When
+        AccountException exception = transactionService.staleEntity(failure);
+
+        // Then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(accountRepository).evictFromCache(Account.class, 7L);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,212 @@
+package com.example.account.service;
+
+import static com.example.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceResult;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UseBalanceBatcherTest {
+
+    private final TransactionService transactionService = mock(TransactionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UseBalanceBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+    }
+
+    @Test
+    @DisplayName("한 번의 배치로 각 요청에 결과 전달")
+    void completeEachCallerFromOneBatch() throws Exception {
+        // Given
+        given(transactionService.useBalanceBatch(anyList()))
+            .willAnswer(invocation -> {
+                List<UseBalance.Request> requests = invocation.getArgument(0);
+                return requests.stream()
+                    .map(request -> request.getAmount() > 5000L
+                        ? UseBalanceResult.failure(
+                        new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE))
+                        : UseBalanceResult.success(TransactionDto.builder()
+                            .accountNumber(request.getAccountNumber())
+                            .amount(request.getAmount())
+                            .transactionResultType(S)
+                            .build()))
+                    .collect(Collectors.toList());
+            });
+        batcher = new UseBalanceBatcher(transactionService, mock(LockFencing.class),
+            meterRegistry, true, 16, 20_000, 1, 5000);
+        batcher.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<TransactionDto>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            long amount = 1000L * (i + 1);
+            String accountNumber = String.valueOf(1000000000L + i);
+            futures.add(executor.submit(() -> {
+                ready.await();
+                return batcher.useBalance(1L, accountNumber, amount);
+            }));
+        }
+        ready.countDown();
+
+        // Then
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1000L * (i + 1), futures.get(i).get().getAmount());
+        }
+        Exception exception = assertThrows(Exception.class, () -> futures.get(7).get());
+        assertTrue(exception.getCause() instanceof AccountException);
+        assertEquals(8, (long) meterRegistry.get("account.batch.size").summary().totalAmount());
+        assertTrue(meterRegistry.get("account.batch.size").summary().count() < 8);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("배치 커밋 실패 - 요청 실패")
+    void failAllCallersWhenBatchCommitFails() {
+        // Given
+        given(transactionService.useBalanceBatch(anyList()))
+            .willThrow(new IllegalStateException("commit failed"));
+        batcher = new UseBalanceBatcher(transactionService, mock(LockFencing.class),
+            meterRegistry, true, 16, 100, 1, 5000);
+        batcher.start();
+
+        // When
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> batcher.useBalance(1L, "1000000000", 1000L));
+
+        // Then
+        assertEquals("commit failed", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("배치 실패 시 요청을 하나씩 다시 처리")
+    void retryOneAtATimeWhenBatchFails() throws Exception {
+        // Given
+        given(transactionService.useBalanceBatch(anyList()))
+            .willAnswer(invocation -> {
+                List<UseBalance.Request> requests = invocation.getArgument(0);
+                if (requests.size() > 1) {
+                    throw new IllegalStateException("deadlock");
+                }
+                return requests.stream()
+                    .map(request -> UseBalanceResult.success(TransactionDto.builder()
+                        .accountNumber(request.getAccountNumber())
+                        .amount(request.getAmount())
+                        .build()))
+                    .collect(Collectors.toList());
+            });
+        batcher = new UseBalanceBatcher(transactionService, mock(LockFencing.class),
+            meterRegistry, true, 16, 50_000, 1, 5000);
+        batcher.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<TransactionDto>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            long amount = 1000L * (i + 1);
+            futures.add(executor.submit(() -> batcher.useBalance(1L, "1000000000", amount)));
+        }
+
+        // Then
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1000L * (i + 1), futures.get(i).get().getAmount());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("오류가 난 뒤에도 배치 처리 계속")
+    void keepWorkingAfterError() {
+        // Given
+        given(transactionService.useBalanceBatch(anyList()))
+            .willThrow(new AssertionError("broken"))
+            .willReturn(List.of(UseBalanceResult.success(TransactionDto.builder()
+                .amount(1000L)
+                .build())));
+        batcher = new UseBalanceBatcher(transactionService, mock(LockFencing.class),
+            meterRegistry, true, 16, 100, 1, 5000);
+        batcher.start();
+
+        // When
+        assertThrows(AssertionError.class, () -> batcher.useBalance(1L, "1000000000", 1000L));
+        TransactionDto transaction = batcher.useBalance(1L, "1000000000", 1000L);
+
+        // Then
+        assertEquals(1000L, transaction.getAmount());
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청은 시간이 지나도 처리 결과를 기다림")
+    void waitForRequestTakenByWorker() throws Exception {
+        // Given
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        given(transactionService.useBalanceBatch(anyList()))
+            .willAnswer(invocation -> {
+                applying.countDown();
+                commit.await();
+                return List.of(UseBalanceResult.success(TransactionDto.builder()
+                    .amount(1000L)
+                    .transactionResultType(S)
+                    .build()));
+            });
+        batcher = new UseBalanceBatcher(transactionService, mock(LockFencing.class),
+            meterRegistry, true, 16, 100, 1, 50);
+        batcher.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        Future<TransactionDto> result =
+            executor.submit(() -> batcher.useBalance(1L, "1000000000", 1000L));
+        applying.await();
+        Thread.sleep(200);
+        commit.countDown();
+
+        // Then
+        assertEquals(S, result.get().getTransactionResultType());
+        verify(transactionService, times(1)).useBalanceBatch(anyList());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("시간 초과 - 대기 중인 요청 철회")
+    void withdrawQueuedRequestOnTimeout() {
+        // Given
+        batcher = new UseBalanceBatcher(transactionService, mock(LockFencing.class),
+            meterRegistry, true, 16, 100, 0, 50);
+
+        // When
+        AccountException exception = assertThrows(AccountException.class,
+            () -> batcher.useBalance(1L, "1000000000", 1000L));
+
+        // Then
+        assertEquals(ErrorCode.TRANSACTION_TIMEOUT, exception.getErrorCode());
+    }
+}